@@ -0,0 +1,36 @@
+package com.findcomplain.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * src/jmh/resources/fixtures 에 체크인된 고정 입력.
+ * 네트워크나 DB 없이 항상 같은 데이터로 측정하기 위해 사용한다.
+ */
+final class Fixtures {
+
+    static final String REDDIT_LISTING = "reddit-listing-new.json";
+    static final String LLM_FENCED = "llm-response-fenced.txt";
+    static final String LLM_CHATTY = "llm-response-chatty.txt";
+    static final String LLM_BATCH = "llm-response-batch.txt";
+
+    private Fixtures() {
+    }
+
+    static byte[] bytes(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark fixture: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String text(String name) {
+        return new String(bytes(name), StandardCharsets.UTF_8);
+    }
+}
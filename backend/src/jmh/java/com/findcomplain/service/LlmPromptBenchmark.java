@@ -0,0 +1,62 @@
+package com.findcomplain.service;
+
+import com.findcomplain.config.LlmConfig;
+import com.findcomplain.dto.AppIdeaAnalysisResult;
+import com.findcomplain.dto.RedditPost;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 고정 listing의 게시물로 프롬프트 생성(토큰 예산 맞춤 포함)과 mock 키워드 휴리스틱을 측정.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LlmPromptBenchmark {
+
+    private static final int BATCH_SIZE = 10;
+    // fixture listing 100개 중 고정 게시물 2개 제외
+    private static final int FIXTURE_POSTS = 98;
+
+    private List<RedditPost> posts;
+    private List<RedditPost> batch;
+    private LlmPromptBuilder promptBuilder;
+
+    @Setup
+    public void setup() throws IOException {
+        posts = new RedditListingParser()
+                .parse(Fixtures.bytes(Fixtures.REDDIT_LISTING), "productivity")
+                .posts();
+        if (posts.size() != FIXTURE_POSTS) {
+            throw new IllegalStateException("Unexpected fixture size: " + posts.size());
+        }
+        batch = posts.subList(0, BATCH_SIZE);
+        promptBuilder = new LlmPromptBuilder(new LlmConfig());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FIXTURE_POSTS)
+    public void buildPostPrompts(Blackhole bh) {
+        for (RedditPost post : posts) {
+            bh.consume(promptBuilder.buildPost(post));
+        }
+    }
+
+    @Benchmark
+    public LlmPromptBuilder.Prompt buildBatchPrompt() {
+        return promptBuilder.buildBatch(batch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FIXTURE_POSTS)
+    public void mockAnalysis(Blackhole bh) {
+        for (RedditPost post : posts) {
+            AppIdeaAnalysisResult result = LlmAnalysisService.generateMockAnalysis(post);
+            bh.consume(result);
+        }
+    }
+}
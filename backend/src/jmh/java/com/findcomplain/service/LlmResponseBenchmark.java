@@ -0,0 +1,106 @@
+package com.findcomplain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findcomplain.dto.AppIdeaAnalysisResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잡음이 섞인 LLM 응답(코드 펜스, 앞뒤 설명문)에서 JSON을 잘라내고
+ * AppIdeaAnalysisResult 로 매핑하는 경로.
+ * streamSingle은 같은 응답을 스트리밍 조각 크기로 나눠 StreamingAnalysisParser에 넣는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LlmResponseBenchmark {
+
+    private static final TypeReference<List<AppIdeaAnalysisResult>> RESULT_LIST = new TypeReference<>() {};
+
+    @Param({Fixtures.LLM_FENCED, Fixtures.LLM_CHATTY})
+    public String response;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 스트리밍 응답 조각 하나의 대략적인 길이 (토큰 몇 개)
+    private static final int CHUNK_CHARS = 8;
+
+    private String single;
+    private String extractedSingle;
+    private List<String> chunks;
+
+    // 배치 응답은 @Param 과 무관하므로 별도 state로 둔다
+    @State(Scope.Benchmark)
+    public static class Batch {
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private String response;
+        private String extracted;
+
+        @Setup
+        public void setup() throws JsonProcessingException {
+            response = Fixtures.text(Fixtures.LLM_BATCH);
+            extracted = LlmAnalysisService.extractJsonArray(response);
+            if (objectMapper.readValue(extracted, RESULT_LIST).size() != 10) {
+                throw new IllegalStateException("Batch fixture did not map as expected");
+            }
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        single = Fixtures.text(response);
+        extractedSingle = LlmAnalysisService.extractJson(single);
+        if (!mapSingle().isViable()) {
+            throw new IllegalStateException("Fixture did not map as expected: " + response);
+        }
+        chunks = new ArrayList<>();
+        for (int from = 0; from < single.length(); from += CHUNK_CHARS) {
+            chunks.add(single.substring(from, Math.min(from + CHUNK_CHARS, single.length())));
+        }
+        if (!streamSingle().equals(mapSingle())) {
+            throw new IllegalStateException("Streamed fixture did not match: " + response);
+        }
+    }
+
+    @Benchmark
+    public String extractJson() {
+        return LlmAnalysisService.extractJson(single);
+    }
+
+    @Benchmark
+    public String extractJsonArray(Batch batch) {
+        return LlmAnalysisService.extractJsonArray(batch.response);
+    }
+
+    @Benchmark
+    public AppIdeaAnalysisResult mapSingle() throws JsonProcessingException {
+        return objectMapper.readValue(extractedSingle, AppIdeaAnalysisResult.class);
+    }
+
+    @Benchmark
+    public List<AppIdeaAnalysisResult> mapBatch(Batch batch) throws JsonProcessingException {
+        return batch.objectMapper.readValue(batch.extracted, RESULT_LIST);
+    }
+
+    @Benchmark
+    public AppIdeaAnalysisResult extractAndMapSingle() throws JsonProcessingException {
+        return objectMapper.readValue(LlmAnalysisService.extractJson(single), AppIdeaAnalysisResult.class);
+    }
+
+    @Benchmark
+    public AppIdeaAnalysisResult streamSingle() throws IOException {
+        StreamingAnalysisParser parser = new StreamingAnalysisParser(objectMapper.getFactory());
+        for (String chunk : chunks) {
+            if (parser.feed(chunk)) {
+                break;
+            }
+        }
+        return parser.result();
+    }
+}
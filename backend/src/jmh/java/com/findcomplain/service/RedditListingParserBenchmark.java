@@ -0,0 +1,78 @@
+package com.findcomplain.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findcomplain.dto.RedditListing;
+import com.findcomplain.dto.RedditPost;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100개짜리 /r/{subreddit}/new.json 페이지 파싱.
+ * tree: 예전 방식 (readTree 후 JsonNode 탐색), streaming: 현재 RedditListingParser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RedditListingParserBenchmark {
+
+    private static final String SUBREDDIT = "productivity";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RedditListingParser listingParser = new RedditListingParser();
+
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws IOException {
+        payload = Fixtures.bytes(Fixtures.REDDIT_LISTING);
+        // 두 방식이 같은 결과를 내는지 먼저 확인
+        int tree = tree().posts().size();
+        int streaming = streaming().posts().size();
+        if (tree != streaming || tree == 0) {
+            throw new IllegalStateException("Parsers disagree: tree=" + tree + ", streaming=" + streaming);
+        }
+    }
+
+    @Benchmark
+    public RedditListing tree() throws IOException {
+        JsonNode data = objectMapper.readTree(new ByteArrayInputStream(payload)).path("data");
+        List<RedditPost> posts = new ArrayList<>();
+        for (JsonNode child : data.path("children")) {
+            JsonNode post = child.path("data");
+            if (post.path("stickied").asBoolean() || post.path("is_video").asBoolean()) {
+                continue;
+            }
+
+            String title = post.path("title").asText();
+            String selftext = post.path("selftext").asText();
+            if (selftext.isEmpty() || selftext.equals("[removed]") || selftext.equals("[deleted]")) {
+                selftext = title;
+            }
+
+            posts.add(RedditPost.builder()
+                    .id(post.path("id").asText())
+                    .subreddit(SUBREDDIT)
+                    .title(title)
+                    .selftext(selftext)
+                    .author(post.path("author").asText())
+                    .score(post.path("score").asInt())
+                    .createdUtc(Instant.ofEpochSecond(post.path("created_utc").asLong()))
+                    .build());
+        }
+        JsonNode after = data.path("after");
+        return new RedditListing(posts, after.isTextual() ? after.asText() : null);
+    }
+
+    @Benchmark
+    public RedditListing streaming() throws IOException {
+        // WebClient DataBuffer를 InputStream으로 넘기는 실제 경로와 맞춘다
+        return listingParser.parse(new ByteArrayInputStream(payload), SUBREDDIT);
+    }
+}
@@ -0,0 +1,98 @@
+package com.findcomplain.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource를 감싸서 DB round-trip을 센다: 문장 실행, 배치 실행(executeBatch 한 번), commit/rollback.
+ * unwrap으로 꺼낸 원래 커넥션/풀은 감싸지 않으므로 그쪽으로 나간 요청은 세지 않는다.
+ */
+final class JdbcRoundTripCounter implements BeanPostProcessor {
+
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, (method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                if (result instanceof Connection connection) {
+                    connections.increment();
+                    return proxy(Connection.class, (m, a) -> connectionCall(connection, m, a));
+                }
+                return result;
+            });
+        }
+        return bean;
+    }
+
+    void reset() {
+        connections.reset();
+        statements.reset();
+        batches.reset();
+        transactions.reset();
+    }
+
+    long roundTrips() {
+        return statements.sum() + batches.sum() + transactions.sum();
+    }
+
+    Map<String, Long> stats() {
+        return Map.of("connections", connections.sum(), "statements", statements.sum(), "batches", batches.sum(),
+                "commitsAndRollbacks", transactions.sum(), "roundTrips", roundTrips());
+    }
+
+    private Object connectionCall(Connection connection, Method method, Object[] args) throws Throwable {
+        Object result = invoke(connection, method, args);
+        String name = method.getName();
+        if (name.equals("commit") || name.equals("rollback")) {
+            transactions.increment();
+        } else if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+            @SuppressWarnings("unchecked")
+            Class<Statement> type = (Class<Statement>) method.getReturnType();
+            return proxy(type, (m, a) -> statementCall(statement, m, a));
+        }
+        return result;
+    }
+
+    private Object statementCall(Statement statement, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+            batches.increment();
+        } else if (name.startsWith("execute")) {
+            statements.increment();
+        }
+        return invoke(statement, method, args);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, Call call) {
+        InvocationHandler handler = (proxy, method, args) -> call.invoke(method, args);
+        return type.cast(Proxy.newProxyInstance(JdbcRoundTripCounter.class.getClassLoader(), new Class<?>[]{type},
+                handler));
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+}
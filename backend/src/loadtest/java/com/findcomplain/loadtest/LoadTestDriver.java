@@ -0,0 +1,267 @@
+package com.findcomplain.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.findcomplain.FindComplainApplication;
+import com.findcomplain.dto.DiscoveryJobStatus;
+import com.findcomplain.service.DiscoveryJobService;
+import com.findcomplain.service.PipelineMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * discovery 전체 경로(Reddit HTTP → 파싱 → dedup → 사전 필터 → 댓글 → LLM → 저장)를 로컬 스텁에 대고 돌린다.
+ * 앱을 같은 JVM에서 띄우고 reddit/llm base-url을 스텁으로 돌린 뒤, N개 서브레딧 x M개 게시물 discovery 작업 하나를 끝까지 실행해서
+ * 처리량(posts/s), 단계별/LLM 요청 p50·p99, DB round-trip 수를 출력하고 JSON 보고서로 남긴다.
+ * <p>
+ * ./gradlew loadTest -Ploadtest.args="--subreddits=20 --posts=200 --llm-latency=800ms --reddit-throttle-rate=0.02"
+ * <p>
+ * 옵션 (기본값): --subreddits (10), --posts (100), --reddit-latency (50ms), --reddit-error-rate (0),
+ * --reddit-throttle-rate (0), --recorded (녹화된 listing 디렉터리, {subreddit}.json), --llm-latency (500ms),
+ * --llm-token-delay (2ms), --llm-viable-rate (0.2), --seed, --timeout (30m), --report (build/loadtest/report-*.json).
+ * 점이 들어간 옵션(--llm.batch-size=1, --spring.datasource.url=...)은 앱 설정으로 넘어간다.
+ * 분석 결과가 설정된 DB에 실제로 저장되므로 운영 DB가 아닌 DB에 대고 돌린다.
+ * 녹화된 listing은 같은 DB에서 다시 돌리면 watermark와 dedup에 걸리므로 새 DB에서 돌린다.
+ */
+@Slf4j
+public final class LoadTestDriver {
+
+    private static final String SUBREDDIT_PREFIX = "loadtest_";
+    private static final double[] QUANTILES = {0.5, 0.99};
+
+    private LoadTestDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        Map<String, String> appOverrides = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            String name = arg.substring(2, eq < 0 ? arg.length() : eq);
+            String value = eq < 0 ? "true" : arg.substring(eq + 1);
+            (name.contains(".") ? appOverrides : options).put(name, value);
+        }
+
+        int subredditCount = Integer.parseInt(options.getOrDefault("subreddits", "10"));
+        int posts = Integer.parseInt(options.getOrDefault("posts", "100"));
+        long seed = Long.parseLong(options.getOrDefault("seed", String.valueOf(System.nanoTime())));
+        Duration timeout = duration(options, "timeout", "30m");
+        // 서브레딧 이름에 붙인다 - 이전 실행의 watermark와 저장된 게시물에 걸리지 않도록
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        Path report = Path.of(options.getOrDefault("report", "build/loadtest/report-" + runId + ".json"));
+
+        StubRedditServer.Settings redditSettings = new StubRedditServer.Settings(posts,
+                duration(options, "reddit-latency", "50ms"),
+                Double.parseDouble(options.getOrDefault("reddit-error-rate", "0")),
+                Double.parseDouble(options.getOrDefault("reddit-throttle-rate", "0")),
+                options.containsKey("recorded") ? Path.of(options.get("recorded")) : null,
+                seed);
+        StubOpenAiServer.Settings llmSettings = new StubOpenAiServer.Settings(
+                duration(options, "llm-latency", "500ms"),
+                duration(options, "llm-token-delay", "2ms"),
+                Double.parseDouble(options.getOrDefault("llm-viable-rate", "0.2")));
+
+        List<String> subreddits = redditSettings.recordedDir() != null
+                ? recordedSubreddits(redditSettings.recordedDir())
+                : IntStream.range(0, subredditCount).mapToObj(i -> SUBREDDIT_PREFIX + runId + "_" + i).toList();
+
+        JdbcRoundTripCounter jdbc = new JdbcRoundTripCounter();
+        try (StubRedditServer reddit = new StubRedditServer(redditSettings);
+             StubOpenAiServer llm = new StubOpenAiServer(llmSettings);
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(FindComplainApplication.class)
+                     .web(WebApplicationType.NONE)
+                     .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(jdbc))
+                     .run(appArgs(reddit.baseUrl(), llm.baseUrl(), appOverrides))) {
+
+            DiscoveryJobService jobs = context.getBean(DiscoveryJobService.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            log.info("Load test {}: {} subreddits x {} posts (seed {})", runId, subreddits.size(), posts, seed);
+
+            jdbc.reset();
+            long started = System.nanoTime();
+            DiscoveryJobStatus status = jobs.submit(subreddits, posts);
+            long deadline = started + timeout.toNanos();
+            while (status.state() == DiscoveryJobStatus.JobState.RUNNING) {
+                if (System.nanoTime() > deadline) {
+                    log.warn("Load test timed out after {}, cancelling", timeout);
+                    jobs.cancel(status.jobId());
+                    deadline = Long.MAX_VALUE;
+                }
+                TimeUnit.MILLISECONDS.sleep(200);
+                status = jobs.getStatus(status.jobId()).orElseThrow();
+            }
+            Duration wallClock = Duration.ofNanos(System.nanoTime() - started);
+
+            Map<String, Object> result = report(runId, options, status, wallClock, registry, jdbc, reddit, llm);
+            print(result);
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), result);
+            log.info("Load test report written to {}", report.toAbsolutePath());
+        }
+    }
+
+    // application.yml보다 우선하도록 명령행 인자로 넘긴다 - 같은 키를 직접 넘기면 그 값을 쓴다
+    private static String[] appArgs(String redditUrl, String llmUrl, Map<String, String> overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("reddit.mock-mode", false);
+        properties.put("reddit.base-url", redditUrl);
+        // 클라이언트 쪽 속도 제한이 처리량을 정하지 않도록 - 페이싱까지 보려면 실제 값으로 덮어쓴다
+        properties.put("reddit.rate-limit-per-minute", 1_000_000);
+        properties.put("reddit.rate-limit-burst", 1_000);
+        properties.put("reddit.cache.mode", "DISABLED");
+        properties.put("llm.mock-mode", false);
+        properties.put("llm.api-key", "loadtest");
+        properties.put("llm.base-url", llmUrl);
+        properties.put("llm.requests-per-minute", 1_000_000);
+        properties.put("crawl-schedule.enabled", false);
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("logging.level.com.findcomplain", "INFO");
+        // 빠른 단계(파싱 등)도 구분되도록 히스토그램 하한을 낮춘다
+        properties.put("management.metrics.distribution.minimum-expected-value.discovery.stage", "100us");
+        properties.put("management.metrics.distribution.minimum-expected-value.discovery.llm.request", "1ms");
+        properties.putAll(overrides);
+        return properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new);
+    }
+
+    private static Map<String, Object> report(String runId, Map<String, String> options, DiscoveryJobStatus status,
+                                              Duration wallClock, MeterRegistry registry, JdbcRoundTripCounter jdbc,
+                                              StubRedditServer reddit, StubOpenAiServer llm) {
+        double seconds = wallClock.toNanos() / 1e9;
+        Map<String, Long> posts = new LinkedHashMap<>();
+        for (PipelineMetrics.PostOutcome outcome : PipelineMetrics.PostOutcome.values()) {
+            posts.put(outcome.tag(), (long) registry.find(PipelineMetrics.POSTS).tag("outcome", outcome.tag())
+                    .counters().stream().mapToDouble(Counter::count).sum());
+        }
+        long fetched = posts.get(PipelineMetrics.PostOutcome.FETCHED.tag());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("runId", runId);
+        result.put("finishedAt", Instant.now().toString());
+        result.put("options", new TreeMap<>(options));
+        result.put("state", status.state());
+        result.put("failedSubreddits", status.subreddits().stream()
+                .filter(run -> run.state() == DiscoveryJobStatus.RunState.FAILED).count());
+        result.put("wallClockMs", wallClock.toMillis());
+        result.put("postsPerSecond", round(fetched / seconds));
+        result.put("ideasPerSecond", round(status.totalIdeas() / seconds));
+        result.put("posts", posts);
+        result.put("stages", latencies(registry.find(PipelineMetrics.STAGE).timers(), "stage"));
+        result.put("llmRequests", latencies(registry.find(PipelineMetrics.LLM_REQUEST).timers(), "kind"));
+        Map<String, Object> db = new LinkedHashMap<>(new TreeMap<>(jdbc.stats()));
+        db.put("roundTripsPerPost", fetched == 0 ? 0 : round((double) jdbc.roundTrips() / fetched));
+        result.put("db", db);
+        result.put("redditStub", new TreeMap<>(reddit.stats()));
+        result.put("llmStub", new TreeMap<>(llm.stats()));
+        return result;
+    }
+
+    /**
+     * 같은 태그 값(stage, kind)의 타이머들을 서브레딧/에러 태그와 상관없이 합쳐서 p50/p99를 구한다.
+     * 서브레딧별 분위수는 합칠 수 없으므로 누적 히스토그램 버킷을 더해서 계산하고, 값은 해당 버킷의 상한이다.
+     */
+    private static Map<String, Map<String, Object>> latencies(Collection<Timer> timers, String tag) {
+        Map<String, List<Timer>> byTag = new TreeMap<>();
+        timers.forEach(timer -> byTag.computeIfAbsent(timer.getId().getTag(tag), k -> new ArrayList<>()).add(timer));
+
+        Map<String, Map<String, Object>> latencies = new LinkedHashMap<>();
+        byTag.forEach((value, group) -> {
+            TreeMap<Double, Double> buckets = new TreeMap<>();
+            long count = 0;
+            double totalMs = 0;
+            for (Timer timer : group) {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                count += snapshot.count();
+                totalMs += snapshot.total(TimeUnit.MILLISECONDS);
+                for (CountAtBucket bucket : snapshot.histogramCounts()) {
+                    buckets.merge(bucket.bucket(TimeUnit.MILLISECONDS), bucket.count(), Double::sum);
+                }
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", count);
+            for (double quantile : QUANTILES) {
+                stats.put("p" + Math.round(quantile * 100) + "Ms", round(quantile(buckets, count, quantile)));
+            }
+            stats.put("totalMs", round(totalMs));
+            latencies.put(value, stats);
+        });
+        return latencies;
+    }
+
+    // 히스토그램이 꺼져 있거나 관측이 버킷 범위를 넘으면 NaN
+    private static double quantile(TreeMap<Double, Double> cumulativeBuckets, long count, double quantile) {
+        double target = Math.ceil(count * quantile);
+        for (Map.Entry<Double, Double> bucket : cumulativeBuckets.entrySet()) {
+            if (bucket.getValue() >= target) {
+                return bucket.getKey();
+            }
+        }
+        return Double.NaN;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> result) {
+        StringBuilder out = new StringBuilder("\n");
+        out.append(String.format(Locale.ROOT, "Load test %s: %s in %,d ms, %s posts/s, %s ideas/s (%s failed subreddits)%n",
+                result.get("runId"), result.get("state"), (Long) result.get("wallClockMs"), result.get("postsPerSecond"),
+                result.get("ideasPerSecond"), result.get("failedSubreddits")));
+        out.append("Posts: ").append(result.get("posts")).append('\n');
+        out.append(String.format(Locale.ROOT, "%n%-18s %8s %10s %10s %12s%n", "stage", "count", "p50 ms", "p99 ms",
+                "total ms"));
+        Stream.of("stages", "llmRequests").forEach(section -> {
+            ((Map<String, Map<String, Object>>) result.get(section)).forEach((name, stats) ->
+                    out.append(String.format(Locale.ROOT, "%-18s %8d %10s %10s %12s%n",
+                            section.equals("stages") ? name : "llm." + name, (Long) stats.get("count"),
+                            stats.get("p50Ms"), stats.get("p99Ms"), stats.get("totalMs"))));
+        });
+        out.append("\nDB: ").append(result.get("db")).append('\n');
+        out.append("Reddit stub: ").append(result.get("redditStub")).append('\n');
+        out.append("LLM stub: ").append(result.get("llmStub")).append('\n');
+        log.info(out.toString());
+    }
+
+    private static List<String> recordedSubreddits(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".json"))
+                    .map(name -> name.substring(0, name.length() - ".json".length()))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Duration duration(Map<String, String> options, String name, String defaultValue) {
+        return DurationStyle.detectAndParse(options.getOrDefault(name, defaultValue));
+    }
+
+    private static double round(double value) {
+        return Double.isNaN(value) ? value : Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,235 @@
+package com.findcomplain.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * OpenAI 호환 chat completions 스텁 ({base}/v1/chat/completions).
+ * 프롬프트에 "### postId:" 줄이 있으면 게시물마다 결과가 든 JSON 배열을, 없으면 결과 객체 하나를 돌려준다.
+ * viable 판정은 게시물 내용의 해시로 정하므로 같은 게시물은 실행마다 같은 판정을 받는다.
+ * 응답은 latency 뒤에 시작하고 출력 토큰(약 4글자)마다 tokenDelay가 더 걸린다. stream=true면 그 간격으로 SSE 조각을 보내고,
+ * 클라이언트가 중간에 끊으면 남은 토큰은 보내지 않는다.
+ */
+@Slf4j
+final class StubOpenAiServer implements AutoCloseable {
+
+    record Settings(Duration latency, Duration tokenDelay, double viableRate) {
+    }
+
+    private static final Pattern POST_ID = Pattern.compile("^### postId: (\\S+)$", Pattern.MULTILINE);
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final Settings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder streams = new LongAdder();
+    private final LongAdder cancelledStreams = new LongAdder();
+    private final LongAdder outputTokens = new LongAdder();
+
+    StubOpenAiServer(Settings settings) throws IOException {
+        this.settings = settings;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/";
+    }
+
+    Map<String, Long> stats() {
+        return Map.of("requests", requests.sum(), "streams", streams.sum(),
+                "cancelledStreams", cancelledStreams.sum(), "outputTokens", outputTokens.sum());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.increment();
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            JsonNode messages = request.path("messages");
+            String prompt = messages.path(messages.size() - 1).path("content").asText("");
+            String content = answer(prompt);
+            List<String> tokens = tokens(content);
+            int promptTokens = prompt.length() / CHARS_PER_TOKEN;
+
+            StubRedditServer.sleep(settings.latency());
+            if (request.path("stream").asBoolean(false)) {
+                stream(exchange, tokens, promptTokens);
+            } else {
+                StubRedditServer.sleep(settings.tokenDelay().multipliedBy(tokens.size()));
+                outputTokens.add(tokens.size());
+                ObjectNode response = completion("chat.completion");
+                ObjectNode choice = response.putArray("choices").addObject();
+                choice.put("index", 0);
+                choice.putObject("message").put("role", "assistant").put("content", content);
+                choice.put("finish_reason", "stop");
+                usage(response, promptTokens, tokens.size());
+                byte[] body = objectMapper.writeValueAsBytes(response);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.debug("OpenAI stub failed to answer: {}", e.getMessage());
+        }
+    }
+
+    private void stream(HttpExchange exchange, List<String> tokens, int promptTokens)
+            throws IOException, InterruptedException {
+        streams.increment();
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        int sent = 0;
+        try {
+            for (String token : tokens) {
+                StubRedditServer.sleep(settings.tokenDelay());
+                ObjectNode chunk = completion("chat.completion.chunk");
+                ObjectNode choice = chunk.putArray("choices").addObject();
+                choice.put("index", 0);
+                choice.putObject("delta").put("content", token);
+                choice.putNull("finish_reason");
+                event(out, objectMapper.writeValueAsString(chunk));
+                sent++;
+            }
+            ObjectNode last = completion("chat.completion.chunk");
+            ObjectNode choice = last.putArray("choices").addObject();
+            choice.put("index", 0);
+            choice.putObject("delta");
+            choice.put("finish_reason", "stop");
+            event(out, objectMapper.writeValueAsString(last));
+            ObjectNode usage = completion("chat.completion.chunk");
+            usage.putArray("choices");
+            usage(usage, promptTokens, tokens.size());
+            event(out, objectMapper.writeValueAsString(usage));
+            event(out, "[DONE]");
+        } catch (IOException e) {
+            // 클라이언트가 결론을 내고 스트림을 끊었다
+            cancelledStreams.increment();
+        } finally {
+            outputTokens.add(sent);
+        }
+    }
+
+    private static void event(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private String answer(String prompt) throws IOException {
+        Matcher matcher = POST_ID.matcher(prompt);
+        if (!matcher.find()) {
+            return objectMapper.writeValueAsString(result(null, verdictKey(prompt)));
+        }
+        ArrayNode results = objectMapper.createArrayNode();
+        boolean more;
+        do {
+            String postId = matcher.group(1);
+            int start = matcher.end();
+            more = matcher.find();
+            String section = prompt.substring(start, more ? matcher.start() : prompt.length());
+            results.add(result(postId, verdictKey(section)));
+        } while (more);
+        return objectMapper.writeValueAsString(results);
+    }
+
+    // 제목과 본문 앞부분 - 배치에서 빠져 단건으로 다시 와도 같은 판정이 나오도록 예산에 잘리지 않는 부분만 쓴다
+    private static int verdictKey(String section) {
+        int title = section.indexOf("Title: ");
+        int content = section.indexOf("Content: ");
+        if (title < 0 || content < 0) {
+            return section.hashCode();
+        }
+        int titleEnd = section.indexOf('\n', title);
+        String titleLine = section.substring(title, titleEnd < 0 ? section.length() : titleEnd);
+        return (titleLine + section.substring(content, Math.min(section.length(), content + 80))).hashCode();
+    }
+
+    // isViable을 맨 앞에 쓴다 - 실제 모델도 프롬프트의 필드 순서를 따른다
+    private ObjectNode result(String postId, int hash) {
+        ObjectNode result = objectMapper.createObjectNode();
+        if (postId != null) {
+            result.put("postId", postId);
+        }
+        boolean viable = Math.floorMod(hash, 1000) < settings.viableRate() * 1000;
+        result.put("isViable", viable);
+        if (!viable) {
+            result.put("appName", "").put("problemSummary", "").put("proposedSolution", "").put("targetUsers", "")
+                    .put("keyFeatures", "").put("techStack", "").put("difficulty", "").put("viabilityScore", 0)
+                    .put("reasoning", "게시물이 구체적인 문제를 설명하지 않아 앱 아이디어로 보기 어렵습니다.");
+            return result;
+        }
+        int score = 5 + Math.floorMod(hash >>> 10, 5);
+        return result.put("appName", "LoadTest App " + Integer.toString(Math.abs(hash), 36))
+                .put("problemSummary", "사용자들이 반복되는 기록 작업을 손으로 관리하느라 시간을 많이 쓰고 자주 잊어버립니다.")
+                .put("proposedSolution", "알림과 자동 분류로 기록을 대신 관리하고 주간 요약을 보내주는 모바일 앱입니다.")
+                .put("targetUsers", "바쁜 직장인과 학생, 소규모 팀")
+                .put("keyFeatures", "자동 분류, 반복 알림, 공유 목록, 주간 요약, 내보내기")
+                .put("techStack", "Flutter, Firebase")
+                .put("difficulty", "medium")
+                .put("viabilityScore", score)
+                .put("reasoning", "댓글에서 같은 문제를 겪는다는 반응과 돈을 내겠다는 반응이 여러 번 나왔습니다.");
+    }
+
+    private ObjectNode completion(String object) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", "chatcmpl-loadtest");
+        node.put("object", object);
+        node.put("created", System.currentTimeMillis() / 1000);
+        node.put("model", "loadtest-stub");
+        return node;
+    }
+
+    private static void usage(ObjectNode response, int promptTokens, int completionTokens) {
+        response.putObject("usage")
+                .put("prompt_tokens", promptTokens)
+                .put("completion_tokens", completionTokens)
+                .put("total_tokens", promptTokens + completionTokens);
+    }
+
+    private static List<String> tokens(String content) {
+        List<String> tokens = new ArrayList<>();
+        int from = 0;
+        while (from < content.length()) {
+            int to = Math.min(content.length(), from + CHARS_PER_TOKEN);
+            if (to < content.length() && Character.isHighSurrogate(content.charAt(to - 1))) {
+                to++;
+            }
+            tokens.add(content.substring(from, to));
+            from = to;
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,307 @@
+package com.findcomplain.loadtest;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reddit API 스텁. /r/{subreddit}/new.json 과 /r/{subreddit}/comments/{id}.json 에 응답한다.
+ * recordedDir에 {subreddit}.json 이 있으면 그 listing을 첫 페이지로 주고, 없으면 서브레딧마다 postsPerSubreddit 개의
+ * 합성 게시물을 after 커서로 나눠 준다. 합성 게시물 ID는 서브레딧 이름에서 만든다.
+ * 모든 응답은 latency만큼 늦게 나가고, errorRate 비율로 503, throttleRate 비율로 Retry-After가 붙은 429를 돌려준다.
+ */
+@Slf4j
+final class StubRedditServer implements AutoCloseable {
+
+    record Settings(int postsPerSubreddit, Duration latency, double errorRate, double throttleRate,
+                    Path recordedDir, long seed) {
+    }
+
+    private static final Pattern LISTING = Pattern.compile("/r/([^/]+)/new\\.json");
+    private static final Pattern COMMENTS = Pattern.compile("/r/([^/]+)/comments/([^/.]+)\\.json");
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    private static final String[] THINGS = {
+            "invoices", "meal plans", "gym sessions", "receipts", "subscriptions", "plant watering", "reading notes",
+            "shared chores", "podcast episodes", "pet medication", "freelance hours", "board game scores",
+            "wedding budget", "job applications", "kids' homework", "car maintenance", "apartment viewings",
+            "guitar practice", "grocery prices", "travel visas", "medical bills", "book club picks"};
+
+    private static final String[] COMPLAINTS = {
+            "I keep losing track of my %s and it drives me crazy.",
+            "Every tool I tried for %s is either bloated or way too expensive.",
+            "Is there really no simple way to handle %s without a spreadsheet?",
+            "My partner and I argue about %s every single week.",
+            "Tracking %s by hand takes me an hour every Sunday.",
+            "The official app for %s crashes whenever I export anything."};
+
+    private static final String[] DEMAND = {
+            "I wish there was an app that handled %s for me.",
+            "I would pay for something that makes %s painless.",
+            "Someone please make a tool for %s, take my money.",
+            "Does anyone know an app for %s? I'd use it every day."};
+
+    private static final String[] FILLER = {
+            "Last month", "honestly", "after work", "on weekends", "with two kids", "as a student", "in a small team",
+            "on my phone", "since the update", "every morning", "for years now", "during tax season", "at night",
+            "between shifts", "while travelling", "on a budget", "with a tight schedule", "since moving"};
+
+    private static final String[] REPLIES = {
+            "Me too, this drives me crazy", "I'd pay for this honestly", "Just use a spreadsheet", "Take my money!",
+            "Following", "Same here, been looking for something like this for ages", "Not sure this is a real problem",
+            "There is an app for that already", "I would use this every day", "+1, same problem"};
+
+    private final Settings settings;
+    private final long startedEpochSecond = Instant.now().getEpochSecond();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    StubRedditServer(Settings settings) throws IOException {
+        this.settings = settings;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/r/", this::handle);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    Map<String, Long> stats() {
+        return Map.of("requests", requests.sum(), "throttled", throttled.sum(), "failed", failed.sum());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.increment();
+            sleep(settings.latency());
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < settings.throttleRate()) {
+                throttled.increment();
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(RETRY_AFTER_SECONDS));
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            if (random.nextDouble() < settings.errorRate()) {
+                failed.increment();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            Matcher listing = LISTING.matcher(path);
+            Matcher comments = COMMENTS.matcher(path);
+            byte[] body;
+            if (listing.matches()) {
+                body = listing(listing.group(1), query);
+            } else if (comments.matches()) {
+                body = comments(comments.group(2));
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.debug("Reddit stub failed to answer {}: {}", exchange.getRequestURI(), e.getMessage());
+        }
+    }
+
+    private byte[] listing(String subreddit, Map<String, String> query) throws IOException {
+        String after = query.get("after");
+        if (settings.recordedDir() != null) {
+            return after == null ? recorded(subreddit) : emptyListing();
+        }
+
+        int limit = Math.max(1, Integer.parseInt(query.getOrDefault("limit", "25")));
+        String prefix = idPrefix(subreddit);
+        int from;
+        if (after == null) {
+            from = 0;
+        } else {
+            String id = after.startsWith("t3_") ? after.substring(3) : after;
+            from = id.startsWith(prefix) ? Integer.parseInt(id.substring(prefix.length())) + 1 : settings.postsPerSubreddit();
+        }
+        int to = Math.min(settings.postsPerSubreddit(), from + limit);
+
+        return json(json -> {
+            json.writeStartObject();
+            json.writeStringField("kind", "Listing");
+            json.writeObjectFieldStart("data");
+            if (to < settings.postsPerSubreddit()) {
+                json.writeStringField("after", "t3_" + prefix + (to - 1));
+            } else {
+                json.writeNullField("after");
+            }
+            json.writeArrayFieldStart("children");
+            for (int i = from; i < to; i++) {
+                writePost(json, subreddit, prefix + i, new Random(settings.seed() ^ (prefix + i).hashCode()), i);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndObject();
+        });
+    }
+
+    private void writePost(JsonGenerator json, String subreddit, String id, Random random, int index)
+            throws IOException {
+        String thing = pick(random, THINGS);
+        StringBuilder body = new StringBuilder();
+        int sentences = 3 + random.nextInt(5);
+        for (int s = 0; s < sentences; s++) {
+            body.append(pick(random, FILLER)).append(", ")
+                    .append(pick(random, COMPLAINTS).formatted(pick(random, THINGS))).append(' ');
+        }
+        // 절반 정도만 수요 구문이 있어서 사전 필터를 통과한다
+        if (random.nextBoolean()) {
+            body.append(pick(random, DEMAND).formatted(thing));
+        }
+        body.append(" (ref ").append(id).append(')');
+
+        json.writeStartObject();
+        json.writeStringField("kind", "t3");
+        json.writeObjectFieldStart("data");
+        json.writeStringField("id", id);
+        json.writeStringField("subreddit", subreddit);
+        json.writeStringField("title", pick(random, COMPLAINTS).formatted(thing));
+        json.writeStringField("selftext", body.toString().trim());
+        json.writeStringField("author", "user" + random.nextInt(100_000));
+        json.writeNumberField("score", random.nextInt(500));
+        json.writeNumberField("num_comments", 3 + random.nextInt(40));
+        json.writeNumberField("created_utc", startedEpochSecond - index * 60L);
+        json.writeBooleanField("stickied", false);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private byte[] comments(String postId) throws IOException {
+        Random random = new Random(settings.seed() ^ postId.hashCode() * 31L);
+        int count = 3 + random.nextInt(12);
+        return json(json -> {
+            json.writeStartArray();
+            json.writeStartObject();
+            json.writeStringField("kind", "Listing");
+            json.writeObjectFieldStart("data");
+            json.writeArrayFieldStart("children");
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndObject();
+
+            json.writeStartObject();
+            json.writeStringField("kind", "Listing");
+            json.writeObjectFieldStart("data");
+            json.writeArrayFieldStart("children");
+            for (int i = 0; i < count; i++) {
+                json.writeStartObject();
+                json.writeStringField("kind", "t1");
+                json.writeObjectFieldStart("data");
+                json.writeStringField("id", postId + "c" + i);
+                json.writeStringField("author", "user" + random.nextInt(100_000));
+                json.writeStringField("body", pick(random, REPLIES));
+                json.writeNumberField("score", random.nextInt(200) - 5);
+                json.writeBooleanField("stickied", false);
+                json.writeStringField("replies", "");
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndObject();
+            json.writeEndArray();
+        });
+    }
+
+    private byte[] recorded(String subreddit) throws IOException {
+        try {
+            return Files.readAllBytes(settings.recordedDir().resolve(subreddit + ".json"));
+        } catch (NoSuchFileException e) {
+            return emptyListing();
+        }
+    }
+
+    private static byte[] emptyListing() {
+        return "{\"kind\":\"Listing\",\"data\":{\"children\":[],\"after\":null}}".getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String idPrefix(String subreddit) {
+        return subreddit.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "") + "p";
+    }
+
+    private byte[] json(JsonWriter writer) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        try (JsonGenerator json = jsonFactory.createGenerator((OutputStream) out, JsonEncoding.UTF8)) {
+            writer.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    query.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return query;
+    }
+
+    static void sleep(Duration duration) throws InterruptedException {
+        if (!duration.isZero() && !duration.isNegative()) {
+            Thread.sleep(duration);
+        }
+    }
+
+    @FunctionalInterface
+    private interface JsonWriter {
+        void write(JsonGenerator json) throws IOException;
+    }
+}
@@ -3,22 +3,18 @@ package com.findcomplain.config;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
-    @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("Async-");
-        executor.initialize();
-        return executor;
+    // 서브레딧 스캔은 대부분 I/O 대기이므로 작업마다 virtual thread를 할당한다.
+    // Reddit/LLM 호출량은 executor 크기가 아니라 각 서비스의 rate limiter로 제한한다.
+    @Bean(name = "discoveryExecutor", destroyMethod = "close")
+    public ExecutorService discoveryExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("discovery-", 0).factory());
     }
 }
@@ -0,0 +1,21 @@
+package com.findcomplain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cluster")
+public class ClusterConfig {
+
+    private Duration heartbeatInterval = Duration.ofSeconds(10);
+
+    // 이 시간 동안 heartbeat가 없으면 죽은 노드로 보고 그 서브레딧을 나머지가 나눠 갖는다
+    private Duration nodeTimeout = Duration.ofSeconds(30);
+
+    // 노드 하나가 해시 링에 차지하는 점 수 - 많을수록 서브레딧이 고르게 나뉜다
+    private int virtualNodes = 128;
+}
@@ -0,0 +1,23 @@
+package com.findcomplain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "content-archive")
+public class ContentArchiveConfig {
+    private boolean enabled = true;
+
+    // 분석된 지 이만큼 지난 아이디어의 원문 본문을 압축 보관한다
+    private Duration archiveAfter = Duration.ofDays(30);
+
+    // 한 트랜잭션에서 옮기는 행 수
+    private int batchSize = 500;
+
+    // 한 번 실행에서 옮기는 최대 배치 수 - 처음 켤 때 밀린 행이 많아도 나눠서 처리한다
+    private int maxBatchesPerRun = 200;
+}
@@ -0,0 +1,45 @@
+package com.findcomplain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "crawl-schedule")
+public class CrawlScheduleConfig {
+    private boolean enabled = true;
+
+    // 전체 서브레딧이 하루에 가져올 게시물 수 (Reddit 요청과 LLM 호출 예산)
+    private int dailyPostBudget = 600;
+
+    private Duration minInterval = Duration.ofHours(1);
+    private Duration maxInterval = Duration.ofHours(24);
+
+    private int minFetchDepth = 10;
+    private int maxFetchDepth = 100;
+
+    // 한 tick에 시작하는 서브레딧 수 - 처음 기동할 때 한꺼번에 몰리지 않게
+    private int maxStartsPerTick = 2;
+
+    // 통계가 없는 서브레딧의 가정치
+    private double defaultPostsPerHour = 2.0;
+
+    // 수율 추정의 사전값: priorIdeas / priorPosts (게시물이 적을 때 0이나 1로 튀지 않게)
+    private double priorPosts = 20;
+    private double priorIdeas = 1;
+
+    // 크롤링할 때마다 이전 수율 통계에 곱하는 감쇠 계수
+    private double yieldDecay = 0.8;
+
+    // 게시 속도 이동 평균의 가중치
+    private double velocitySmoothing = 0.3;
+
+    // 게시 속도 대비 여유분 - 예상보다 많이 올라와도 워터마크 사이를 놓치지 않게
+    private double velocityHeadroom = 1.2;
+
+    // 같은 주기의 서브레딧이 같은 시각에 몰리지 않도록 간격을 +-jitter 만큼 흔든다
+    private double intervalJitter = 0.1;
+}
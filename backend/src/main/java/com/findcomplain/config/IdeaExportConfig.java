@@ -0,0 +1,14 @@
+package com.findcomplain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "idea-export")
+public class IdeaExportConfig {
+
+    // 서버 쪽 커서에서 한 번에 가져오는 행 수 - 내보내는 동안 메모리에는 이만큼만 올라온다
+    private int fetchSize = 500;
+}
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "llm")
@@ -12,4 +14,53 @@ public class LlmConfig {
     private String apiKey;
     private String model = "gpt-4o-mini";
     private boolean mockMode = true;
+
+    // OpenAI 호환 API 주소 (로드 테스트 스텁 등)
+    private String baseUrl = "https://api.openai.com/v1/";
+
+    // 동시에 진행 중인 LLM 요청 수 상한
+    private int maxConcurrentRequests = 4;
+
+    // 한 프롬프트에 묶어서 분석할 게시물 수 (1이면 게시물마다 요청)
+    private int batchSize = 5;
+
+    // 게시물마다 응답을 스트리밍으로 받아 isViable=false나 저장 기준 미만 점수가 나오면 생성을 끊는다 (batch-size 무시)
+    private boolean streaming = false;
+
+    // 요청 타임아웃과 분당 요청 수 상한 (429를 받으면 Retry-After 동안 모든 요청이 멈춘다)
+    private Duration timeout = Duration.ofSeconds(60);
+    private int requestsPerMinute = 500;
+
+    private ResilienceSettings.Retry retry = new ResilienceSettings.Retry();
+    private ResilienceSettings.Breaker circuitBreaker = new ResilienceSettings.Breaker();
+
+    private Prompt prompt = new Prompt();
+
+    private Cache cache = new Cache();
+
+    // 프롬프트 토큰 예산 - 토큰 수는 model의 토크나이저로 센다
+    @Data
+    public static class Prompt {
+        // 게시물 하나를 보내는 요청의 전체 입력 토큰 (템플릿 포함)
+        private int inputTokenBudget = 1500;
+
+        // 배치 요청에서 게시물 하나(제목, 본문, 댓글)에 쓰는 입력 토큰
+        private int batchPostTokenBudget = 500;
+
+        private int titleMaxTokens = 60;
+
+        // 본문과 댓글이 모두 예산을 넘을 때 댓글에 보장하는 몫
+        private double commentShare = 0.35;
+
+        // 게시물 하나의 결과 JSON에 허용하는 출력 토큰 (한국어 필드는 영어보다 토큰이 많다)
+        private int outputTokensPerPost = 400;
+    }
+
+    // 본문 해시 기반 분석 결과 캐시 (메모리 + Postgres)
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private long maxSize = 10_000;
+        private Duration ttl = Duration.ofDays(30);
+    }
 }
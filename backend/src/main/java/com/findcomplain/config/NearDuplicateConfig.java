@@ -0,0 +1,20 @@
+package com.findcomplain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "near-duplicate")
+public class NearDuplicateConfig {
+    private boolean enabled = true;
+
+    // 이 해밍 거리 이하면 같은 아이디어로 본다 (64비트 중) - SimHashIndex.MAX_GUARANTEED_DISTANCE까지만 빠짐없이 찾는다
+    private int maxDistance = 10;
+
+    // 다른 인스턴스가 저장한 아이디어를 인덱스에 반영하는 주기
+    private Duration refreshInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,30 @@
+package com.findcomplain.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "post-queue")
+public class PostQueueConfig {
+
+    // 백그라운드에서 큐를 비우는 워커 수 (0이면 크롤링한 실행만 자기 서브레딧을 비운다)
+    private int workers = 2;
+
+    // 한 번에 가져가는 게시물 수
+    private int claimBatchSize = 25;
+
+    // 가져간 뒤 이 시간 안에 끝내지 못하면 (인스턴스가 죽었으면) 다른 워커가 다시 가져간다
+    private Duration visibilityTimeout = Duration.ofMinutes(10);
+
+    // 비어 있을 때 큐를 다시 보는 간격
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    // 분석에 실패한 게시물은 baseDelay * 2^(attempts-1) 뒤에 다시 보이고, maxAttempts 번째에 버린다
+    private int maxAttempts = 5;
+    private Duration baseDelay = Duration.ofMinutes(10);
+    private Duration maxDelay = Duration.ofHours(6);
+}
@@ -0,0 +1,62 @@
+package com.findcomplain.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "prefilter")
+public class PreFilterConfig {
+    private boolean enabled = true;
+
+    // 가중치 합이 이 값 미만이면 LLM 호출 없이 탈락
+    private double threshold = 2.0;
+
+    // 탈락한 게시물 중 LLM으로 그대로 보내 정확도를 측정할 비율 (0이면 측정 안 함)
+    private double shadowSampleRate = 0.05;
+
+    private List<Phrase> phrases = new ArrayList<>(List.of(
+            new Phrase("someone make", 3),
+            new Phrase("somebody make", 3),
+            new Phrase("someone should make", 3),
+            new Phrase("would pay", 3),
+            new Phrase("i'd pay", 3),
+            new Phrase("is there an app", 3),
+            new Phrase("is there a tool", 3),
+            new Phrase("app idea", 3),
+            new Phrase("need an app", 3),
+            new Phrase("looking for an app", 2.5),
+            new Phrase("looking for a tool", 2.5),
+            new Phrase("wish there was", 2.5),
+            new Phrase("there should be", 2),
+            new Phrase("why isn't there", 2),
+            new Phrase("automate", 1.5),
+            new Phrase("i wish", 1.5),
+            new Phrase("app", 1),
+            new Phrase("apps", 1),
+            new Phrase("tool", 1),
+            new Phrase("software", 1),
+            new Phrase("idea", 1),
+            new Phrase("wish", 1),
+            new Phrase("tired of", 1),
+            new Phrase("frustrating", 1),
+            new Phrase("annoying", 1),
+            new Phrase("need", 0.5),
+            new Phrase("want", 0.5),
+            new Phrase("website", 0.5)
+    ));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Phrase {
+        private String phrase;
+        private double weight;
+    }
+}
@@ -4,6 +4,10 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "reddit")
@@ -14,4 +18,72 @@ public class RedditApiConfig {
     private String username;
     private String password;
     private boolean mockMode = true;
+
+    // HTTP 클라이언트 설정
+    private String baseUrl = "https://www.reddit.com";
+    private int maxConnections = 16;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration responseTimeout = Duration.ofSeconds(20);
+    private int maxResponseBytes = 4 * 1024 * 1024;
+
+    // 한 번의 크롤링에서 따라갈 after 커서 페이지 수 상한
+    private int maxPagesPerCrawl = 10;
+
+    // 모든 Reddit 요청이 공유하는 토큰 버킷 설정
+    private int rateLimitPerMinute = 30;
+    private int rateLimitBurst = 5;
+
+    // 429/5xx/연결 오류 재시도와 서킷 브레이커
+    private ResilienceSettings.Retry retry = new ResilienceSettings.Retry();
+    private ResilienceSettings.Breaker circuitBreaker = new ResilienceSettings.Breaker();
+
+    // Reddit 응답 디스크 캐시
+    private Cache cache = new Cache();
+
+    // LLM으로 보낼 후보 게시물의 댓글 수집
+    private Comments comments = new Comments();
+
+    @Data
+    public static class Comments {
+        private boolean enabled = true;
+
+        // 게시물당 프롬프트에 넣는 상위 댓글 수 (점수순)
+        private int topK = 5;
+
+        // 게시물당 요청할 댓글 수와 트리 깊이 (Reddit comments API의 limit, depth)
+        private int limit = 100;
+        private int depth = 4;
+
+        // 동시에 진행하는 댓글 요청 수 - 전체 요청 속도는 공유 rate limiter가 정한다
+        private int maxConcurrent = 4;
+
+        // 한 페이지의 댓글 수집에 쓸 수 있는 시간. 넘기면 남은 요청은 취소하고 댓글 없이 분석한다
+        private Duration timeBudget = Duration.ofSeconds(30);
+
+        // "나도 필요하다"류 수요 신호 구문
+        private List<String> demandPhrases = new ArrayList<>(List.of(
+                "me too", "same here", "same problem", "this is me", "+1",
+                "i need this", "need this", "i want this", "i'd use", "i would use", "would use this",
+                "i'd pay", "i would pay", "would pay", "would happily pay", "take my money", "shut up and take my money",
+                "sign me up", "where can i get", "does this exist", "been looking for", "following"));
+    }
+
+    @Data
+    public static class Cache {
+        /**
+         * READ_WRITE: TTL 안이면 디스크에서, 지나면 ETag/Last-Modified로 조건부 요청.
+         * OFFLINE: 디스크에 있는 응답만 쓰고 네트워크는 쓰지 않는다 (저장된 크롤링 재생).
+         * DISABLED: 캐시 없이 매번 요청.
+         */
+        public enum Mode { READ_WRITE, OFFLINE, DISABLED }
+
+        private Mode mode = Mode.READ_WRITE;
+        private String directory = "data/reddit-cache";
+
+        // 이 시간 안에 받은 응답은 다시 요청하지 않는다
+        private Duration ttl = Duration.ofMinutes(5);
+
+        // 디스크 사용량 상한 - 넘으면 오래 안 쓴 응답부터 지운다
+        private long maxSizeBytes = 256L * 1024 * 1024;
+    }
 }
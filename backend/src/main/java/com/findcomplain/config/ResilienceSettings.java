@@ -0,0 +1,29 @@
+package com.findcomplain.config;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 외부 API 클라이언트(Reddit, LLM)의 재시도/서킷 브레이커 설정. 각 클라이언트 설정에 중첩해서 쓴다.
+ */
+public final class ResilienceSettings {
+
+    private ResilienceSettings() {
+    }
+
+    // 429, 5xx, 연결 오류만 재시도한다. 대기 시간은 min(maxDelay, baseDelay * 2^n) 안에서 무작위 (full jitter)
+    @Data
+    public static class Retry {
+        private int maxAttempts = 4;
+        private Duration baseDelay = Duration.ofMillis(500);
+        private Duration maxDelay = Duration.ofSeconds(30);
+    }
+
+    // 연속 failureThreshold 번 실패하면 openDuration 동안 요청을 보내지 않고 바로 실패시킨다
+    @Data
+    public static class Breaker {
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(60);
+    }
+}
@@ -0,0 +1,44 @@
+package com.findcomplain.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class WebClientConfig {
+
+    // 크롤링 전체가 공유하는 Reddit 클라이언트 - 커넥션 풀/keep-alive로 TLS 핸드셰이크를 재사용한다
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider redditConnectionProvider(RedditApiConfig config) {
+        return ConnectionProvider.builder("reddit")
+                .maxConnections(config.getMaxConnections())
+                .pendingAcquireTimeout(Duration.ofSeconds(30))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .maxLifeTime(Duration.ofMinutes(5))
+                .evictInBackground(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public WebClient redditWebClient(RedditApiConfig config, ConnectionProvider redditConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(redditConnectionProvider)
+                .compress(true) // Accept-Encoding: gzip 요청 + 응답 자동 해제
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) config.getConnectTimeout().toMillis())
+                .responseTimeout(config.getResponseTimeout());
+
+        return WebClient.builder()
+                .baseUrl(config.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.USER_AGENT, config.getUserAgent())
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(config.getMaxResponseBytes()))
+                .build();
+    }
+}
@@ -1,15 +1,33 @@
 package com.findcomplain.controller;
 
 import com.findcomplain.domain.AppIdea;
+import com.findcomplain.dto.AppIdeaSummary;
+import com.findcomplain.dto.CachedIdeaPage;
+import com.findcomplain.dto.DiscoveryJobStatus;
+import com.findcomplain.dto.IdeaExportFilter;
+import com.findcomplain.dto.IdeaPage;
+import com.findcomplain.dto.IdeaSearchFilter;
+import com.findcomplain.dto.IdeaSearchHit;
 import com.findcomplain.service.AppIdeaService;
+import com.findcomplain.service.DiscoveryJobService;
+import com.findcomplain.service.IdeaExportService;
 import com.findcomplain.service.IdeaDiscoveryScheduler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -20,23 +38,94 @@ public class AppIdeaController {
 
     private final AppIdeaService appIdeaService;
     private final IdeaDiscoveryScheduler scheduler;
+    private final DiscoveryJobService discoveryJobs;
+    private final IdeaExportService exportService;
 
     @GetMapping
-    @Operation(summary = "Get all discovered app ideas")
-    public ResponseEntity<List<AppIdea>> getAllIdeas() {
-        return ResponseEntity.ok(appIdeaService.getAllIdeas());
+    @Operation(summary = "Get discovered app ideas, newest first (cursor paginated)")
+    public ResponseEntity<IdeaPage<AppIdeaSummary>> getAllIdeas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (request.checkNotModified(appIdeaService.currentListingETag())) {
+            return null;
+        }
+        return listing(appIdeaService.getRecentIdeas(cursor, size));
     }
 
     @GetMapping("/top")
-    @Operation(summary = "Get top rated app ideas")
-    public ResponseEntity<List<AppIdea>> getTopIdeas() {
-        return ResponseEntity.ok(appIdeaService.getTopIdeas());
+    @Operation(summary = "Get top rated app ideas (cursor paginated)")
+    public ResponseEntity<IdeaPage<AppIdeaSummary>> getTopIdeas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (request.checkNotModified(appIdeaService.currentListingETag())) {
+            return null;
+        }
+        return listing(appIdeaService.getTopIdeas(cursor, size));
     }
 
     @GetMapping("/bookmarked")
-    @Operation(summary = "Get bookmarked ideas")
-    public ResponseEntity<List<AppIdea>> getBookmarkedIdeas() {
-        return ResponseEntity.ok(appIdeaService.getBookmarkedIdeas());
+    @Operation(summary = "Get bookmarked ideas (cursor paginated)")
+    public ResponseEntity<IdeaPage<AppIdeaSummary>> getBookmarkedIdeas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (request.checkNotModified(appIdeaService.currentListingETag())) {
+            return null;
+        }
+        return listing(appIdeaService.getBookmarkedIdeas(cursor, size));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Full-text search over app ideas, ranked by relevance (cursor paginated)")
+    public ResponseEntity<IdeaPage<IdeaSearchHit>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) Integer minViability,
+            @RequestParam(required = false) String subreddit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        IdeaSearchFilter filter = new IdeaSearchFilter(
+                difficulty != null ? difficulty.toLowerCase(Locale.ROOT) : null, minViability, subreddit);
+        return ResponseEntity.ok(appIdeaService.search(q, filter, cursor, size));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream every matching idea as NDJSON or CSV, id order (gzip when accepted)")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String difficulty,
+            @RequestParam(required = false) Integer minViability,
+            @RequestParam(required = false) String subreddit,
+            @RequestParam(required = false) Boolean bookmarked,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeDuplicates,
+            @RequestParam(defaultValue = "false") boolean includeContent,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        IdeaExportService.Format exportFormat = IdeaExportService.Format.parse(format);
+        IdeaExportFilter filter = new IdeaExportFilter(
+                difficulty != null ? difficulty.toLowerCase(Locale.ROOT) : null, minViability, subreddit, bookmarked,
+                from, to, includeDuplicates, includeContent);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("app-ideas-" + LocalDate.now() + "." + exportFormat.extension())
+                        .build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> exportService.export(exportFormat, filter, gzip, out));
+    }
+
+    @GetMapping("/{id:\\d+}")
+    @Operation(summary = "Get full details of an app idea")
+    public ResponseEntity<AppIdea> getIdea(@PathVariable Long id) {
+        return ResponseEntity.of(appIdeaService.getIdea(id));
     }
 
     @PostMapping("/{id}/bookmark")
@@ -45,23 +134,12 @@ public class AppIdeaController {
         return ResponseEntity.ok(appIdeaService.toggleBookmark(id));
     }
 
-    @PostMapping("/discover")
-    @Operation(summary = "Manually trigger idea discovery")
-    public ResponseEntity<Map<String, Object>> triggerDiscovery() {
-        int count = scheduler.runDiscoveryNow();
-        return ResponseEntity.ok(Map.of(
-                "message", "Discovery completed",
-                "newIdeasFound", count,
-                "subredditsScanned", scheduler.getTargetSubreddits()
-        ));
-    }
-
     @PostMapping("/analyze/{subreddit}")
-    @Operation(summary = "Analyze specific subreddit for ideas")
-    public ResponseEntity<List<AppIdea>> analyzeSubreddit(
+    @Operation(summary = "Start a background job analyzing a specific subreddit")
+    public ResponseEntity<DiscoveryJobStatus> analyzeSubreddit(
             @PathVariable String subreddit,
             @RequestParam(defaultValue = "20") int limit) {
-        return ResponseEntity.ok(appIdeaService.analyzeSubreddit(subreddit, limit));
+        return ResponseEntity.accepted().body(discoveryJobs.submit(List.of(subreddit), limit));
     }
 
     @GetMapping("/subreddits")
@@ -98,4 +176,17 @@ public class AppIdeaController {
                 "all", scheduler.getTargetSubreddits()
         ));
     }
+
+    // 브라우저가 저장은 하되 매번 If-None-Match로 재검증하도록 no-cache
+    private static ResponseEntity<IdeaPage<AppIdeaSummary>> listing(CachedIdeaPage cached) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(cached.etag())
+                .body(cached.page());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+    }
 }
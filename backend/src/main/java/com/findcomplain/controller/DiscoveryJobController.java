@@ -0,0 +1,61 @@
+package com.findcomplain.controller;
+
+import com.findcomplain.dto.DiscoveryJobStatus;
+import com.findcomplain.dto.SubredditCrawlPlan;
+import com.findcomplain.service.DiscoveryJobService;
+import com.findcomplain.service.IdeaDiscoveryScheduler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/app-ideas/discover")
+@RequiredArgsConstructor
+@Tag(name = "Discovery Jobs", description = "Background idea discovery jobs")
+public class DiscoveryJobController {
+
+    private final DiscoveryJobService discoveryJobs;
+    private final IdeaDiscoveryScheduler scheduler;
+
+    @PostMapping
+    @Operation(summary = "Start idea discovery over all target subreddits in the background")
+    public ResponseEntity<DiscoveryJobStatus> triggerDiscovery() {
+        return ResponseEntity.accepted().body(scheduler.startDiscoveryNow());
+    }
+
+    @GetMapping("/schedule")
+    @Operation(summary = "Get the adaptive crawl plan (yield, post velocity, interval and depth) per subreddit")
+    public ResponseEntity<List<SubredditCrawlPlan>> getCrawlPlan() {
+        return ResponseEntity.ok(scheduler.getCrawlPlan());
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "List running and recently finished discovery jobs")
+    public ResponseEntity<List<DiscoveryJobStatus>> getJobs() {
+        return ResponseEntity.ok(discoveryJobs.getRecentJobs());
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get per-subreddit progress of a discovery job")
+    public ResponseEntity<DiscoveryJobStatus> getJob(@PathVariable String jobId) {
+        return ResponseEntity.of(discoveryJobs.getStatus(jobId));
+    }
+
+    @DeleteMapping("/jobs/{jobId}")
+    @Operation(summary = "Cancel a discovery job")
+    public ResponseEntity<DiscoveryJobStatus> cancelJob(@PathVariable String jobId) {
+        return ResponseEntity.of(discoveryJobs.cancel(jobId));
+    }
+
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream job progress and newly saved ideas as Server-Sent Events")
+    public ResponseEntity<SseEmitter> streamJob(@PathVariable String jobId) {
+        return ResponseEntity.of(discoveryJobs.subscribe(jobId));
+    }
+}
@@ -0,0 +1,51 @@
+package com.findcomplain.controller;
+
+import com.findcomplain.dto.AnalysisCacheStats;
+import com.findcomplain.dto.ContentArchiveStats;
+import com.findcomplain.dto.PreFilterStats;
+import com.findcomplain.service.AnalysisCacheService;
+import com.findcomplain.service.ContentArchiveService;
+import com.findcomplain.service.ViabilityPreFilter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/pipeline")
+@RequiredArgsConstructor
+@Tag(name = "Pipeline", description = "Discovery pipeline statistics")
+public class PipelineController {
+
+    private final AnalysisCacheService analysisCache;
+    private final ViabilityPreFilter preFilter;
+    private final ContentArchiveService contentArchive;
+
+    @GetMapping("/analysis-cache")
+    @Operation(summary = "Get LLM analysis cache hit/miss statistics")
+    public ResponseEntity<AnalysisCacheStats> getAnalysisCacheStats() {
+        return ResponseEntity.ok(analysisCache.getStats());
+    }
+
+    @GetMapping("/prefilter")
+    @Operation(summary = "Get pre-filter pass rate and precision against LLM verdicts")
+    public ResponseEntity<PreFilterStats> getPreFilterStats() {
+        return ResponseEntity.ok(preFilter.getStats());
+    }
+
+    @GetMapping("/content-archive")
+    @Operation(summary = "Get original content cold-storage size and compression ratio")
+    public ResponseEntity<ContentArchiveStats> getContentArchiveStats() {
+        return ResponseEntity.ok(contentArchive.getStats());
+    }
+
+    @PostMapping("/content-archive")
+    @Operation(summary = "Archive original content of ideas older than content-archive.archive-after now")
+    public ResponseEntity<ContentArchiveStats> archiveContent() {
+        return ResponseEntity.ok(contentArchive.archiveExpired());
+    }
+}
@@ -0,0 +1,32 @@
+package com.findcomplain.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// LLM 분석 결과 캐시 - 재시작 후에도 캐시 히트가 유지되도록 영속화
+@Entity
+@Table(name = "llm_analysis_cache", indexes = {
+        @Index(name = "idx_llm_analysis_cache_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalysisCacheEntry {
+
+    @Id
+    @Column(length = 64)
+    private String cacheKey; // sha-256(정규화된 제목/본문 + 모델 + 프롬프트 버전) hex
+
+    private String model;
+
+    private String promptVersion;
+
+    @Column(columnDefinition = "TEXT")
+    private String resultJson;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
@@ -6,17 +6,30 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "app_ideas")
+@Table(name = "app_ideas", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_app_ideas_reddit_post_id", columnNames = "reddit_post_id")
+}, indexes = {
+        @Index(name = "idx_app_ideas_simhash", columnList = "simhash"),
+        @Index(name = "idx_app_ideas_canonical_idea_id", columnList = "canonical_idea_id"),
+        // 목록 keyset 페이지네이션용 (정렬키, id) 복합 인덱스
+        @Index(name = "idx_app_ideas_analyzed_at_id", columnList = "analyzed_at, id"),
+        @Index(name = "idx_app_ideas_viability_score_id", columnList = "viability_score, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class AppIdea {
 
+    // 시퀀스 한 번 호출로 할당받는 ID 블록 크기 (Hibernate pooled optimizer와 배치 insert가 공유)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_ideas_seq")
+    @SequenceGenerator(name = "app_ideas_seq", sequenceName = "app_ideas_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
+    @Column(name = "reddit_post_id")
     private String redditPostId;
 
     private String subreddit;
@@ -24,9 +37,14 @@ public class AppIdea {
     @Column(columnDefinition = "TEXT")
     private String originalTitle;
 
-    @Column(columnDefinition = "TEXT")
+    // 보관(contentArchived)된 뒤에는 NULL이고 본문은 idea_content_archive에 있다.
+    // 보관은 JDBC로만 하므로 엔티티 저장이 옛 값으로 덮어쓰지 않게 UPDATE에서 뺀다
+    @Column(columnDefinition = "TEXT", updatable = false)
     private String originalContent;
 
+    @Column(updatable = false)
+    private Boolean contentArchived;
+
     private String author;
     private Integer score;
 
@@ -58,6 +76,13 @@ public class AppIdea {
 
     private Boolean bookmarked;
 
+    // 제목+본문의 64비트 SimHash 지문 (near-duplicate 탐지용)
+    private Long simhash;
+
+    // near-duplicate인 경우 원본 아이디어 ID - 목록에서는 제외되고 재분석하지 않는다
+    @Column(name = "canonical_idea_id")
+    private Long canonicalIdeaId;
+
     private LocalDateTime redditCreatedAt;
     private LocalDateTime analyzedAt;
 
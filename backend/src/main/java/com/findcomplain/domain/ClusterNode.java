@@ -0,0 +1,23 @@
+package com.findcomplain.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// 살아 있는 백엔드 인스턴스 - heartbeatAt이 cluster.node-timeout 안에 갱신된 노드만 서브레딧을 나눠 갖는다
+@Entity
+@Table(name = "cluster_node")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClusterNode {
+
+    @Id
+    private String nodeId;
+
+    private Instant startedAt;
+
+    private Instant heartbeatAt;
+}
@@ -0,0 +1,29 @@
+package com.findcomplain.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 사용자가 추가한 크롤링 대상 서브레딧 - 모든 인스턴스가 같은 목록을 본다
+@Entity
+@Table(name = "custom_subreddit")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomSubreddit {
+
+    @Id
+    private String subreddit; // 소문자로 정규화된 이름
+
+    // 추가할 때 입력한 그대로의 이름
+    private String name;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
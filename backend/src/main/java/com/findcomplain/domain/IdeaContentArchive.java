@@ -0,0 +1,30 @@
+package com.findcomplain.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 오래된 아이디어의 원문 본문 - app_ideas 행에서 빼서 사전 Deflate로 압축해 둔다 (상세 조회 때만 푼다)
+@Entity
+@Table(name = "idea_content_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdeaContentArchive {
+
+    @Id
+    private Long ideaId;
+
+    // 압축에 쓴 사전 버전 - 같은 사전으로만 풀 수 있다
+    private Integer dictionaryVersion;
+
+    @Column(columnDefinition = "bytea")
+    private byte[] compressed;
+
+    // 압축 전 UTF-8 바이트 수
+    private Integer originalBytes;
+
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,21 @@
+package com.findcomplain.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// 목록에 보이는 데이터(아이디어 저장, 북마크)가 바뀔 때마다 올라가는 단일 행 카운터 - 인스턴스들이 같은 값을 보고 목록 캐시와 ETag를 맞춘다
+@Entity
+@Table(name = "listing_version")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ListingVersion {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    private Long version;
+}
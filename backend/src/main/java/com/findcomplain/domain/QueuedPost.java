@@ -0,0 +1,51 @@
+package com.findcomplain.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// 크롤링이 끝나고 분석을 기다리는 게시물 - 게시물 내용을 그대로 보관한다
+// visibleAt 전에는 가져갈 수 없다: 누가 가져갔으면 visibility timeout, 실패했으면 재시도 백오프
+@Entity
+@Table(name = "post_queue", indexes = {
+        @Index(name = "idx_post_queue_visible", columnList = "visible_at"),
+        @Index(name = "idx_post_queue_subreddit_visible", columnList = "subreddit, visible_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueuedPost {
+
+    @Id
+    private String redditPostId;
+
+    private String subreddit; // 소문자로 정규화된 이름
+
+    // 크롤링을 요청한 그대로의 이름 - 아이디어에는 이 이름으로 저장된다
+    private String subredditName;
+
+    @Column(columnDefinition = "TEXT")
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String selftext;
+
+    private String author;
+
+    private Integer score;
+
+    private Instant postCreatedUtc;
+
+    // 가져간 횟수 - 가져갈 때 올라간다
+    private Integer attempts;
+
+    @Column(name = "visible_at")
+    private Instant visibleAt;
+
+    // 지금 처리 중인 워커 (재시도를 기다리는 중이면 null)
+    private String claimedBy;
+
+    private Instant enqueuedAt;
+}
@@ -0,0 +1,23 @@
+package com.findcomplain.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// 여러 인스턴스 중 한 곳에서만 돌아야 하는 예약 작업의 lease - expiresAt까지 owner만 실행한다
+@Entity
+@Table(name = "scheduler_lease")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchedulerLease {
+
+    @Id
+    private String name;
+
+    private String owner;
+
+    private Instant expiresAt;
+}
@@ -0,0 +1,58 @@
+package com.findcomplain.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+// 서브레딧별 크롤링 high-water mark - 이미 처리한 가장 최신 게시물 - 와 적응형 스케줄링 통계
+// 워터마크와 통계는 서로 다른 경로에서 갱신되므로 바뀐 컬럼만 UPDATE 한다
+@Entity
+@Table(name = "subreddit_crawl_state")
+@DynamicUpdate
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SubredditCrawlState {
+
+    @Id
+    private String subreddit; // 소문자로 정규화된 이름
+
+    private String lastPostId;
+
+    private Instant lastPostCreatedUtc;
+
+    // limit에 걸려 watermark까지 못 내려간 크롤링이 남긴 빈 구간 - 다음 크롤링이 남는 몫으로 new 리스팅의
+    // backfillAfterId 다음부터 backfillUntil*(그때의 watermark)까지 이어서 가져온다. 없으면 null
+    private String backfillAfterId;
+
+    private Instant backfillUntilCreatedUtc;
+
+    private String backfillUntilPostId;
+
+    // 감쇠 누적된 처리 게시물 수 / 찾은 아이디어 수 (아이디어 수율 = ideas / posts)
+    private Double yieldPosts;
+
+    private Double yieldIdeas;
+
+    // 시간당 새 게시물 수 (지수 이동 평균)
+    private Double postsPerHour;
+
+    private Instant lastCrawledAt;
+
+    private Instant nextCrawlAt;
+
+    // 다음 크롤링에서 가져올 게시물 수
+    private Integer fetchDepth;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,20 @@
+package com.findcomplain.dto;
+
+public record AnalysisCacheStats(
+        long memoryHits,
+        long persistentHits,
+        long misses,
+        long memoryEntries,
+        long evictions
+) {
+
+    public long hits() {
+        return memoryHits + persistentHits;
+    }
+
+    // 캐시 히트 = 절약한 LLM 분석 횟수
+    public double hitRate() {
+        long total = hits() + misses;
+        return total == 0 ? 0 : (double) hits() / total;
+    }
+}
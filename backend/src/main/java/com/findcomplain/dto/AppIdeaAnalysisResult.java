@@ -1,12 +1,20 @@
 package com.findcomplain.dto;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
 
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class AppIdeaAnalysisResult {
+    // 이 점수 이상인 viable 결과만 아이디어로 저장한다
+    public static final int MIN_SAVE_SCORE = 5;
+
+    // 배치 분석 시 결과를 원래 게시물에 매핑하기 위한 ID
+    @JsonAlias({"postId", "post_id"})
+    private String postId;
+
     @JsonAlias({"isViable", "is_viable"})
     private boolean viable;
 
@@ -34,4 +42,13 @@ public class AppIdeaAnalysisResult {
     private int viabilityScore;
 
     private String reasoning;
+
+    // LLM 대신 mock 분석으로 만들어진 결과 (캐시하지 않는다)
+    @JsonIgnore
+    private boolean mock;
+
+    @JsonIgnore
+    public boolean isSaveable() {
+        return viable && viabilityScore >= MIN_SAVE_SCORE;
+    }
 }
@@ -0,0 +1,36 @@
+package com.findcomplain.dto;
+
+import com.findcomplain.domain.AppIdea;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 화면용 아이디어 요약. originalContent, proposedSolution, reasoning 같은 큰 TEXT 컬럼은
+ * 읽지 않으며, 전체 내용은 상세 조회(GET /api/app-ideas/{id})로 가져온다.
+ */
+public record AppIdeaSummary(
+        Long id,
+        String redditPostId,
+        String subreddit,
+        String originalTitle,
+        String author,
+        Integer score,
+        String appName,
+        String problemSummary,
+        String targetUsers,
+        String keyFeatures,
+        String techStack,
+        String difficulty,
+        Integer viabilityScore,
+        Boolean bookmarked,
+        LocalDateTime redditCreatedAt,
+        LocalDateTime analyzedAt
+) {
+
+    public static AppIdeaSummary from(AppIdea idea) {
+        return new AppIdeaSummary(idea.getId(), idea.getRedditPostId(), idea.getSubreddit(), idea.getOriginalTitle(),
+                idea.getAuthor(), idea.getScore(), idea.getAppName(), idea.getProblemSummary(), idea.getTargetUsers(),
+                idea.getKeyFeatures(), idea.getTechStack(), idea.getDifficulty(), idea.getViabilityScore(),
+                idea.getBookmarked(), idea.getRedditCreatedAt(), idea.getAnalyzedAt());
+    }
+}
@@ -0,0 +1,7 @@
+package com.findcomplain.dto;
+
+/**
+ * 목록 캐시에서 꺼낸 페이지와, 그 페이지가 만들어진 시점의 데이터 버전으로 만든 ETag.
+ */
+public record CachedIdeaPage(String etag, IdeaPage<AppIdeaSummary> page) {
+}
@@ -0,0 +1,25 @@
+package com.findcomplain.dto;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 게시물 댓글 전체에서 집계한 수요 신호 ("me too", "I'd pay" 등).
+ * phraseCounts는 구문별로 그 구문이 나온 댓글 수다.
+ */
+public record CommentDemand(int commentsScanned, int demandComments, int demandCommentScore,
+                            Map<String, Integer> phraseCounts) {
+
+    // LLM 프롬프트에 넣는 한 줄 요약
+    public String describe() {
+        if (demandComments == 0) {
+            return "no demand signals in %d comments".formatted(commentsScanned);
+        }
+        String phrases = phraseCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(entry -> "\"%s\" x%d".formatted(entry.getKey(), entry.getValue()))
+                .collect(Collectors.joining(", "));
+        return "%d of %d comments express demand (total score %d): %s"
+                .formatted(demandComments, commentsScanned, demandCommentScore, phrases);
+    }
+}
@@ -0,0 +1,19 @@
+package com.findcomplain.dto;
+
+public record ContentArchiveStats(
+        long archivedIdeas,
+        long originalBytes,
+        long compressedBytes,
+        long hotIdeas,
+        long hotContentBytes
+) {
+
+    // 압축 전 / 압축 후
+    public double compressionRatio() {
+        return compressedBytes == 0 ? 0 : (double) originalBytes / compressedBytes;
+    }
+
+    public long savedBytes() {
+        return originalBytes - compressedBytes;
+    }
+}
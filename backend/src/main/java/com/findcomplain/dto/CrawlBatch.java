@@ -0,0 +1,25 @@
+package com.findcomplain.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 한 번의 크롤링 결과. 게시물을 큐에 넣은 뒤 그대로 {@code RedditCrawlerService.advanceWatermark}에 넘긴다.
+ *
+ * @param posts    새 게시물과 이어서 가져온(backfill) 게시물, 점수 내림차순
+ * @param newPosts 그 중 watermark 이후에 올라온 게시물 수 (게시 속도 계산용)
+ * @param backfill 다음 크롤링에서 이어서 가져올 빈 구간 - 없으면 null
+ */
+public record CrawlBatch(List<RedditPost> posts, int newPosts, Backfill backfill) {
+
+    /**
+     * limit에 걸려 watermark까지 내려가지 못한 구간. new 리스팅에서 afterId 다음 게시물부터
+     * untilCreatedUtc/untilPostId(그때의 watermark)까지가 아직 가져오지 않은 게시물이다.
+     */
+    public record Backfill(String afterId, Instant untilCreatedUtc, String untilPostId) {
+    }
+
+    public static CrawlBatch of(List<RedditPost> posts) {
+        return new CrawlBatch(posts, posts.size(), null);
+    }
+}
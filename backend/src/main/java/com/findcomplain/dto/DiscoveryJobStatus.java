@@ -0,0 +1,35 @@
+package com.findcomplain.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * discovery 작업의 현재 상태. 서브레딧별 ideasFound는 실행 중에도 저장될 때마다 갱신된다.
+ * 다른 작업이 이미 스캔 중인 서브레딧은 새로 실행하지 않고 그 실행에 합류하며, startedByJob이 원래 작업 ID다.
+ * stageMs는 끝난 서브레딧의 파이프라인 단계별 소요 시간이다.
+ */
+public record DiscoveryJobStatus(
+        String jobId,
+        JobState state,
+        Instant submittedAt,
+        Instant finishedAt,
+        int totalIdeas,
+        List<SubredditProgress> subreddits
+) {
+
+    public enum JobState { RUNNING, COMPLETED, CANCELLED }
+
+    public enum RunState { QUEUED, RUNNING, DONE, FAILED, CANCELLED }
+
+    public record SubredditProgress(
+            String subreddit,
+            RunState state,
+            int ideasFound,
+            long elapsedMs,
+            String error,
+            String startedByJob,
+            Map<String, Long> stageMs
+    ) {
+    }
+}
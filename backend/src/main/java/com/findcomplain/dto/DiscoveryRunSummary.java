@@ -0,0 +1,52 @@
+package com.findcomplain.dto;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * discovery 1회 실행 결과.
+ * subredditTime은 각 서브레딧 처리 시간의 합(순차 실행했을 때의 추정치)이고,
+ * wallClock과의 차이가 병렬 실행으로 절약한 시간이다.
+ */
+public record DiscoveryRunSummary(
+        int totalIdeas,
+        List<SubredditResult> subreddits,
+        Duration wallClock,
+        Duration subredditTime
+) {
+
+    public Duration timeSaved() {
+        Duration saved = subredditTime.minus(wallClock);
+        return saved.isNegative() ? Duration.ZERO : saved;
+    }
+
+    public long failedCount() {
+        return subreddits.stream().filter(r -> r.error() != null).count();
+    }
+
+    // 모든 서브레딧의 단계별 소요 시간 합 (ms)
+    public Map<String, Long> stageMillis() {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (SubredditResult result : subreddits) {
+            result.pipeline().stageMillis().forEach((stage, millis) -> totals.merge(stage, millis, Long::sum));
+        }
+        return totals;
+    }
+
+    public Map<String, Long> postCounts() {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (SubredditResult result : subreddits) {
+            result.pipeline().posts().forEach((outcome, count) -> totals.merge(outcome, count, Long::sum));
+        }
+        return totals;
+    }
+
+    /**
+     * pipeline은 이 실행 동안의 단계별 소요 시간과 게시물 수 ({@link PipelineSnapshot#since}).
+     */
+    public record SubredditResult(String subreddit, int ideasFound, Duration elapsed, String error,
+                                  PipelineSnapshot pipeline) {
+    }
+}
@@ -0,0 +1,4 @@
+package com.findcomplain.dto;
+
+public record IdeaContent(Long id, String content) {
+}
@@ -0,0 +1,21 @@
+package com.findcomplain.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 내보내기 대상 조건. null인 항목은 적용하지 않는다.
+ *
+ * @param includeDuplicates near-duplicate(canonical_idea_id가 있는 행)도 포함
+ * @param includeContent    원문 본문 포함 - 보관된 본문은 행마다 압축을 풀어야 하므로 기본은 뺀다
+ */
+public record IdeaExportFilter(
+        String difficulty,
+        Integer minViability,
+        String subreddit,
+        Boolean bookmarked,
+        LocalDateTime analyzedFrom,
+        LocalDateTime analyzedTo,
+        boolean includeDuplicates,
+        boolean includeContent
+) {
+}
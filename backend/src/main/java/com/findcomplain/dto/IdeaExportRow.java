@@ -0,0 +1,44 @@
+package com.findcomplain.dto;
+
+import java.lang.reflect.RecordComponent;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 내보내기 한 행. NDJSON은 필드 이름 그대로, CSV는 {@link #COLUMNS} 순서로 쓴다.
+ */
+public record IdeaExportRow(
+        Long id,
+        String redditPostId,
+        String subreddit,
+        String originalTitle,
+        String originalContent,
+        String author,
+        Integer score,
+        String appName,
+        String problemSummary,
+        String proposedSolution,
+        String targetUsers,
+        String keyFeatures,
+        String techStack,
+        String difficulty,
+        Integer viabilityScore,
+        String reasoning,
+        Boolean bookmarked,
+        Long canonicalIdeaId,
+        LocalDateTime redditCreatedAt,
+        LocalDateTime analyzedAt
+) {
+
+    public static final List<String> COLUMNS = Arrays.stream(IdeaExportRow.class.getRecordComponents())
+            .map(RecordComponent::getName)
+            .toList();
+
+    // COLUMNS와 같은 순서
+    public List<Object> values() {
+        return Arrays.asList(id, redditPostId, subreddit, originalTitle, originalContent, author, score, appName,
+                problemSummary, proposedSolution, targetUsers, keyFeatures, techStack, difficulty, viabilityScore,
+                reasoning, bookmarked, canonicalIdeaId, redditCreatedAt, analyzedAt);
+    }
+}
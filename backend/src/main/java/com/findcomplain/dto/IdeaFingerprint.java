@@ -0,0 +1,4 @@
+package com.findcomplain.dto;
+
+public record IdeaFingerprint(Long id, Long simhash) {
+}
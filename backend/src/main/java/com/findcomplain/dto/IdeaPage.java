@@ -0,0 +1,9 @@
+package com.findcomplain.dto;
+
+import java.util.List;
+
+/**
+ * keyset 페이지. nextCursor가 null이면 마지막 페이지다.
+ */
+public record IdeaPage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,7 @@
+package com.findcomplain.dto;
+
+/**
+ * 새 아이디어가 저장될 때 발행되는 애플리케이션 이벤트 (near-duplicate 연결은 제외).
+ */
+public record IdeaSavedEvent(String subreddit, AppIdeaSummary idea) {
+}
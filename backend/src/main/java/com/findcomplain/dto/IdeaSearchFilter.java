@@ -0,0 +1,7 @@
+package com.findcomplain.dto;
+
+/**
+ * 검색 결과에 추가로 거는 조건. null인 항목은 적용하지 않는다.
+ */
+public record IdeaSearchFilter(String difficulty, Integer minViability, String subreddit) {
+}
@@ -0,0 +1,13 @@
+package com.findcomplain.dto;
+
+/**
+ * 검색 결과 한 건. 하이라이트는 일치한 단어를 &lt;mark&gt;...&lt;/mark&gt;로 감싼 발췌문이다.
+ */
+public record IdeaSearchHit(
+        AppIdeaSummary idea,
+        float rank,
+        String appNameHighlight,
+        String titleHighlight,
+        String problemSummaryHighlight
+) {
+}
@@ -0,0 +1,29 @@
+package com.findcomplain.dto;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 한 서브레딧의 누적 파이프라인 지표. 실행 전후 스냅샷의 차이가 그 실행의 단계별 소요 시간과 게시물 수다.
+ * 같은 서브레딧은 동시에 한 실행만 돌기 때문에 차이가 다른 실행과 섞이지 않는다.
+ */
+public record PipelineSnapshot(Map<String, Duration> stageTime, Map<String, Long> posts) {
+
+    public static final PipelineSnapshot EMPTY = new PipelineSnapshot(Map.of(), Map.of());
+
+    public PipelineSnapshot since(PipelineSnapshot before) {
+        Map<String, Duration> stages = new LinkedHashMap<>();
+        stageTime.forEach((stage, total) ->
+                stages.put(stage, total.minus(before.stageTime().getOrDefault(stage, Duration.ZERO))));
+        Map<String, Long> counts = new LinkedHashMap<>();
+        posts.forEach((outcome, total) -> counts.put(outcome, total - before.posts().getOrDefault(outcome, 0L)));
+        return new PipelineSnapshot(stages, counts);
+    }
+
+    public Map<String, Long> stageMillis() {
+        Map<String, Long> millis = new LinkedHashMap<>();
+        stageTime.forEach((stage, total) -> millis.put(stage, total.toMillis()));
+        return millis;
+    }
+}
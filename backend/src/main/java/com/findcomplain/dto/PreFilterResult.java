@@ -0,0 +1,13 @@
+package com.findcomplain.dto;
+
+import java.util.List;
+
+/**
+ * 사전 필터 평가 결과. shadow는 점수가 낮지만 정확도 측정을 위해 LLM으로 보내는 게시물이다.
+ */
+public record PreFilterResult(double score, boolean passed, boolean shadow, List<String> matchedPhrases) {
+
+    public boolean sendToLlm() {
+        return passed || shadow;
+    }
+}
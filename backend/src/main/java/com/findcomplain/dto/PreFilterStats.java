@@ -0,0 +1,31 @@
+package com.findcomplain.dto;
+
+/**
+ * 사전 필터와 LLM 판정 비교.
+ * precision: 통과한 게시물 중 LLM도 viable로 판정한 비율.
+ * shadowMissRate: 탈락했지만 샘플로 LLM에 보낸 게시물 중 LLM이 viable로 판정한 비율 (놓친 비율 추정치).
+ */
+public record PreFilterStats(
+        double threshold,
+        long evaluated,
+        long passed,
+        long rejected,
+        long passedLlmViable,
+        long passedLlmNotViable,
+        long shadowSampled,
+        long shadowLlmViable
+) {
+
+    public double precision() {
+        long judged = passedLlmViable + passedLlmNotViable;
+        return judged == 0 ? 0 : (double) passedLlmViable / judged;
+    }
+
+    public double shadowMissRate() {
+        return shadowSampled == 0 ? 0 : (double) shadowLlmViable / shadowSampled;
+    }
+
+    public double rejectionRate() {
+        return evaluated == 0 ? 0 : (double) rejected / evaluated;
+    }
+}
@@ -0,0 +1,9 @@
+package com.findcomplain.dto;
+
+import java.util.List;
+
+/**
+ * Reddit listing 한 페이지. after는 다음 페이지 커서이며 마지막 페이지면 null이다.
+ */
+public record RedditListing(List<RedditPost> posts, String after) {
+}
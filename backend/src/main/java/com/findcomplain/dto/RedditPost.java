@@ -16,7 +16,9 @@ public class RedditPost {
     private String author;
     private int score;
     private Instant createdUtc;
+    // 점수 상위 댓글과 전체 댓글의 수요 신호 (LLM 후보 게시물에만 채워진다)
     private List<RedditComment> comments;
+    private CommentDemand commentDemand;
 
     @Data
     @Builder
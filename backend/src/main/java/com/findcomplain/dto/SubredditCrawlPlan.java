@@ -0,0 +1,22 @@
+package com.findcomplain.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 서브레딧 하나의 크롤링 계획. 하루 게시물 예산을 아이디어 수율에 비례해 나눈 결과.
+ */
+public record SubredditCrawlPlan(
+        String subreddit,
+        double ideaYield,
+        double postsPerHour,
+        int dailyPosts,
+        int fetchDepth,
+        Duration crawlInterval,
+        Instant lastCrawledAt,
+        Instant nextCrawlAt
+) {
+    public boolean isDue(Instant now) {
+        return nextCrawlAt == null || !nextCrawlAt.isAfter(now);
+    }
+}
@@ -0,0 +1,11 @@
+package com.findcomplain.dto;
+
+/**
+ * 서브레딧 크롤링 단계(가져와서 큐에 넣기)가 끝났을 때 발행되는 이벤트 (적응형 크롤 스케줄 통계용).
+ * 아이디어 수는 분석이 끝나야 알 수 있고 다른 인스턴스가 저장할 수도 있으므로 여기에 담지 않는다 - {@link IdeaSavedEvent}로 센다.
+ *
+ * @param postsFetched 이번에 가져온 게시물 전체 (이전 크롤링이 남긴 빈 구간을 이어서 가져온 것 포함)
+ * @param newPosts     그 중 지난 크롤링 이후에 올라온 게시물 - 게시 속도는 이것으로 잰다
+ */
+public record SubredditScannedEvent(String subreddit, int postsRequested, long postsFetched, long newPosts) {
+}
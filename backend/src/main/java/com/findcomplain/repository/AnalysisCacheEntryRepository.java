@@ -0,0 +1,20 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.AnalysisCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface AnalysisCacheEntryRepository extends JpaRepository<AnalysisCacheEntry, String>,
+        AnalysisCacheEntryRepositoryCustom {
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AnalysisCacheEntry e WHERE e.createdAt < :cutoff")
+    int deleteExpired(LocalDateTime cutoff);
+}
@@ -0,0 +1,13 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.AnalysisCacheEntry;
+
+import java.util.List;
+
+public interface AnalysisCacheEntryRepositoryCustom {
+
+    /**
+     * 캐시 항목들을 배치 한 번으로 저장한다. 같은 키가 있으면 덮어쓴다.
+     */
+    void upsertAll(List<AnalysisCacheEntry> entries);
+}
@@ -0,0 +1,35 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.AnalysisCacheEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class AnalysisCacheEntryRepositoryImpl implements AnalysisCacheEntryRepositoryCustom {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO llm_analysis_cache (cache_key, model, prompt_version, result_json, created_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (cache_key) DO UPDATE
+                SET result_json = EXCLUDED.result_json, created_at = EXCLUDED.created_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertAll(List<AnalysisCacheEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setString(1, entry.getCacheKey());
+            ps.setString(2, entry.getModel());
+            ps.setString(3, entry.getPromptVersion());
+            ps.setString(4, entry.getResultJson());
+            ps.setTimestamp(5, Timestamp.valueOf(entry.getCreatedAt()));
+        });
+    }
+}
@@ -1,26 +1,61 @@
 package com.findcomplain.repository;
 
 import com.findcomplain.domain.AppIdea;
+import com.findcomplain.dto.AppIdeaSummary;
+import com.findcomplain.dto.IdeaFingerprint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
-public interface AppIdeaRepository extends JpaRepository<AppIdea, Long> {
+public interface AppIdeaRepository extends JpaRepository<AppIdea, Long>, AppIdeaRepositoryCustom {
 
-    boolean existsByRedditPostId(String redditPostId);
+    // 목록용 projection - 큰 TEXT 컬럼은 SELECT 하지 않는다
+    String SUMMARY_SELECT = "SELECT new com.findcomplain.dto.AppIdeaSummary(a.id, a.redditPostId, a.subreddit, "
+            + "a.originalTitle, a.author, a.score, a.appName, a.problemSummary, a.targetUsers, a.keyFeatures, "
+            + "a.techStack, a.difficulty, a.viabilityScore, a.bookmarked, a.redditCreatedAt, a.analyzedAt) "
+            + "FROM AppIdea a ";
+
+    String RECENT_ORDER = " ORDER BY a.analyzedAt DESC, a.id DESC";
+    String TOP_ORDER = " ORDER BY a.viabilityScore DESC, a.id DESC";
+
+    // 한 페이지 분량의 게시물 중 이미 저장된 것을 한 번의 쿼리로 조회
+    @Query("SELECT a.redditPostId FROM AppIdea a WHERE a.redditPostId IN :redditPostIds")
+    Set<String> findExistingRedditPostIds(Collection<String> redditPostIds);
 
     List<AppIdea> findBySubreddit(String subreddit);
 
-    List<AppIdea> findByBookmarkedTrue();
+    // keyset 페이지네이션: 첫 페이지와 커서 이후 페이지를 분리해서 (정렬키, id) 인덱스를 그대로 타게 한다
+    @Query(SUMMARY_SELECT + "WHERE a.canonicalIdeaId IS NULL" + RECENT_ORDER)
+    List<AppIdeaSummary> findRecentSummaries(Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.canonicalIdeaId IS NULL AND (a.analyzedAt, a.id) < (:analyzedAt, :id)"
+            + RECENT_ORDER)
+    List<AppIdeaSummary> findRecentSummariesAfter(LocalDateTime analyzedAt, Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.canonicalIdeaId IS NULL AND a.viabilityScore IS NOT NULL" + TOP_ORDER)
+    List<AppIdeaSummary> findTopSummaries(Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.canonicalIdeaId IS NULL AND a.viabilityScore IS NOT NULL "
+            + "AND (a.viabilityScore, a.id) < (:viabilityScore, :id)" + TOP_ORDER)
+    List<AppIdeaSummary> findTopSummariesAfter(Integer viabilityScore, Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE a.bookmarked = true" + RECENT_ORDER)
+    List<AppIdeaSummary> findBookmarkedSummaries(Limit limit);
 
-    @Query("SELECT a FROM AppIdea a ORDER BY a.viabilityScore DESC")
-    List<AppIdea> findTopByViability();
+    @Query(SUMMARY_SELECT + "WHERE a.bookmarked = true AND (a.analyzedAt, a.id) < (:analyzedAt, :id)" + RECENT_ORDER)
+    List<AppIdeaSummary> findBookmarkedSummariesAfter(LocalDateTime analyzedAt, Long id, Limit limit);
 
-    @Query("SELECT a FROM AppIdea a ORDER BY a.analyzedAt DESC")
-    List<AppIdea> findRecentIdeas();
+    // near-duplicate 인덱스 적재용 - 원본 아이디어의 지문만
+    @Query("SELECT new com.findcomplain.dto.IdeaFingerprint(a.id, a.simhash) FROM AppIdea a "
+            + "WHERE a.simhash IS NOT NULL AND a.canonicalIdeaId IS NULL AND a.analyzedAt >= :since")
+    List<IdeaFingerprint> findCanonicalFingerprintsSince(LocalDateTime since);
 
     @Query("SELECT a FROM AppIdea a WHERE a.difficulty = :difficulty ORDER BY a.viabilityScore DESC")
     List<AppIdea> findByDifficultyOrderByViability(String difficulty);
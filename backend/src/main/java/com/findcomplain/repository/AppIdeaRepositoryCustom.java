@@ -0,0 +1,48 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.AppIdea;
+import com.findcomplain.domain.IdeaContentArchive;
+import com.findcomplain.dto.IdeaContent;
+import com.findcomplain.dto.IdeaExportFilter;
+import com.findcomplain.dto.IdeaExportRow;
+import com.findcomplain.dto.IdeaSearchFilter;
+import com.findcomplain.dto.IdeaSearchHit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public interface AppIdeaRepositoryCustom {
+
+    /**
+     * 한 번의 INSERT ... ON CONFLICT DO NOTHING 으로 여러 아이디어를 저장한다.
+     * 다른 실행이 먼저 저장한 reddit_post_id는 건너뛰며, 실제로 저장된 아이디어만 반환한다.
+     */
+    List<AppIdea> insertIgnoringDuplicates(List<AppIdea> ideas);
+
+    /**
+     * search_vector GIN 인덱스로 전문 검색한다. 관련도(ts_rank_cd) 내림차순, 같으면 id 내림차순이며
+     * afterRank/afterId가 있으면 그 다음 행부터 limit개를 돌려준다. 하이라이트는 이 페이지의 행에만 계산한다.
+     */
+    List<IdeaSearchHit> search(String query, IdeaSearchFilter filter, Float afterRank, Long afterId, int limit);
+
+    /**
+     * analyzedBefore 이전에 분석됐고 본문이 아직 app_ideas에 있는 아이디어를 id 순으로 limit개 잠근다.
+     * 호출한 트랜잭션이 끝날 때까지 다른 트랜잭션이 잠근 행은 건너뛴다.
+     */
+    List<IdeaContent> lockArchivableContent(LocalDateTime analyzedBefore, int limit);
+
+    // 본문을 보관했다고 표시하고 app_ideas에서는 지운다
+    int markContentArchived(List<Long> ids);
+
+    /**
+     * 조건에 맞는 아이디어를 id 순으로 한 행씩 sink에 넘긴다. fetchSize 행씩 서버 쪽 커서로 읽으므로
+     * 트랜잭션 안에서 불러야 하고, 그 동안 커넥션 하나를 쥐고 있다.
+     * 보관된 본문은 archivedContent로 풀어서 채운다 (filter.includeContent()일 때만).
+     *
+     * @return 넘긴 행 수
+     */
+    long streamForExport(IdeaExportFilter filter, int fetchSize,
+                         Function<IdeaContentArchive, String> archivedContent, Consumer<IdeaExportRow> sink);
+}
@@ -0,0 +1,356 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.AppIdea;
+import com.findcomplain.domain.IdeaContentArchive;
+import com.findcomplain.domain.ListingVersion;
+import com.findcomplain.dto.AppIdeaSummary;
+import com.findcomplain.dto.IdeaContent;
+import com.findcomplain.dto.IdeaExportFilter;
+import com.findcomplain.dto.IdeaExportRow;
+import com.findcomplain.dto.IdeaSearchFilter;
+import com.findcomplain.dto.IdeaSearchHit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+public class AppIdeaRepositoryImpl implements AppIdeaRepositoryCustom {
+
+    // 컬럼별 배열을 unnest 해서 한 문장으로 insert - 행 수와 상관없이 round-trip 1회
+    // 한 행이라도 들어가면 같은 문장에서 listing_version을 올린다 (모든 인스턴스의 목록 캐시가 버려진다)
+    private static final String INSERT_SQL = """
+            WITH inserted AS (
+            INSERT INTO app_ideas (id, reddit_post_id, subreddit, original_title, original_content, author, score,
+                                   app_name, problem_summary, proposed_solution, target_users, key_features,
+                                   tech_stack, difficulty, viability_score, reasoning, bookmarked,
+                                   reddit_created_at, analyzed_at, simhash, canonical_idea_id)
+            SELECT * FROM unnest(?::bigint[], ?::varchar[], ?::varchar[], ?::text[], ?::text[], ?::varchar[],
+                                 ?::int[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[],
+                                 ?::varchar[], ?::int[], ?::text[], ?::boolean[], ?::timestamp[], ?::timestamp[],
+                                 ?::bigint[], ?::bigint[])
+            ON CONFLICT (reddit_post_id) DO NOTHING
+            RETURNING id
+            ), bumped AS (
+            INSERT INTO listing_version (id, version)
+            SELECT\s""" + ListingVersion.SINGLETON_ID + """
+            , (extract(epoch FROM clock_timestamp()) * 1000)::bigint WHERE EXISTS (SELECT 1 FROM inserted)
+            ON CONFLICT (id) DO UPDATE SET version = listing_version.version + 1
+            )
+            SELECT id FROM inserted
+            """;
+
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval('app_ideas_seq') FROM generate_series(1, ?)";
+
+    // 검색어는 english(어간)와 simple(원형) 두 설정으로 해석해서 OR - 색인 쪽 설정 구성과 맞춘다
+    private static final String SEARCH_SQL = """
+            WITH q AS (
+                SELECT websearch_to_tsquery('english', ?) || websearch_to_tsquery('simple', ?) AS query
+            ), hits AS (
+                SELECT a.id, ts_rank_cd(a.search_vector, q.query) AS rank
+                FROM app_ideas a, q
+                WHERE a.search_vector @@ q.query
+                  AND a.canonical_idea_id IS NULL
+                  %s
+                ORDER BY rank DESC, a.id DESC
+                LIMIT ?
+            )
+            SELECT a.id, a.reddit_post_id, a.subreddit, a.original_title, a.author, a.score, a.app_name,
+                   a.problem_summary, a.target_users, a.key_features, a.tech_stack, a.difficulty,
+                   a.viability_score, a.bookmarked, a.reddit_created_at, a.analyzed_at, h.rank,
+                   ts_headline('english', coalesce(a.app_name, ''), q.query, '%s') AS app_name_highlight,
+                   ts_headline('english', coalesce(a.original_title, ''), q.query, '%s') AS title_highlight,
+                   ts_headline('simple', coalesce(a.problem_summary, ''), q.query, '%s') AS problem_summary_highlight
+            FROM hits h
+            JOIN app_ideas a ON a.id = h.id
+            CROSS JOIN q
+            ORDER BY h.rank DESC, h.id DESC
+            """;
+
+    private static final String ARCHIVABLE_SQL = """
+            SELECT id, original_content FROM app_ideas
+            WHERE analyzed_at < ? AND original_content IS NOT NULL AND content_archived IS NOT TRUE
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String MARK_ARCHIVED_SQL =
+            "UPDATE app_ideas SET original_content = NULL, content_archived = TRUE WHERE id = ANY(?)";
+
+    private static final String EXPORT_SQL = """
+            SELECT a.id, a.reddit_post_id, a.subreddit, a.original_title, %s, a.author, a.score, a.app_name,
+                   a.problem_summary, a.proposed_solution, a.target_users, a.key_features, a.tech_stack,
+                   a.difficulty, a.viability_score, a.reasoning, a.bookmarked, a.canonical_idea_id,
+                   a.reddit_created_at, a.analyzed_at
+            FROM app_ideas a
+            %s
+            WHERE TRUE %s
+            ORDER BY a.id
+            """;
+
+    private static final String EXPORT_CONTENT_COLUMNS =
+            "a.original_content, c.dictionary_version, c.compressed, c.original_bytes";
+
+    private static final String EXPORT_CONTENT_JOIN = "LEFT JOIN idea_content_archive c ON c.idea_id = a.id";
+
+    private static final String HEADLINE_OPTIONS = "StartSel=<mark>, StopSel=</mark>, MaxWords=30, MinWords=10";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<AppIdea> insertIgnoringDuplicates(List<AppIdea> ideas) {
+        if (ideas.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = allocateIds(ideas.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ideas.size(); i++) {
+            AppIdea idea = ideas.get(i);
+            idea.setId(ids.get(i));
+            idea.setAnalyzedAt(now);
+            idea.setBookmarked(false);
+        }
+
+        Set<Long> inserted = new HashSet<>(jdbcTemplate.query(
+                con -> prepareInsert(con, ideas),
+                (rs, rowNum) -> rs.getLong(1)));
+
+        return ideas.stream()
+                .filter(idea -> inserted.contains(idea.getId()))
+                .toList();
+    }
+
+    // Hibernate pooled optimizer와 같은 방식: 시퀀스 값 hi 하나가 (hi - 블록크기, hi] 범위를 예약한다
+    private List<Long> allocateIds(int count) {
+        int blocks = (count + AppIdea.ID_ALLOCATION_SIZE - 1) / AppIdea.ID_ALLOCATION_SIZE;
+        List<Long> his = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, blocks);
+
+        List<Long> ids = new ArrayList<>(blocks * AppIdea.ID_ALLOCATION_SIZE);
+        for (long hi : his) {
+            for (long id = Math.max(1, hi - AppIdea.ID_ALLOCATION_SIZE + 1); id <= hi; id++) {
+                ids.add(id);
+            }
+        }
+        if (ids.size() < count) {
+            throw new IllegalStateException("Sequence app_ideas_seq returned too few ids");
+        }
+        return ids;
+    }
+
+    private PreparedStatement prepareInsert(Connection con, List<AppIdea> ideas) throws SQLException {
+        int n = ideas.size();
+        Object[][] columns = new Object[21][n];
+        for (int i = 0; i < n; i++) {
+            AppIdea idea = ideas.get(i);
+            columns[0][i] = idea.getId();
+            columns[1][i] = idea.getRedditPostId();
+            columns[2][i] = idea.getSubreddit();
+            columns[3][i] = idea.getOriginalTitle();
+            columns[4][i] = idea.getOriginalContent();
+            columns[5][i] = idea.getAuthor();
+            columns[6][i] = idea.getScore();
+            columns[7][i] = idea.getAppName();
+            columns[8][i] = idea.getProblemSummary();
+            columns[9][i] = idea.getProposedSolution();
+            columns[10][i] = idea.getTargetUsers();
+            columns[11][i] = idea.getKeyFeatures();
+            columns[12][i] = idea.getTechStack();
+            columns[13][i] = idea.getDifficulty();
+            columns[14][i] = idea.getViabilityScore();
+            columns[15][i] = idea.getReasoning();
+            columns[16][i] = idea.getBookmarked();
+            columns[17][i] = toTimestamp(idea.getRedditCreatedAt());
+            columns[18][i] = toTimestamp(idea.getAnalyzedAt());
+            columns[19][i] = idea.getSimhash();
+            columns[20][i] = idea.getCanonicalIdeaId();
+        }
+
+        String[] types = {"int8", "varchar", "varchar", "text", "text", "varchar", "int4", "text", "text", "text",
+                "text", "text", "text", "varchar", "int4", "text", "bool", "timestamp", "timestamp", "int8", "int8"};
+
+        PreparedStatement ps = con.prepareStatement(INSERT_SQL);
+        for (int c = 0; c < columns.length; c++) {
+            Array array = con.createArrayOf(types[c], columns[c]);
+            ps.setArray(c + 1, array);
+        }
+        return ps;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    @Override
+    public List<IdeaContent> lockArchivableContent(LocalDateTime analyzedBefore, int limit) {
+        return jdbcTemplate.query(ARCHIVABLE_SQL,
+                (rs, rowNum) -> new IdeaContent(rs.getLong("id"), rs.getString("original_content")),
+                Timestamp.valueOf(analyzedBefore), limit);
+    }
+
+    @Override
+    public int markContentArchived(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(MARK_ARCHIVED_SQL);
+            ps.setArray(1, con.createArrayOf("int8", ids.toArray()));
+            return ps;
+        });
+    }
+
+    @Override
+    public List<IdeaSearchHit> search(String query, IdeaSearchFilter filter, Float afterRank, Long afterId,
+                                      int limit) {
+        StringBuilder conditions = new StringBuilder();
+        List<Object> params = new ArrayList<>(List.of(query, query));
+        if (filter.difficulty() != null) {
+            conditions.append(" AND a.difficulty = ?");
+            params.add(filter.difficulty());
+        }
+        if (filter.minViability() != null) {
+            conditions.append(" AND a.viability_score >= ?");
+            params.add(filter.minViability());
+        }
+        if (filter.subreddit() != null) {
+            conditions.append(" AND lower(a.subreddit) = lower(?)");
+            params.add(filter.subreddit());
+        }
+        if (afterRank != null && afterId != null) {
+            conditions.append(" AND (ts_rank_cd(a.search_vector, q.query), a.id) < (CAST(? AS real), ?)");
+            params.add(afterRank);
+            params.add(afterId);
+        }
+        params.add(limit);
+
+        String sql = SEARCH_SQL.formatted(conditions, HEADLINE_OPTIONS, HEADLINE_OPTIONS, HEADLINE_OPTIONS);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new IdeaSearchHit(
+                new AppIdeaSummary(
+                        rs.getLong("id"),
+                        rs.getString("reddit_post_id"),
+                        rs.getString("subreddit"),
+                        rs.getString("original_title"),
+                        rs.getString("author"),
+                        rs.getObject("score", Integer.class),
+                        rs.getString("app_name"),
+                        rs.getString("problem_summary"),
+                        rs.getString("target_users"),
+                        rs.getString("key_features"),
+                        rs.getString("tech_stack"),
+                        rs.getString("difficulty"),
+                        rs.getObject("viability_score", Integer.class),
+                        rs.getObject("bookmarked", Boolean.class),
+                        toLocalDateTime(rs.getTimestamp("reddit_created_at")),
+                        toLocalDateTime(rs.getTimestamp("analyzed_at"))),
+                rs.getFloat("rank"),
+                rs.getString("app_name_highlight"),
+                rs.getString("title_highlight"),
+                rs.getString("problem_summary_highlight")
+        ), params.toArray());
+    }
+
+    @Override
+    public long streamForExport(IdeaExportFilter filter, int fetchSize,
+                                Function<IdeaContentArchive, String> archivedContent, Consumer<IdeaExportRow> sink) {
+        StringBuilder conditions = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        if (!filter.includeDuplicates()) {
+            conditions.append(" AND a.canonical_idea_id IS NULL");
+        }
+        if (filter.difficulty() != null) {
+            conditions.append(" AND a.difficulty = ?");
+            params.add(filter.difficulty());
+        }
+        if (filter.minViability() != null) {
+            conditions.append(" AND a.viability_score >= ?");
+            params.add(filter.minViability());
+        }
+        if (filter.subreddit() != null) {
+            conditions.append(" AND lower(a.subreddit) = lower(?)");
+            params.add(filter.subreddit());
+        }
+        if (filter.bookmarked() != null) {
+            conditions.append(" AND COALESCE(a.bookmarked, FALSE) = ?");
+            params.add(filter.bookmarked());
+        }
+        if (filter.analyzedFrom() != null) {
+            conditions.append(" AND a.analyzed_at >= ?");
+            params.add(Timestamp.valueOf(filter.analyzedFrom()));
+        }
+        if (filter.analyzedTo() != null) {
+            conditions.append(" AND a.analyzed_at < ?");
+            params.add(Timestamp.valueOf(filter.analyzedTo()));
+        }
+
+        String sql = filter.includeContent()
+                ? EXPORT_SQL.formatted(EXPORT_CONTENT_COLUMNS, EXPORT_CONTENT_JOIN, conditions)
+                : EXPORT_SQL.formatted("NULL AS original_content", "", conditions);
+        long[] rows = {0};
+        jdbcTemplate.query(con -> {
+            // 기본값(0)이면 드라이버가 결과 전체를 메모리에 올린다 - autocommit이 꺼져 있어야 커서를 쓴다
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, rs -> {
+            sink.accept(toExportRow(rs, filter.includeContent() ? archivedContent : null));
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    private static IdeaExportRow toExportRow(ResultSet rs, Function<IdeaContentArchive, String> archivedContent)
+            throws SQLException {
+        String content = rs.getString("original_content");
+        if (content == null && archivedContent != null && rs.getBytes("compressed") != null) {
+            content = archivedContent.apply(IdeaContentArchive.builder()
+                    .ideaId(rs.getLong("id"))
+                    .dictionaryVersion(rs.getInt("dictionary_version"))
+                    .compressed(rs.getBytes("compressed"))
+                    .originalBytes(rs.getInt("original_bytes"))
+                    .build());
+        }
+        return new IdeaExportRow(
+                rs.getLong("id"),
+                rs.getString("reddit_post_id"),
+                rs.getString("subreddit"),
+                rs.getString("original_title"),
+                content,
+                rs.getString("author"),
+                rs.getObject("score", Integer.class),
+                rs.getString("app_name"),
+                rs.getString("problem_summary"),
+                rs.getString("proposed_solution"),
+                rs.getString("target_users"),
+                rs.getString("key_features"),
+                rs.getString("tech_stack"),
+                rs.getString("difficulty"),
+                rs.getObject("viability_score", Integer.class),
+                rs.getString("reasoning"),
+                rs.getObject("bookmarked", Boolean.class),
+                rs.getObject("canonical_idea_id", Long.class),
+                toLocalDateTime(rs.getTimestamp("reddit_created_at")),
+                toLocalDateTime(rs.getTimestamp("analyzed_at")));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp value) {
+        return value != null ? value.toLocalDateTime() : null;
+    }
+}
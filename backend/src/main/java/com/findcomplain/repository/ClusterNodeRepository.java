@@ -0,0 +1,36 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.ClusterNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// 시각은 DB의 now()를 쓴다 - 인스턴스 사이의 시계 차이로 살아 있는 노드를 다르게 보지 않도록
+@Repository
+public interface ClusterNodeRepository extends JpaRepository<ClusterNode, String> {
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO cluster_node (node_id, started_at, heartbeat_at) VALUES (:nodeId, now(), now())
+            ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = now()
+            """, nativeQuery = true)
+    void heartbeat(String nodeId);
+
+    @Query(value = """
+            SELECT node_id FROM cluster_node
+            WHERE heartbeat_at > now() - make_interval(secs => :timeoutSeconds)
+            ORDER BY node_id
+            """, nativeQuery = true)
+    List<String> findLiveNodeIds(double timeoutSeconds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM cluster_node WHERE heartbeat_at < now() - make_interval(secs => :olderThanSeconds)",
+            nativeQuery = true)
+    int deleteStale(double olderThanSeconds);
+}
@@ -0,0 +1,13 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.CustomSubreddit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CustomSubredditRepository extends JpaRepository<CustomSubreddit, String> {
+
+    List<CustomSubreddit> findAllByOrderByCreatedAt();
+}
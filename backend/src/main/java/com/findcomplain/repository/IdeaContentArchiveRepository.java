@@ -0,0 +1,10 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.IdeaContentArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdeaContentArchiveRepository extends JpaRepository<IdeaContentArchive, Long>,
+        IdeaContentArchiveRepositoryCustom {
+}
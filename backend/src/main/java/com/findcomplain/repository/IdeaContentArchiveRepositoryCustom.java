@@ -0,0 +1,17 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.IdeaContentArchive;
+import com.findcomplain.dto.ContentArchiveStats;
+
+import java.util.List;
+
+public interface IdeaContentArchiveRepositoryCustom {
+
+    /**
+     * 보관 항목들을 배치 한 번으로 저장한다. 이미 보관된 아이디어는 건너뛴다.
+     */
+    void insertAll(List<IdeaContentArchive> entries);
+
+    // 보관된 본문의 압축 전/후 크기와 아직 app_ideas에 남은 본문 크기
+    ContentArchiveStats stats();
+}
@@ -0,0 +1,53 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.IdeaContentArchive;
+import com.findcomplain.dto.ContentArchiveStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class IdeaContentArchiveRepositoryImpl implements IdeaContentArchiveRepositoryCustom {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO idea_content_archive (idea_id, dictionary_version, compressed, original_bytes, archived_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (idea_id) DO NOTHING
+            """;
+
+    private static final String STATS_SQL = """
+            SELECT (SELECT count(*) FROM idea_content_archive) AS archived_ideas,
+                   (SELECT COALESCE(sum(original_bytes), 0) FROM idea_content_archive) AS original_bytes,
+                   (SELECT COALESCE(sum(octet_length(compressed)), 0) FROM idea_content_archive) AS compressed_bytes,
+                   (SELECT count(*) FROM app_ideas WHERE original_content IS NOT NULL) AS hot_ideas,
+                   (SELECT COALESCE(sum(octet_length(original_content)), 0) FROM app_ideas) AS hot_content_bytes
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<IdeaContentArchive> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getIdeaId());
+            ps.setInt(2, entry.getDictionaryVersion());
+            ps.setBytes(3, entry.getCompressed());
+            ps.setInt(4, entry.getOriginalBytes());
+            ps.setTimestamp(5, Timestamp.valueOf(entry.getArchivedAt()));
+        });
+    }
+
+    @Override
+    public ContentArchiveStats stats() {
+        return jdbcTemplate.queryForObject(STATS_SQL, (rs, rowNum) -> new ContentArchiveStats(
+                rs.getLong("archived_ideas"),
+                rs.getLong("original_bytes"),
+                rs.getLong("compressed_bytes"),
+                rs.getLong("hot_ideas"),
+                rs.getLong("hot_content_bytes")));
+    }
+}
@@ -0,0 +1,30 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.ListingVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface ListingVersionRepository extends JpaRepository<ListingVersion, Integer> {
+
+    // 처음에는 현재 시각(ms)에서 출발한다 - DB를 새로 만들어도 예전에 내준 ETag와 겹치지 않게
+    String BUMP_SQL = "INSERT INTO listing_version (id, version) VALUES (" + ListingVersion.SINGLETON_ID
+            + ", (extract(epoch FROM clock_timestamp()) * 1000)::bigint)"
+            + " ON CONFLICT (id) DO UPDATE SET version = listing_version.version + 1";
+
+    /**
+     * 목록을 바꾸는 쓰기와 같은 트랜잭션에서 호출한다 - 커밋되어야 다른 인스턴스에도 보인다.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = BUMP_SQL, nativeQuery = true)
+    void bump();
+
+    @Query(value = "SELECT version FROM listing_version WHERE id = " + ListingVersion.SINGLETON_ID, nativeQuery = true)
+    Optional<Long> currentVersion();
+}
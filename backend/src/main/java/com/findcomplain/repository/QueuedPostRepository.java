@@ -0,0 +1,9 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.QueuedPost;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QueuedPostRepository extends JpaRepository<QueuedPost, String>, QueuedPostRepositoryCustom {
+}
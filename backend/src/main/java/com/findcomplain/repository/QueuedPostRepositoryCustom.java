@@ -0,0 +1,39 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.QueuedPost;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * post_queue 작업 큐. 시각은 모두 DB의 now()를 쓰므로 인스턴스 사이의 시계 차이와 상관없다.
+ * 완료/재시도/반납은 지금 그 항목을 가져간 워커만 할 수 있다 - visibility timeout이 지나
+ * 다른 워커가 다시 가져간 항목은 건드리지 않는다.
+ */
+public interface QueuedPostRepositoryCustom {
+
+    /**
+     * 한 문장으로 게시물들을 넣는다. 이미 큐에 있는 게시물은 건너뛰며, 실제로 넣은 수를 반환한다.
+     */
+    int enqueue(List<QueuedPost> posts);
+
+    /**
+     * 보이는 항목을 오래 기다린 것부터 limit개 가져간다 (FOR UPDATE SKIP LOCKED - 다른 워커가 잠근 행은 건너뛴다).
+     * 가져간 항목은 visibilityTimeout 동안 보이지 않고 attempts가 1 올라간다. subreddit이 null이면 모든 서브레딧.
+     */
+    List<QueuedPost> claim(String subreddit, String worker, int limit, Duration visibilityTimeout);
+
+    // 처리가 끝났거나 포기한 항목
+    int deleteClaimed(Collection<String> ids, String worker);
+
+    // 항목마다 주어진 시간 뒤에 다시 보이게 한다
+    void retryLater(Map<String, Duration> delays, String worker);
+
+    // 처리하지 않고 돌려준다 - 바로 다시 보이고 시도 횟수도 되돌린다
+    int release(Collection<String> ids, String worker);
+
+    // 지금 가져갈 수 있거나 누군가 처리 중인 항목 수 (재시도를 기다리는 항목은 빼고)
+    long countOutstanding(String subreddit);
+}
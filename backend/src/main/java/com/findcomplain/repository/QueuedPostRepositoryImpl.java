@@ -0,0 +1,173 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.QueuedPost;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class QueuedPostRepositoryImpl implements QueuedPostRepositoryCustom {
+
+    private static final String ENQUEUE_SQL = """
+            INSERT INTO post_queue (reddit_post_id, subreddit, subreddit_name, title, selftext, author, score,
+                                    post_created_utc, attempts, visible_at, claimed_by, enqueued_at)
+            SELECT p.id, p.subreddit, p.name, p.title, p.selftext, p.author, p.score, p.created, 0, now(), NULL, now()
+            FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::text[], ?::text[], ?::varchar[], ?::int[],
+                        ?::timestamptz[])
+                AS p(id, subreddit, name, title, selftext, author, score, created)
+            ON CONFLICT (reddit_post_id) DO NOTHING
+            """;
+
+    // 잠그는 것과 표시하는 것을 한 문장에서 - 가져간 행은 문장이 끝나면 visible_at으로만 보호된다
+    private static final String CLAIM_SQL = """
+            UPDATE post_queue q
+            SET attempts = q.attempts + 1, claimed_by = ?, visible_at = now() + ? * interval '1 millisecond'
+            FROM (SELECT reddit_post_id FROM post_queue
+                  WHERE visible_at <= now()%s
+                  ORDER BY visible_at
+                  LIMIT ?
+                  FOR UPDATE SKIP LOCKED) due
+            WHERE q.reddit_post_id = due.reddit_post_id
+            RETURNING q.reddit_post_id, q.subreddit, q.subreddit_name, q.title, q.selftext, q.author, q.score, q.post_created_utc,
+                      q.attempts, q.visible_at, q.claimed_by, q.enqueued_at
+            """;
+
+    private static final String DELETE_SQL =
+            "DELETE FROM post_queue WHERE reddit_post_id = ANY(?) AND claimed_by = ?";
+
+    private static final String RETRY_SQL = """
+            UPDATE post_queue SET claimed_by = NULL, visible_at = now() + ? * interval '1 millisecond'
+            WHERE reddit_post_id = ? AND claimed_by = ?
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE post_queue SET claimed_by = NULL, visible_at = now(), attempts = GREATEST(attempts - 1, 0)
+            WHERE reddit_post_id = ANY(?) AND claimed_by = ?
+            """;
+
+    private static final String OUTSTANDING_SQL = """
+            SELECT count(*) FROM post_queue
+            WHERE subreddit = ? AND (visible_at <= now() OR claimed_by IS NOT NULL)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int enqueue(List<QueuedPost> posts) {
+        if (posts.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(con -> prepareEnqueue(con, posts));
+    }
+
+    private PreparedStatement prepareEnqueue(Connection con, List<QueuedPost> posts) throws SQLException {
+        int n = posts.size();
+        Object[][] columns = new Object[8][n];
+        for (int i = 0; i < n; i++) {
+            QueuedPost post = posts.get(i);
+            columns[0][i] = post.getRedditPostId();
+            columns[1][i] = post.getSubreddit();
+            columns[2][i] = post.getSubredditName();
+            columns[3][i] = post.getTitle();
+            columns[4][i] = post.getSelftext();
+            columns[5][i] = post.getAuthor();
+            columns[6][i] = post.getScore();
+            columns[7][i] = post.getPostCreatedUtc() != null ? Timestamp.from(post.getPostCreatedUtc()) : null;
+        }
+
+        String[] types = {"varchar", "varchar", "varchar", "text", "text", "varchar", "int4", "timestamptz"};
+
+        PreparedStatement ps = con.prepareStatement(ENQUEUE_SQL);
+        for (int c = 0; c < columns.length; c++) {
+            ps.setArray(c + 1, con.createArrayOf(types[c], columns[c]));
+        }
+        return ps;
+    }
+
+    @Override
+    public List<QueuedPost> claim(String subreddit, String worker, int limit, Duration visibilityTimeout) {
+        List<Object> params = new ArrayList<>(List.of(worker, visibilityTimeout.toMillis()));
+        String condition = "";
+        if (subreddit != null) {
+            condition = " AND subreddit = ?";
+            params.add(subreddit);
+        }
+        params.add(limit);
+        return jdbcTemplate.query(CLAIM_SQL.formatted(condition), (rs, rowNum) -> toQueuedPost(rs), params.toArray());
+    }
+
+    @Override
+    public int deleteClaimed(Collection<String> ids, String worker) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(con -> prepareForIds(con, DELETE_SQL, ids, worker));
+    }
+
+    @Override
+    public void retryLater(Map<String, Duration> delays, String worker) {
+        if (delays.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, Duration>> entries = List.copyOf(delays.entrySet());
+        jdbcTemplate.batchUpdate(RETRY_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getValue().toMillis());
+            ps.setString(2, entry.getKey());
+            ps.setString(3, worker);
+        });
+    }
+
+    @Override
+    public int release(Collection<String> ids, String worker) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(con -> prepareForIds(con, RELEASE_SQL, ids, worker));
+    }
+
+    @Override
+    public long countOutstanding(String subreddit) {
+        Long count = jdbcTemplate.queryForObject(OUTSTANDING_SQL, Long.class, subreddit);
+        return count != null ? count : 0;
+    }
+
+    private static PreparedStatement prepareForIds(Connection con, String sql, Collection<String> ids,
+                                                   String worker) throws SQLException {
+        PreparedStatement ps = con.prepareStatement(sql);
+        ps.setArray(1, con.createArrayOf("varchar", ids.toArray()));
+        ps.setString(2, worker);
+        return ps;
+    }
+
+    private static QueuedPost toQueuedPost(ResultSet rs) throws SQLException {
+        return QueuedPost.builder()
+                .redditPostId(rs.getString("reddit_post_id"))
+                .subreddit(rs.getString("subreddit"))
+                .subredditName(rs.getString("subreddit_name"))
+                .title(rs.getString("title"))
+                .selftext(rs.getString("selftext"))
+                .author(rs.getString("author"))
+                .score(rs.getObject("score", Integer.class))
+                .postCreatedUtc(toInstant(rs.getTimestamp("post_created_utc")))
+                .attempts(rs.getInt("attempts"))
+                .visibleAt(toInstant(rs.getTimestamp("visible_at")))
+                .claimedBy(rs.getString("claimed_by"))
+                .enqueuedAt(toInstant(rs.getTimestamp("enqueued_at")))
+                .build();
+    }
+
+    private static Instant toInstant(Timestamp value) {
+        return value != null ? value.toInstant() : null;
+    }
+}
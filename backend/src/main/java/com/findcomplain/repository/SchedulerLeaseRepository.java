@@ -0,0 +1,31 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * lease가 없거나 만료됐거나 이미 owner의 것이면 owner에게 ttl만큼 준다. 얻었으면 1, 다른 노드가 갖고 있으면 0.
+     * 한 문장이라 두 노드가 동시에 시도해도 한쪽만 얻는다.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO scheduler_lease (name, owner, expires_at)
+            VALUES (:name, :owner, now() + make_interval(secs => :ttlSeconds))
+            ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at
+            WHERE scheduler_lease.expires_at <= now() OR scheduler_lease.owner = EXCLUDED.owner
+            """, nativeQuery = true)
+    int tryAcquire(String name, String owner, double ttlSeconds);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SchedulerLease l WHERE l.owner = :owner")
+    int releaseAll(String owner);
+}
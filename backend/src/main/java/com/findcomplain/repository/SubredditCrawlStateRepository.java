@@ -0,0 +1,28 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.SubredditCrawlState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SubredditCrawlStateRepository extends JpaRepository<SubredditCrawlState, String> {
+
+    // 아이디어는 어느 인스턴스의 워커가 언제 저장하든 저장할 때 바로 더한다 - 읽고 쓰는 사이에 다른 노드의 몫을 덮어쓰지 않게 한 문장으로
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO subreddit_crawl_state (subreddit, yield_ideas, updated_at) VALUES (:subreddit, :ideas, now())
+            ON CONFLICT (subreddit) DO UPDATE
+            SET yield_ideas = COALESCE(subreddit_crawl_state.yield_ideas, 0) + EXCLUDED.yield_ideas
+            """, nativeQuery = true)
+    void creditIdeas(String subreddit, double ideas);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE subreddit_crawl_state SET yield_ideas = COALESCE(yield_ideas, 0) * :decay "
+            + "WHERE subreddit = :subreddit", nativeQuery = true)
+    void decayIdeas(String subreddit, double decay);
+}
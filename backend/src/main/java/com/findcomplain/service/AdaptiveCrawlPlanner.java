@@ -0,0 +1,195 @@
+package com.findcomplain.service;
+
+import com.findcomplain.config.CrawlScheduleConfig;
+import com.findcomplain.domain.SubredditCrawlState;
+import com.findcomplain.dto.IdeaSavedEvent;
+import com.findcomplain.dto.SubredditCrawlPlan;
+import com.findcomplain.dto.SubredditScannedEvent;
+import com.findcomplain.repository.SubredditCrawlStateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 서브레딧별 아이디어 수율(아이디어 / 게시물)과 새 게시물 속도를 기록하고,
+ * 하루 게시물 예산을 수율에 비례해 나눠 서브레딧마다 크롤링 간격과 가져올 게시물 수를 정한다.
+ * 수율이 높은 서브레딧은 자주/깊게, 잘 안 나오는 서브레딧은 하루 한 번 얕게 본다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AdaptiveCrawlPlanner {
+
+    private static final double SECONDS_PER_DAY = Duration.ofDays(1).toSeconds();
+
+    private final CrawlScheduleConfig config;
+    private final SubredditCrawlStateRepository crawlStateRepository;
+
+    @Transactional(readOnly = true)
+    public List<SubredditCrawlPlan> plan(List<String> subreddits) {
+        Map<String, SubredditCrawlState> states = crawlStateRepository.findAllById(
+                        subreddits.stream().map(AdaptiveCrawlPlanner::key).toList())
+                .stream()
+                .collect(Collectors.toMap(SubredditCrawlState::getSubreddit, Function.identity()));
+
+        List<Candidate> candidates = subreddits.stream()
+                .map(subreddit -> new Candidate(subreddit, states.get(key(subreddit))))
+                .toList();
+        allocate(candidates);
+        return candidates.stream().map(Candidate::toPlan).toList();
+    }
+
+    /**
+     * 크롤링을 시작한 서브레딧의 다음 크롤링 시각을 정해둔다.
+     * 실행 중에는 다시 시작되지 않고, 실패하면 이 시각에 재시도된다.
+     */
+    @Transactional
+    public void markStarted(List<SubredditCrawlPlan> plans, Instant now) {
+        for (SubredditCrawlPlan plan : plans) {
+            SubredditCrawlState state = loadOrCreate(plan.subreddit());
+            state.setNextCrawlAt(now.plus(jitter(plan.crawlInterval())));
+            state.setFetchDepth(plan.fetchDepth());
+            crawlStateRepository.save(state);
+        }
+    }
+
+    @EventListener
+    @Transactional
+    public void onSubredditScanned(SubredditScannedEvent event) {
+        Instant now = Instant.now();
+        SubredditCrawlState state = loadOrCreate(event.subreddit());
+
+        // 아이디어 쪽은 onIdeaSaved가 더하고 여기서는 게시물과 같은 비율로 줄이기만 한다
+        state.setYieldPosts(decayed(state.getYieldPosts()) + event.postsFetched());
+
+        // 워터마크 이후의 새 게시물만 가져오므로 (가져온 수 / 지난 크롤링 이후 시간) 이 게시 속도다.
+        // 요청한 만큼 꽉 찼다면 실제 속도는 그 이상이다
+        if (state.getLastCrawledAt() != null) {
+            double hours = Duration.between(state.getLastCrawledAt(), now).toSeconds() / 3600.0;
+            if (hours > 0.01) {
+                double observed = event.newPosts() / hours;
+                Double previous = state.getPostsPerHour();
+                double smoothed = previous == null ? observed
+                        : previous + config.getVelocitySmoothing() * (observed - previous);
+                boolean saturated = event.newPosts() >= event.postsRequested();
+                state.setPostsPerHour(saturated ? Math.max(smoothed, observed) : smoothed);
+            }
+        }
+        state.setLastCrawledAt(now);
+        crawlStateRepository.saveAndFlush(state);
+        crawlStateRepository.decayIdeas(state.getSubreddit(), config.getYieldDecay());
+        log.debug("Updated crawl stats of r/{}: {} posts, {} posts/h", event.subreddit(),
+                state.getYieldPosts(), state.getPostsPerHour());
+    }
+
+    // 백그라운드 워커가 저장한 아이디어도, 다른 인스턴스가 저장한 아이디어도 저장한 노드에서 한 번씩 센다
+    @EventListener
+    public void onIdeaSaved(IdeaSavedEvent event) {
+        try {
+            crawlStateRepository.creditIdeas(key(event.subreddit()), 1);
+        } catch (DataAccessException e) {
+            // 아이디어는 이미 저장됐다 - 통계 하나 놓치는 것으로 끝낸다
+            log.warn("Failed to credit saved idea to r/{}: {}", event.subreddit(), e.getMessage());
+        }
+    }
+
+    // 바닥값(하루 최소 한 번, minFetchDepth)을 먼저 주고 남은 예산을 수율에 비례해 나눈다.
+    // 게시 속도로 정해지는 상한(하루에 올라오는 게시물 수)을 넘는 몫은 나머지에게 다시 나눈다
+    private void allocate(List<Candidate> candidates) {
+        double remaining = config.getDailyPostBudget();
+        List<Candidate> open = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            candidate.daily = candidate.floor;
+            remaining -= candidate.floor;
+            if (candidate.cap > candidate.floor) {
+                open.add(candidate);
+            }
+        }
+
+        while (remaining > 0 && !open.isEmpty()) {
+            double totalWeight = open.stream().mapToDouble(c -> c.yield).sum();
+            boolean capped = false;
+            for (Iterator<Candidate> it = open.iterator(); it.hasNext(); ) {
+                Candidate candidate = it.next();
+                if (candidate.floor + remaining * candidate.yield / totalWeight >= candidate.cap) {
+                    candidate.daily = candidate.cap;
+                    remaining -= candidate.cap - candidate.floor;
+                    it.remove();
+                    capped = true;
+                }
+            }
+            if (!capped) {
+                for (Candidate candidate : open) {
+                    candidate.daily = candidate.floor + remaining * candidate.yield / totalWeight;
+                }
+                break;
+            }
+        }
+    }
+
+    private SubredditCrawlState loadOrCreate(String subreddit) {
+        return crawlStateRepository.findById(key(subreddit))
+                .orElseGet(() -> SubredditCrawlState.builder().subreddit(key(subreddit)).build());
+    }
+
+    private double decayed(Double value) {
+        return value == null ? 0 : value * config.getYieldDecay();
+    }
+
+    private Duration jitter(Duration interval) {
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-1, 1) * config.getIntervalJitter();
+        return Duration.ofSeconds(Math.round(interval.toSeconds() * factor));
+    }
+
+    private static String key(String subreddit) {
+        return subreddit.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private final class Candidate {
+
+        final String subreddit;
+        final SubredditCrawlState state;
+        final double yield;
+        final double postsPerHour;
+        final double floor;
+        final double cap;
+        double daily;
+
+        Candidate(String subreddit, SubredditCrawlState state) {
+            this.subreddit = subreddit;
+            this.state = state;
+            double posts = state != null && state.getYieldPosts() != null ? state.getYieldPosts() : 0;
+            double ideas = state != null && state.getYieldIdeas() != null ? state.getYieldIdeas() : 0;
+            this.yield = (ideas + config.getPriorIdeas()) / (posts + config.getPriorPosts());
+            this.postsPerHour = state != null && state.getPostsPerHour() != null
+                    ? state.getPostsPerHour() : config.getDefaultPostsPerHour();
+            // 최대 간격마다 한 번은 minFetchDepth 만큼 본다
+            this.floor = config.getMinFetchDepth() * SECONDS_PER_DAY / config.getMaxInterval().toSeconds();
+            this.cap = Math.max(floor, postsPerHour * 24 * config.getVelocityHeadroom());
+        }
+
+        SubredditCrawlPlan toPlan() {
+            int depth = (int) Math.round(Math.min(config.getMaxFetchDepth(), daily));
+            depth = Math.clamp(depth, config.getMinFetchDepth(), config.getMaxFetchDepth());
+            Duration interval = Duration.ofSeconds(Math.round(SECONDS_PER_DAY * depth / daily));
+            if (interval.compareTo(config.getMinInterval()) < 0) {
+                interval = config.getMinInterval();
+            } else if (interval.compareTo(config.getMaxInterval()) > 0) {
+                interval = config.getMaxInterval();
+            }
+            return new SubredditCrawlPlan(subreddit, yield, postsPerHour, (int) Math.round(daily), depth, interval,
+                    state != null ? state.getLastCrawledAt() : null,
+                    state != null ? state.getNextCrawlAt() : null);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.findcomplain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findcomplain.config.LlmConfig;
+import com.findcomplain.domain.AnalysisCacheEntry;
+import com.findcomplain.dto.AnalysisCacheStats;
+import com.findcomplain.dto.AppIdeaAnalysisResult;
+import com.findcomplain.dto.RedditPost;
+import com.findcomplain.repository.AnalysisCacheEntryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * 게시물 본문 해시로 LLM 분석 결과를 캐시한다.
+ * 크로스포스트/재업로드는 redditPostId가 달라도 정규화된 제목+본문이 같으면 같은 키가 된다.
+ * 키에 모델명과 프롬프트 버전을 포함하므로 둘 중 하나가 바뀌면 자연히 무효화된다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisCacheService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // 다음 날 같은 시각 전에 풀려야 하고, 인스턴스 사이 시계 차이보다는 길어야 한다
+    private static final String PURGE_LEASE = "analysis-cache.purge";
+    private static final Duration PURGE_LEASE_TTL = Duration.ofHours(1);
+
+    private final LlmConfig llmConfig;
+    private final AnalysisCacheEntryRepository cacheRepository;
+    private final ClusterMembershipService cluster;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong persistentHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // 값은 JSON 문자열 - 히트마다 새 객체로 역직렬화해서 호출자 간에 공유되지 않도록 한다
+    private Cache<String, String> memory;
+
+    @PostConstruct
+    public void init() {
+        memory = Caffeine.newBuilder()
+                .maximumSize(llmConfig.getCache().getMaxSize())
+                .expireAfterWrite(llmConfig.getCache().getTtl())
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return llmConfig.getCache().isEnabled();
+    }
+
+    public String keyFor(RedditPost post, String promptVersion) {
+        String content = normalize(post.getTitle()) + '\u0000' + normalize(post.getSelftext())
+                + '\u0000' + llmConfig.getModel() + '\u0000' + promptVersion;
+        return HexFormat.of().formatHex(sha256(content));
+    }
+
+    /**
+     * 캐시에 있는 게시물의 결과를 게시물 ID별로 반환한다.
+     * 메모리에서 못 찾은 키는 Postgres에서 한 번에 조회한다.
+     */
+    public Map<String, AppIdeaAnalysisResult> getAll(List<RedditPost> posts, String promptVersion) {
+        Map<String, AppIdeaAnalysisResult> results = new HashMap<>();
+        if (!isEnabled() || posts.isEmpty()) {
+            return results;
+        }
+
+        Map<String, List<RedditPost>> pending = new HashMap<>();
+        for (RedditPost post : posts) {
+            String key = keyFor(post, promptVersion);
+            String json = memory.getIfPresent(key);
+            if (json != null) {
+                memoryHits.incrementAndGet();
+                putResult(results, post, json);
+            } else {
+                pending.computeIfAbsent(key, k -> new ArrayList<>()).add(post);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            LocalDateTime cutoff = LocalDateTime.now().minus(llmConfig.getCache().getTtl());
+            for (AnalysisCacheEntry entry : cacheRepository.findAllById(pending.keySet())) {
+                if (entry.getCreatedAt().isBefore(cutoff)) {
+                    continue;
+                }
+                memory.put(entry.getCacheKey(), entry.getResultJson());
+                for (RedditPost post : pending.remove(entry.getCacheKey())) {
+                    persistentHits.incrementAndGet();
+                    putResult(results, post, entry.getResultJson());
+                }
+            }
+            pending.values().forEach(missed -> misses.addAndGet(missed.size()));
+        }
+
+        return results;
+    }
+
+    /**
+     * LLM이 실제로 분석한 결과만 저장한다. mock 결과와, 그 게시물의 postId가 붙지 않은 결과(중단/실패로 채운 빈 결과)는
+     * 저장하지 않는다 - 가짜 "not viable"이 TTL 동안 남으면 같은 게시물을 다시 가져와도 캐시 적중으로 버려진다.
+     */
+    public void putAll(Map<RedditPost, AppIdeaAnalysisResult> analyzed, String promptVersion) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, AnalysisCacheEntry> entries = new HashMap<>();
+        analyzed.forEach((post, result) -> {
+            if (result == null || result.isMock() || !post.getId().equals(result.getPostId())) {
+                return;
+            }
+            try {
+                String key = keyFor(post, promptVersion);
+                entries.put(key, AnalysisCacheEntry.builder()
+                        .cacheKey(key)
+                        .model(llmConfig.getModel())
+                        .promptVersion(promptVersion)
+                        .resultJson(objectMapper.writeValueAsString(result))
+                        .createdAt(now)
+                        .build());
+            } catch (JsonProcessingException e) {
+                log.warn("Failed to serialize analysis result for cache: {}", e.getMessage());
+            }
+        });
+
+        entries.values().forEach(entry -> memory.put(entry.getCacheKey(), entry.getResultJson()));
+        try {
+            cacheRepository.upsertAll(List.copyOf(entries.values()));
+        } catch (Exception e) {
+            // 캐시 저장 실패가 분석 결과 저장을 막으면 안 된다
+            log.warn("Failed to persist {} analysis cache entries: {}", entries.size(), e.getMessage());
+        }
+    }
+
+    public AnalysisCacheStats getStats() {
+        return new AnalysisCacheStats(
+                memoryHits.get(),
+                persistentHits.get(),
+                misses.get(),
+                memory.estimatedSize(),
+                memory.stats().evictionCount());
+    }
+
+    // 매일 새벽 4시 30분에 만료된 캐시 항목 정리 - 모든 인스턴스에서 깨어나지만 lease를 얻은 한 곳만 지운다
+    @Scheduled(cron = "0 30 4 * * *")
+    public void purgeExpired() {
+        if (!cluster.tryAcquireLease(PURGE_LEASE, PURGE_LEASE_TTL)) {
+            return;
+        }
+        int deleted = cacheRepository.deleteExpired(LocalDateTime.now().minus(llmConfig.getCache().getTtl()));
+        if (deleted > 0) {
+            log.info("Purged {} expired analysis cache entries", deleted);
+        }
+    }
+
+    private void putResult(Map<String, AppIdeaAnalysisResult> results, RedditPost post, String json) {
+        try {
+            AppIdeaAnalysisResult result = objectMapper.readValue(json, AppIdeaAnalysisResult.class);
+            result.setPostId(post.getId());
+            results.put(post.getId(), result);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable analysis cache entry: {}", e.getMessage());
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private static byte[] sha256(String content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
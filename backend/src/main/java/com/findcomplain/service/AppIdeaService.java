@@ -1,203 +1,513 @@
 package com.findcomplain.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.findcomplain.config.LlmConfig;
+import com.findcomplain.config.PostQueueConfig;
 import com.findcomplain.domain.AppIdea;
+import com.findcomplain.domain.QueuedPost;
 import com.findcomplain.dto.AppIdeaAnalysisResult;
+import com.findcomplain.dto.AppIdeaSummary;
+import com.findcomplain.dto.CachedIdeaPage;
+import com.findcomplain.dto.CrawlBatch;
+import com.findcomplain.dto.IdeaPage;
+import com.findcomplain.dto.IdeaSavedEvent;
+import com.findcomplain.dto.IdeaSearchFilter;
+import com.findcomplain.dto.IdeaSearchHit;
+import com.findcomplain.dto.PreFilterResult;
 import com.findcomplain.dto.RedditPost;
+import com.findcomplain.dto.SubredditScannedEvent;
 import com.findcomplain.repository.AppIdeaRepository;
-import dev.langchain4j.model.chat.ChatLanguageModel;
-import dev.langchain4j.model.openai.OpenAiChatModel;
-import jakarta.annotation.PostConstruct;
+import com.findcomplain.repository.ListingVersionRepository;
+import com.findcomplain.service.IdeaListingCache.View;
+import com.findcomplain.service.PipelineMetrics.PostOutcome;
+import com.findcomplain.service.PipelineMetrics.Stage;
+import com.findcomplain.support.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AppIdeaService {
 
-    private final LlmConfig llmConfig;
     private final AppIdeaRepository appIdeaRepository;
     private final RedditCrawlerService redditCrawler;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LlmAnalysisService llmAnalysis;
+    private final PostQueueService postQueue;
+    private final PostQueueConfig queueConfig;
+    private final ViabilityPreFilter preFilter;
+    private final NearDuplicateDetector nearDuplicates;
+    private final IdeaListingCache listingCache;
+    private final ListingVersionRepository listingVersions;
+    private final ContentArchiveService contentArchive;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PipelineMetrics metrics;
+
+    // Reddit listing 한 페이지와 같은 크기
+    private static final int PERSIST_PAGE_SIZE = 100;
+
+    private static final int MAX_LIST_PAGE_SIZE = 100;
+
+    /**
+     * 크롤링 단계: 새 게시물을 post_queue에 넣고 watermark를 올린다.
+     * 분석 단계: 백그라운드 워커(다른 인스턴스 포함)와 함께 이 서브레딧의 큐를 비운다.
+     * 반환값은 이 스레드가 직접 저장한 아이디어뿐이다 - 워커가 저장한 것은 {@link IdeaSavedEvent}로만 알린다.
+     */
+    public List<AppIdea> analyzeSubreddit(String subreddit, int limit) {
+        log.info("Analyzing subreddit r/{} for app ideas", subreddit);
 
-    private ChatLanguageModel chatModel;
+        CrawlBatch batch = redditCrawler.fetchPosts(subreddit, null, limit);
+        List<RedditPost> posts = batch.posts();
+        metrics.countPosts(subreddit, PostOutcome.FETCHED, posts.size());
 
-    @PostConstruct
-    public void init() {
-        if (!llmConfig.isMockMode() && llmConfig.getApiKey() != null && !llmConfig.getApiKey().isEmpty()) {
-            chatModel = OpenAiChatModel.builder()
-                    .apiKey(llmConfig.getApiKey())
-                    .modelName(llmConfig.getModel())
-                    .temperature(0.3)
-                    .build();
-            log.info("AppIdeaService: LLM initialized");
+        // 페이지 단위로 중복 조회 1회 + 큐 insert 1회
+        int queued = 0;
+        for (int from = 0; from < posts.size(); from += PERSIST_PAGE_SIZE) {
+            // 작업이 취소되면 남은 페이지는 건너뛰고 watermark도 올리지 않는다 - 다음 실행에서 다시 가져온다
+            checkCancelled(subreddit);
+            queued += enqueuePage(subreddit, posts.subList(from, Math.min(from + PERSIST_PAGE_SIZE, posts.size())));
         }
+        checkCancelled(subreddit);
+        // 큐에 넣은 게시물은 이 실행이 중간에 끝나도 남으므로 분석을 기다리지 않고 watermark를 올린다
+        redditCrawler.advanceWatermark(subreddit, batch);
+        log.debug("Queued {} new posts of r/{}", queued, subreddit);
+        eventPublisher.publishEvent(new SubredditScannedEvent(subreddit, limit, posts.size(), batch.newPosts()));
+
+        List<AppIdea> ideas = drain(subreddit);
+        log.info("Found {} viable app ideas from r/{}", ideas.size(), subreddit);
+        return ideas;
     }
 
-    public List<AppIdea> analyzeSubreddit(String subreddit, int limit) {
-        log.info("Analyzing subreddit r/{} for app ideas", subreddit);
+    /**
+     * 백그라운드 워커용: 서브레딧과 상관없이 보이는 항목을 한 배치 가져와 분석한다.
+     *
+     * @return 가져간 항목이 있었으면 true
+     */
+    public boolean processQueuedBatch() {
+        List<QueuedPost> claimed = postQueue.claim(null);
+        if (claimed.isEmpty()) {
+            return false;
+        }
+        Map<String, List<QueuedPost>> bySubreddit = new LinkedHashMap<>();
+        claimed.forEach(post -> bySubreddit.computeIfAbsent(post.getSubredditName(), s -> new ArrayList<>()).add(post));
+        bySubreddit.forEach((subreddit, batch) -> {
+            try {
+                processClaimed(subreddit, batch);
+            } catch (CancellationException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                log.error("Failed to analyze {} queued posts of r/{}: {}", batch.size(), subreddit, e.getMessage());
+            }
+        });
+        return true;
+    }
 
-        List<RedditPost> posts = redditCrawler.fetchPosts(subreddit, null, limit);
-        List<AppIdea> ideas = new ArrayList<>();
+    private int enqueuePage(String subreddit, List<RedditPost> page) {
+        Set<String> known = metrics.time(Stage.DEDUP_LOOKUP, subreddit, () ->
+                appIdeaRepository.findExistingRedditPostIds(page.stream().map(RedditPost::getId).toList()));
+        metrics.countPosts(subreddit, PostOutcome.KNOWN, known.size());
 
-        for (RedditPost post : posts) {
-            if (appIdeaRepository.existsByRedditPostId(post.getId())) {
-                log.debug("Skipping already analyzed post: {}", post.getId());
+        List<RedditPost> fresh = page.stream().filter(post -> !known.contains(post.getId())).toList();
+        return metrics.time(Stage.ENQUEUE, subreddit, () -> postQueue.enqueue(subreddit, fresh));
+    }
+
+    // 더 가져갈 항목이 없고 다른 워커가 처리 중인 항목도 끝나면 돌아온다 (재시도를 기다리는 항목은 기다리지 않는다)
+    private List<AppIdea> drain(String subreddit) {
+        List<AppIdea> ideas = new ArrayList<>();
+        while (true) {
+            checkCancelled(subreddit);
+            List<QueuedPost> claimed = metrics.time(Stage.QUEUE_CLAIM, subreddit, () -> postQueue.claim(subreddit));
+            if (!claimed.isEmpty()) {
+                ideas.addAll(processClaimed(subreddit, claimed));
                 continue;
             }
-
-            AppIdeaAnalysisResult result = analyzePost(post);
-
-            if (result.isViable() && result.getViabilityScore() >= 5) {
-                AppIdea idea = AppIdea.builder()
-                        .redditPostId(post.getId())
-                        .subreddit(subreddit)
-                        .originalTitle(post.getTitle())
-                        .originalContent(post.getSelftext())
-                        .author(post.getAuthor())
-                        .score(post.getScore())
-                        .appName(result.getAppName())
-                        .problemSummary(result.getProblemSummary())
-                        .proposedSolution(result.getProposedSolution())
-                        .targetUsers(result.getTargetUsers())
-                        .keyFeatures(result.getKeyFeatures())
-                        .techStack(result.getTechStack())
-                        .difficulty(result.getDifficulty())
-                        .viabilityScore(result.getViabilityScore())
-                        .reasoning(result.getReasoning())
-                        .redditCreatedAt(LocalDateTime.ofInstant(post.getCreatedUtc(), ZoneId.systemDefault()))
-                        .build();
-
-                ideas.add(appIdeaRepository.save(idea));
-                log.info("Saved app idea: {} (score: {})", result.getAppName(), result.getViabilityScore());
-            } else {
-                log.debug("Not viable or low score: {}", post.getTitle());
+            if (!postQueue.hasOutstanding(subreddit)) {
+                return ideas;
+            }
+            try {
+                Thread.sleep(queueConfig.getPollInterval());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Analysis of r/" + subreddit + " was cancelled");
             }
         }
-
-        log.info("Found {} viable app ideas from r/{}", ideas.size(), subreddit);
-        return ideas;
     }
 
-    private AppIdeaAnalysisResult analyzePost(RedditPost post) {
-        if (llmConfig.isMockMode() || chatModel == null) {
-            return generateMockAnalysis(post);
+    // 분석이 끝난 항목은 지우고, LLM 분석에 실패한 항목은 mock 결과로 채우지 않고 나중으로 미룬다
+    private List<AppIdea> processClaimed(String subreddit, List<QueuedPost> claimed) {
+        List<String> ids = claimed.stream().map(QueuedPost::getRedditPostId).toList();
+        metrics.countPosts(subreddit, PostOutcome.RETRIED, (int) claimed.stream()
+                .filter(post -> post.getAttempts() > 1)
+                .count());
+
+        PageResult result;
+        try {
+            result = analyzePage(subreddit, claimed.stream().map(PostQueueService::toPost).toList());
+        } catch (RuntimeException e) {
+            withoutInterrupt(() -> {
+                if (e instanceof CancellationException) {
+                    postQueue.release(ids);
+                } else {
+                    postQueue.retryLater(subreddit, claimed);
+                }
+            });
+            throw e;
         }
 
-        return analyzePostWithLlm(post);
+        List<QueuedPost> failed = claimed.stream()
+                .filter(post -> result.failedIds().contains(post.getRedditPostId()))
+                .toList();
+        boolean cancelled = Thread.currentThread().isInterrupted();
+        withoutInterrupt(() -> {
+            // 취소로 끊긴 분석은 실패로 세지 않는다
+            if (cancelled) {
+                postQueue.release(result.failedIds());
+            } else {
+                postQueue.retryLater(subreddit, failed);
+                metrics.countPosts(subreddit, PostOutcome.DEFERRED, failed.size());
+            }
+            postQueue.complete(ids.stream().filter(id -> !result.failedIds().contains(id)).toList());
+        });
+        return result.saved();
     }
 
-    private AppIdeaAnalysisResult analyzePostWithLlm(RedditPost post) {
-        String prompt = String.format("""
-            You are an expert startup advisor and app developer. Analyze this Reddit post to see if it contains a viable app idea.
+    private PageResult analyzePage(String subreddit, List<RedditPost> page) {
+        Set<String> known = metrics.time(Stage.DEDUP_LOOKUP, subreddit, () ->
+                appIdeaRepository.findExistingRedditPostIds(page.stream().map(RedditPost::getId).toList()));
+        metrics.countPosts(subreddit, PostOutcome.KNOWN, known.size());
+
+        List<RedditPost> fresh = new ArrayList<>();
+        for (RedditPost post : page) {
+            if (known.contains(post.getId())) {
+                log.debug("Skipping already analyzed post: {}", post.getId());
+            } else {
+                fresh.add(post);
+            }
+        }
+
+        // 이미 저장된 아이디어와 거의 같은 게시물은 LLM 없이 원본 아이디어에 연결
+        Map<String, Long> fingerprints = new HashMap<>();
+        Map<RedditPost, Long> nearDuplicatesOf = new LinkedHashMap<>();
+        List<RedditPost> originals = new ArrayList<>();
+        metrics.time(Stage.NEAR_DUPLICATE, subreddit, () -> {
+            for (RedditPost post : fresh) {
+                long fingerprint = nearDuplicates.fingerprint(post);
+                fingerprints.put(post.getId(), fingerprint);
+                OptionalLong canonical = nearDuplicates.findCanonical(fingerprint);
+                if (canonical.isPresent()) {
+                    nearDuplicatesOf.put(post, canonical.getAsLong());
+                } else {
+                    originals.add(post);
+                }
+            }
+            return null;
+        });
+        metrics.countPosts(subreddit, PostOutcome.NEAR_DUPLICATE, nearDuplicatesOf.size());
+
+        // 사전 필터에서 명백히 낮은 점수의 게시물은 LLM 호출 없이 탈락 (mock 분석에는 아낄 비용이 없으므로 적용 안 함)
+        Map<String, PreFilterResult> preFiltered = new HashMap<>();
+        List<RedditPost> toAnalyze = new ArrayList<>();
+        metrics.time(Stage.PREFILTER, subreddit, () -> {
+            for (RedditPost post : originals) {
+                if (!llmAnalysis.isLlmAvailable()) {
+                    toAnalyze.add(post);
+                    continue;
+                }
+                PreFilterResult evaluation = preFilter.evaluate(post);
+                preFiltered.put(post.getId(), evaluation);
+                if (evaluation.sendToLlm()) {
+                    toAnalyze.add(post);
+                } else {
+                    log.debug("Pre-filter rejected post {} (score {})", post.getId(), evaluation.score());
+                }
+            }
+            return null;
+        });
+        metrics.countPosts(subreddit, PostOutcome.PREFILTERED, originals.size() - toAnalyze.size());
+        metrics.countPosts(subreddit, PostOutcome.ANALYZED, toAnalyze.size());
+
+        // 댓글의 "나도 필요해요"가 가장 강한 수요 신호 - LLM으로 보낼 게시물에만 가져온다
+        if (llmAnalysis.isLlmAvailable()) {
+            redditCrawler.attachComments(subreddit, toAnalyze);
+        }
+
+        Map<String, AppIdeaAnalysisResult> results = metrics.time(Stage.LLM_ANALYSIS, subreddit,
+                () -> llmAnalysis.analyzeAll(toAnalyze));
 
-            Title: %s
-            Content: %s
-            Subreddit: r/%s
+        Set<String> failedIds = new HashSet<>();
+        toAnalyze.stream()
+                .map(RedditPost::getId)
+                .filter(id -> !results.containsKey(id))
+                .forEach(failedIds::add);
 
-            Evaluate if this post describes:
-            1. A real problem people face
-            2. Something that could be solved with an app/software
-            3. Has potential market demand
+        List<AppIdea> candidates = new ArrayList<>();
+        for (RedditPost post : toAnalyze) {
+            AppIdeaAnalysisResult result = results.get(post.getId());
+            if (result == null) {
+                continue;
+            }
+            PreFilterResult evaluation = preFiltered.get(post.getId());
+            if (evaluation != null) {
+                preFilter.recordVerdict(evaluation, result);
+            }
 
-            Respond ONLY with valid JSON (no markdown):
-            {
-              "isViable": true,
-              "appName": "Suggested App Name",
-              "problemSummary": "Clear description of the problem in Korean",
-              "proposedSolution": "How an app could solve this in Korean",
-              "targetUsers": "Who would use this app in Korean",
-              "keyFeatures": "3-5 key features separated by comma in Korean",
-              "techStack": "Recommended tech stack (e.g., Flutter, React Native, etc.)",
-              "difficulty": "easy/medium/hard",
-              "viabilityScore": 7,
-              "reasoning": "Why this is a good app idea in Korean"
+            if (result.isSaveable()) {
+                AppIdea idea = toAppIdea(subreddit, post, result);
+                idea.setSimhash(fingerprints.get(post.getId()));
+                candidates.add(idea);
+            } else {
+                log.debug("Not viable or low score: {}", post.getTitle());
             }
+        }
+        candidates.addAll(toNearDuplicates(subreddit, nearDuplicatesOf, fingerprints));
+
+        List<AppIdea> saved = metrics.time(Stage.PERSIST, subreddit,
+                () -> appIdeaRepository.insertIgnoringDuplicates(candidates));
+        if (saved.size() < candidates.size()) {
+            log.debug("Skipped {} ideas already saved by a concurrent run", candidates.size() - saved.size());
+        }
 
-            If NOT viable, return:
-            {"isViable":false,"appName":"","problemSummary":"","proposedSolution":"","targetUsers":"","keyFeatures":"","techStack":"","difficulty":"","viabilityScore":0,"reasoning":"Not viable because..."}
+        List<AppIdea> newIdeas = new ArrayList<>();
+        for (AppIdea idea : saved) {
+            if (idea.getCanonicalIdeaId() == null) {
+                newIdeas.add(idea);
+                log.info("Saved app idea: {} (score: {})", idea.getAppName(), idea.getViabilityScore());
+            } else {
+                log.info("Linked near-duplicate post {} to idea {}", idea.getRedditPostId(), idea.getCanonicalIdeaId());
+            }
+        }
+        nearDuplicates.register(newIdeas);
+        metrics.countPosts(subreddit, PostOutcome.SAVED, newIdeas.size());
+        newIdeas.forEach(idea -> eventPublisher.publishEvent(new IdeaSavedEvent(subreddit, AppIdeaSummary.from(idea))));
+        return new PageResult(newIdeas, failedIds);
+    }
 
-            Be strict: only mark as viable if it's a REAL app idea with clear problem and solution.
-            viabilityScore should be 1-10 (10 being most viable)
-            """,
-            post.getTitle(),
-            post.getSelftext().length() > 1000 ? post.getSelftext().substring(0, 1000) : post.getSelftext(),
-            post.getSubreddit());
+    private static void checkCancelled(String subreddit) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Analysis of r/" + subreddit + " was cancelled");
+        }
+    }
 
+    // 인터럽트된 스레드에서도 큐 상태는 남겨야 한다 - 커넥션 풀 대기가 인터럽트로 끊기지 않게 잠시 지운다
+    private static void withoutInterrupt(Runnable action) {
+        boolean interrupted = Thread.interrupted();
         try {
-            String response = chatModel.generate(prompt);
-            log.debug("LLM response for app idea: {}", response);
-            String jsonStr = extractJson(response);
-            return objectMapper.readValue(jsonStr, AppIdeaAnalysisResult.class);
-        } catch (Exception e) {
-            log.error("Failed to parse LLM response: {}", e.getMessage());
-            return generateMockAnalysis(post);
+            action.run();
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
-    private String extractJson(String response) {
-        response = response.replace("```json", "").replace("```", "").trim();
-        int start = response.indexOf("{");
-        int end = response.lastIndexOf("}") + 1;
-        if (start >= 0 && end > start) {
-            return response.substring(start, end);
+    // 원본 아이디어의 분석 결과를 복사한 near-duplicate 행 - 목록에서는 제외된다
+    private List<AppIdea> toNearDuplicates(String subreddit, Map<RedditPost, Long> nearDuplicatesOf,
+                                           Map<String, Long> fingerprints) {
+        if (nearDuplicatesOf.isEmpty()) {
+            return List.of();
         }
-        return response;
+
+        Map<Long, AppIdea> canonicals = new HashMap<>();
+        appIdeaRepository.findAllById(Set.copyOf(nearDuplicatesOf.values()))
+                .forEach(idea -> canonicals.put(idea.getId(), idea));
+
+        List<AppIdea> duplicates = new ArrayList<>();
+        nearDuplicatesOf.forEach((post, canonicalId) -> {
+            AppIdea canonical = canonicals.get(canonicalId);
+            if (canonical == null) {
+                return;
+            }
+            AppIdeaAnalysisResult copied = new AppIdeaAnalysisResult();
+            copied.setAppName(canonical.getAppName());
+            copied.setProblemSummary(canonical.getProblemSummary());
+            copied.setProposedSolution(canonical.getProposedSolution());
+            copied.setTargetUsers(canonical.getTargetUsers());
+            copied.setKeyFeatures(canonical.getKeyFeatures());
+            copied.setTechStack(canonical.getTechStack());
+            copied.setDifficulty(canonical.getDifficulty());
+            copied.setViabilityScore(canonical.getViabilityScore());
+            copied.setReasoning(canonical.getReasoning());
+
+            AppIdea duplicate = toAppIdea(subreddit, post, copied);
+            duplicate.setSimhash(fingerprints.get(post.getId()));
+            duplicate.setCanonicalIdeaId(canonicalId);
+            duplicates.add(duplicate);
+        });
+        return duplicates;
+    }
+
+    private AppIdea toAppIdea(String subreddit, RedditPost post, AppIdeaAnalysisResult result) {
+        return AppIdea.builder()
+                .redditPostId(post.getId())
+                .subreddit(subreddit)
+                .originalTitle(post.getTitle())
+                .originalContent(post.getSelftext())
+                .author(post.getAuthor())
+                .score(post.getScore())
+                .appName(result.getAppName())
+                .problemSummary(result.getProblemSummary())
+                .proposedSolution(result.getProposedSolution())
+                .targetUsers(result.getTargetUsers())
+                .keyFeatures(result.getKeyFeatures())
+                .techStack(result.getTechStack())
+                .difficulty(result.getDifficulty())
+                .viabilityScore(result.getViabilityScore())
+                .reasoning(result.getReasoning())
+                .redditCreatedAt(LocalDateTime.ofInstant(post.getCreatedUtc(), ZoneId.systemDefault()))
+                .build();
+    }
+
+    public CachedIdeaPage getRecentIdeas(String cursor, int size) {
+        return listingCache.get(View.RECENT, cursor, size, () -> loadRecentIdeas(cursor, size));
     }
 
-    private AppIdeaAnalysisResult generateMockAnalysis(RedditPost post) {
-        AppIdeaAnalysisResult result = new AppIdeaAnalysisResult();
+    public CachedIdeaPage getTopIdeas(String cursor, int size) {
+        return listingCache.get(View.TOP, cursor, size, () -> loadTopIdeas(cursor, size));
+    }
 
-        String content = (post.getTitle() + " " + post.getSelftext()).toLowerCase();
-        boolean hasAppPotential = content.contains("app") ||
-                content.contains("wish") ||
-                content.contains("need") ||
-                content.contains("want") ||
-                content.contains("idea") ||
-                content.contains("someone make") ||
-                content.contains("would pay");
+    public CachedIdeaPage getBookmarkedIdeas(String cursor, int size) {
+        return listingCache.get(View.BOOKMARKED, cursor, size, () -> loadBookmarkedIdeas(cursor, size));
+    }
 
-        result.setViable(hasAppPotential);
+    // 목록이 바뀌지 않았으면 조회 없이 304를 돌려줄 수 있도록 현재 버전의 ETag를 노출
+    public String currentListingETag() {
+        return listingCache.currentETag();
+    }
 
-        if (hasAppPotential) {
-            result.setAppName("Mock App for: " + post.getTitle().substring(0, Math.min(30, post.getTitle().length())));
-            result.setProblemSummary("사용자가 겪는 문제에 대한 요약");
-            result.setProposedSolution("앱으로 해결할 수 있는 방안");
-            result.setTargetUsers("일반 사용자");
-            result.setKeyFeatures("기능1, 기능2, 기능3");
-            result.setTechStack("Flutter, Firebase");
-            result.setDifficulty("medium");
-            result.setViabilityScore(6);
-            result.setReasoning("Mock analysis - LLM not available");
+    private IdeaPage<AppIdeaSummary> loadRecentIdeas(String cursor, int size) {
+        Limit limit = pageLimit(size);
+        List<AppIdeaSummary> rows;
+        if (cursor == null) {
+            rows = appIdeaRepository.findRecentSummaries(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = appIdeaRepository.findRecentSummariesAfter(parseTimestamp(after), after.id(), limit);
         }
+        return toPage(rows, limit, idea -> new KeysetCursor(idea.analyzedAt().toString(), idea.id()));
+    }
 
-        return result;
+    private IdeaPage<AppIdeaSummary> loadTopIdeas(String cursor, int size) {
+        Limit limit = pageLimit(size);
+        List<AppIdeaSummary> rows;
+        if (cursor == null) {
+            rows = appIdeaRepository.findTopSummaries(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = appIdeaRepository.findTopSummariesAfter(parseInt(after), after.id(), limit);
+        }
+        return toPage(rows, limit, idea -> new KeysetCursor(idea.viabilityScore().toString(), idea.id()));
     }
 
-    public List<AppIdea> getAllIdeas() {
-        return appIdeaRepository.findRecentIdeas();
+    private IdeaPage<AppIdeaSummary> loadBookmarkedIdeas(String cursor, int size) {
+        Limit limit = pageLimit(size);
+        List<AppIdeaSummary> rows;
+        if (cursor == null) {
+            rows = appIdeaRepository.findBookmarkedSummaries(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            rows = appIdeaRepository.findBookmarkedSummariesAfter(parseTimestamp(after), after.id(), limit);
+        }
+        return toPage(rows, limit, idea -> new KeysetCursor(idea.analyzedAt().toString(), idea.id()));
     }
 
-    public List<AppIdea> getTopIdeas() {
-        return appIdeaRepository.findTopByViability();
+    /**
+     * 전문 검색. 관련도 순 keyset 페이지이며 커서에는 마지막 행의 (rank, id)가 들어간다.
+     */
+    public IdeaPage<IdeaSearchHit> search(String query, IdeaSearchFilter filter, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be empty");
+        }
+        Limit limit = pageLimit(size);
+        Float afterRank = null;
+        Long afterId = null;
+        if (cursor != null) {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            afterRank = parseFloat(after);
+            afterId = after.id();
+        }
+        List<IdeaSearchHit> rows = appIdeaRepository.search(query.trim(), filter, afterRank, afterId, limit.max());
+        return toPage(rows, limit, hit -> new KeysetCursor(Float.toString(hit.rank()), hit.idea().id()));
     }
 
-    public List<AppIdea> getBookmarkedIdeas() {
-        return appIdeaRepository.findByBookmarkedTrue();
+    public Optional<AppIdea> getIdea(Long id) {
+        return appIdeaRepository.findById(id).map(this::withArchivedContent);
     }
 
+    // 북마크 변경과 listing_version 증가를 한 트랜잭션으로 커밋한다
+    @Transactional
     public AppIdea toggleBookmark(Long id) {
         AppIdea idea = appIdeaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Idea not found"));
         idea.setBookmarked(!idea.getBookmarked());
-        return appIdeaRepository.save(idea);
+        AppIdea saved = appIdeaRepository.saveAndFlush(idea);
+        listingVersions.bump();
+        return withArchivedContent(saved);
+    }
+
+    // 보관된 본문은 상세를 돌려줄 때만 풀어서 채운다 (originalContent는 UPDATE 되지 않는 컬럼이라 DB에는 반영되지 않는다)
+    private AppIdea withArchivedContent(AppIdea idea) {
+        if (Boolean.TRUE.equals(idea.getContentArchived()) && idea.getOriginalContent() == null) {
+            idea.setOriginalContent(contentArchive.loadContent(idea.getId()).orElse(null));
+        }
+        return idea;
+    }
+
+    // 다음 페이지 존재 여부를 알기 위해 한 행 더 읽는다
+    private static Limit pageLimit(int size) {
+        return Limit.of(Math.clamp(size, 1, MAX_LIST_PAGE_SIZE) + 1);
+    }
+
+    private static <T> IdeaPage<T> toPage(List<T> rows, Limit limit, Function<T, KeysetCursor> cursorOf) {
+        int size = limit.max() - 1;
+        if (rows.size() <= size) {
+            return new IdeaPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new IdeaPage<>(items, cursorOf.apply(items.get(size - 1)).encode());
+    }
+
+    private static LocalDateTime parseTimestamp(KeysetCursor cursor) {
+        try {
+            return LocalDateTime.parse(cursor.sortKey());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static Float parseFloat(KeysetCursor cursor) {
+        try {
+            return Float.valueOf(cursor.sortKey());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static Integer parseInt(KeysetCursor cursor) {
+        try {
+            return Integer.valueOf(cursor.sortKey());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    // 저장한 새 아이디어와 LLM 분석에 실패한 게시물
+    private record PageResult(List<AppIdea> saved, Set<String> failedIds) {
     }
 }
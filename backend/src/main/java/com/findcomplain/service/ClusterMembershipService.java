@@ -0,0 +1,123 @@
+package com.findcomplain.service;
+
+import com.findcomplain.config.ClusterConfig;
+import com.findcomplain.repository.ClusterNodeRepository;
+import com.findcomplain.repository.SchedulerLeaseRepository;
+import com.findcomplain.support.ConsistentHashRing;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 DB를 쓰는 백엔드 인스턴스들의 목록과 일 나누기.
+ * 노드마다 cluster_node에 heartbeat를 남기고, 살아 있는 노드로 만든 consistent-hash 링으로 서브레딧의 담당 노드를 정한다.
+ * 노드가 들어오거나 빠지면 다음 heartbeat에서 링이 바뀌고 그 노드의 몫만 옮겨 간다.
+ * 링이 바뀌는 사이에는 두 노드가 같은 서브레딧을 담당한다고 볼 수 있으므로, 시작은 {@link #tryAcquireLease}로 한 번 더 막는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClusterMembershipService {
+
+    private final ClusterConfig clusterConfig;
+    private final ClusterNodeRepository clusterNodeRepository;
+    private final SchedulerLeaseRepository leaseRepository;
+
+    // 인스턴스마다 다른 이름 (pid@host/임의값) - 같은 호스트에서 재시작해도 새 노드다
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName() + "/"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    // heartbeat 전용 스레드 - @Scheduled 스레드는 보관/정리 같은 긴 작업과 같이 쓰므로 거기서 밀리면
+    // node-timeout을 넘겨 다른 노드가 이 노드의 서브레딧을 가져간다
+    private final ScheduledExecutorService heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("cluster-heartbeat").daemon().factory());
+
+    private volatile ConsistentHashRing ring;
+
+    @PostConstruct
+    void join() {
+        ring = new ConsistentHashRing(List.of(nodeId), clusterConfig.getVirtualNodes());
+        heartbeat();
+        long interval = clusterConfig.getHeartbeatInterval().toMillis();
+        heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Joined cluster as node {} ({} live nodes)", nodeId, ring.nodes().size());
+    }
+
+    // 종료할 때 목록에서 빠지고 lease를 놓는다 - 남은 노드가 timeout을 기다리지 않고 바로 나눠 갖는다
+    @PreDestroy
+    void leave() {
+        heartbeatExecutor.shutdownNow();
+        try {
+            clusterNodeRepository.deleteById(nodeId);
+            leaseRepository.releaseAll(nodeId);
+        } catch (DataAccessException e) {
+            log.warn("Failed to leave cluster cleanly: {}", e.getMessage());
+        }
+    }
+
+    public void heartbeat() {
+        try {
+            clusterNodeRepository.heartbeat(nodeId);
+            double timeout = seconds(clusterConfig.getNodeTimeout());
+            List<String> live = new ArrayList<>(clusterNodeRepository.findLiveNodeIds(timeout));
+            // 자기 heartbeat가 늦게 보여도 자기는 항상 링에 넣는다
+            if (!live.contains(nodeId)) {
+                live.add(nodeId);
+            }
+            if (!ring.nodes().equals(Set.copyOf(live))) {
+                ring = new ConsistentHashRing(live, clusterConfig.getVirtualNodes());
+                log.info("Cluster membership changed: {} live nodes {}", live.size(), live);
+            }
+            // 오래전에 죽은 노드의 행 정리
+            clusterNodeRepository.deleteStale(timeout * 10);
+        } catch (RuntimeException e) {
+            // DB가 안 보이면 마지막 링을 그대로 쓴다 - 다른 노드도 이 노드를 곧 죽은 것으로 본다.
+            // 예외가 빠져나가면 scheduleWithFixedDelay가 다음 실행을 멈추므로 전부 잡는다
+            log.warn("Cluster heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public int liveNodeCount() {
+        return ring.nodes().size();
+    }
+
+    // 이 노드가 담당하는 서브레딧
+    public boolean owns(String subreddit) {
+        return ring.nodeFor(subreddit.toLowerCase(Locale.ROOT)).equals(nodeId);
+    }
+
+    /**
+     * 클러스터 전체에서 한 노드만 name의 작업을 ttl 동안 실행하게 한다. 이미 이 노드가 갖고 있으면 연장된다.
+     * DB에 닿지 않으면 실행하지 않는다.
+     */
+    public boolean tryAcquireLease(String name, Duration ttl) {
+        try {
+            return leaseRepository.tryAcquire(name, nodeId, seconds(ttl)) > 0;
+        } catch (DataAccessException e) {
+            log.warn("Failed to acquire lease {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,178 @@
+package com.findcomplain.service;
+
+import com.findcomplain.config.ContentArchiveConfig;
+import com.findcomplain.domain.IdeaContentArchive;
+import com.findcomplain.dto.ContentArchiveStats;
+import com.findcomplain.dto.IdeaContent;
+import com.findcomplain.repository.AppIdeaRepository;
+import com.findcomplain.repository.IdeaContentArchiveRepository;
+import com.findcomplain.support.DictionaryCompressor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 오래된 아이디어의 원문 본문을 app_ideas에서 idea_content_archive로 옮기는 cold storage.
+ * 본문은 Reddit 글에 자주 나오는 표현을 모은 사전(compression/reddit-v{n}.dict)으로 Deflate 압축한다.
+ * 대부분의 게시물은 Postgres TOAST 압축 기준(약 2KB)보다 짧아서 app_ideas에서는 압축되지 않은 채 hot 컬럼 옆에 남는다.
+ * 제목은 전문 검색 색인과 목록 요약에 쓰이므로 옮기지 않는다.
+ */
+@Service
+@Slf4j
+public class ContentArchiveService {
+
+    // 새로 압축할 때 쓰는 사전 - 사전을 바꾸면 새 파일을 추가하고 버전을 올린다 (이전 버전은 풀 때 필요하다)
+    static final int DICTIONARY_VERSION = 1;
+
+    private static final String ARCHIVE_LEASE = "content-archive";
+    private static final Duration ARCHIVE_LEASE_TTL = Duration.ofHours(1);
+
+    private final ContentArchiveConfig config;
+    private final AppIdeaRepository appIdeaRepository;
+    private final IdeaContentArchiveRepository archiveRepository;
+    private final ClusterMembershipService cluster;
+    private final PipelineMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService discoveryExecutor;
+
+    private final Map<Integer, DictionaryCompressor> compressors = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduledRunActive = new AtomicBoolean();
+
+    public ContentArchiveService(ContentArchiveConfig config,
+                                 AppIdeaRepository appIdeaRepository,
+                                 IdeaContentArchiveRepository archiveRepository,
+                                 ClusterMembershipService cluster,
+                                 PipelineMetrics metrics,
+                                 TransactionTemplate transactionTemplate,
+                                 @Qualifier("discoveryExecutor") ExecutorService discoveryExecutor) {
+        this.config = config;
+        this.appIdeaRepository = appIdeaRepository;
+        this.archiveRepository = archiveRepository;
+        this.cluster = cluster;
+        this.metrics = metrics;
+        this.transactionTemplate = transactionTemplate;
+        this.discoveryExecutor = discoveryExecutor;
+    }
+
+    // 매일 새벽 5시 - 분석 캐시 정리(4시 30분) 뒤, 한 인스턴스에서만.
+    // 배치 루프는 수십 분 걸릴 수 있으므로 다른 예약 작업과 같이 쓰는 스케줄러 스레드에서 돌리지 않는다
+    @Scheduled(cron = "${content-archive.cron:0 0 5 * * *}")
+    public void archiveScheduled() {
+        if (!config.isEnabled() || !cluster.tryAcquireLease(ARCHIVE_LEASE, ARCHIVE_LEASE_TTL)) {
+            return;
+        }
+        if (!scheduledRunActive.compareAndSet(false, true)) {
+            log.warn("Previous content archive run is still in progress, skipping");
+            return;
+        }
+        discoveryExecutor.submit(() -> {
+            try {
+                archiveExpired();
+            } catch (RuntimeException e) {
+                log.error("Content archive run failed: {}", e.getMessage());
+            } finally {
+                scheduledRunActive.set(false);
+            }
+        });
+    }
+
+    /**
+     * archive-after보다 오래된 아이디어의 본문을 batch-size 행씩 옮긴다. 배치마다 한 트랜잭션이다.
+     *
+     * @return 이번에 옮긴 본문의 압축 전/후 크기
+     */
+    public ContentArchiveStats archiveExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(config.getArchiveAfter());
+        int batchSize = Math.max(1, config.getBatchSize());
+        long rows = 0;
+        long originalBytes = 0;
+        long compressedBytes = 0;
+        for (int batch = 0; batch < config.getMaxBatchesPerRun(); batch++) {
+            List<IdeaContentArchive> archived = transactionTemplate.execute(status -> archiveBatch(cutoff, batchSize));
+            if (archived == null || archived.isEmpty()) {
+                break;
+            }
+            for (IdeaContentArchive entry : archived) {
+                originalBytes += entry.getOriginalBytes();
+                compressedBytes += entry.getCompressed().length;
+            }
+            rows += archived.size();
+            if (archived.size() < batchSize) {
+                break;
+            }
+        }
+
+        ContentArchiveStats run = new ContentArchiveStats(rows, originalBytes, compressedBytes, 0, 0);
+        metrics.countContentArchived(run.archivedIdeas(), run.originalBytes(), run.compressedBytes());
+        if (rows > 0) {
+            log.info("Archived content of {} ideas: {} -> {} bytes (ratio {}, saved {} bytes)", rows, originalBytes,
+                    compressedBytes, String.format("%.2f", run.compressionRatio()), run.savedBytes());
+        }
+        return run;
+    }
+
+    private List<IdeaContentArchive> archiveBatch(LocalDateTime cutoff, int batchSize) {
+        List<IdeaContent> rows = appIdeaRepository.lockArchivableContent(cutoff, batchSize);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        DictionaryCompressor compressor = compressor(DICTIONARY_VERSION);
+        LocalDateTime now = LocalDateTime.now();
+        List<IdeaContentArchive> entries = new ArrayList<>(rows.size());
+        for (IdeaContent row : rows) {
+            entries.add(IdeaContentArchive.builder()
+                    .ideaId(row.id())
+                    .dictionaryVersion(DICTIONARY_VERSION)
+                    .compressed(compressor.compress(row.content()))
+                    .originalBytes(row.content().getBytes(StandardCharsets.UTF_8).length)
+                    .archivedAt(now)
+                    .build());
+        }
+        archiveRepository.insertAll(entries);
+        appIdeaRepository.markContentArchived(rows.stream().map(IdeaContent::id).toList());
+        return entries;
+    }
+
+    // 상세 조회에서만 부른다 - 목록/검색은 본문을 읽지 않는다
+    public Optional<String> loadContent(Long ideaId) {
+        return archiveRepository.findById(ideaId).map(this::decompress);
+    }
+
+    public String decompress(IdeaContentArchive entry) {
+        return compressor(entry.getDictionaryVersion()).decompress(entry.getCompressed(), entry.getOriginalBytes());
+    }
+
+    public ContentArchiveStats getStats() {
+        return archiveRepository.stats();
+    }
+
+    private DictionaryCompressor compressor(int version) {
+        return compressors.computeIfAbsent(version, v -> new DictionaryCompressor(loadDictionary(v)));
+    }
+
+    private static byte[] loadDictionary(int version) {
+        ClassPathResource resource = new ClassPathResource("compression/reddit-v" + version + ".dict");
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Missing compression dictionary version " + version, e);
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.findcomplain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findcomplain.domain.AppIdea;
+import com.findcomplain.dto.DiscoveryJobStatus;
+import com.findcomplain.dto.DiscoveryJobStatus.JobState;
+import com.findcomplain.dto.DiscoveryJobStatus.RunState;
+import com.findcomplain.dto.DiscoveryJobStatus.SubredditProgress;
+import com.findcomplain.dto.DiscoveryRunSummary;
+import com.findcomplain.dto.DiscoveryRunSummary.SubredditResult;
+import com.findcomplain.dto.IdeaSavedEvent;
+import com.findcomplain.dto.PipelineSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 백그라운드 discovery 작업.
+ * 제출하면 바로 작업 ID를 돌려주고, 서브레딧마다 discoveryExecutor에서 스캔한다.
+ * 같은 서브레딧이 이미 다른 작업에서 스캔 중이면 새로 실행하지 않고 그 실행 결과를 함께 쓴다.
+ * 진행 상황은 상태 조회나 SSE(progress / idea / done 이벤트)로 받을 수 있다.
+ */
+@Service
+@Slf4j
+public class DiscoveryJobService {
+
+    // 끝난 작업을 상태 조회용으로 보관하는 시간
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+    private static final long SSE_TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+    private static final String CANCELLED = "cancelled";
+
+    private final AppIdeaService appIdeaService;
+    private final ExecutorService discoveryExecutor;
+    private final PipelineMetrics metrics;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    // 진행 중인 서브레딧 실행 (소문자 이름 기준). 합류/취소와 함께 lock 안에서만 바꾼다
+    private final Map<String, SubredditRun> inFlight = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public DiscoveryJobService(AppIdeaService appIdeaService,
+                               @Qualifier("discoveryExecutor") ExecutorService discoveryExecutor,
+                               PipelineMetrics metrics,
+                               ObjectMapper objectMapper) {
+        this.appIdeaService = appIdeaService;
+        this.discoveryExecutor = discoveryExecutor;
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+    }
+
+    public DiscoveryJobStatus submit(List<String> subreddits, int postsPerSubreddit) {
+        Map<String, Integer> posts = new LinkedHashMap<>();
+        subreddits.forEach(subreddit -> posts.putIfAbsent(subreddit, postsPerSubreddit));
+        return submit(posts);
+    }
+
+    // 서브레딧마다 가져올 게시물 수가 다른 작업 (적응형 스케줄러)
+    public DiscoveryJobStatus submit(Map<String, Integer> postsBySubreddit) {
+        Job job = new Job(UUID.randomUUID().toString());
+
+        lock.lock();
+        try {
+            for (Map.Entry<String, Integer> entry : postsBySubreddit.entrySet()) {
+                String subreddit = entry.getKey();
+                String key = key(subreddit);
+                if (job.runs.containsKey(key)) {
+                    continue;
+                }
+                SubredditRun run = inFlight.get(key);
+                if (run == null) {
+                    run = new SubredditRun(subreddit, job.id);
+                    inFlight.put(key, run);
+                    start(run, entry.getValue());
+                } else {
+                    log.info("r/{} is already being scanned by job {}, job {} joins that run",
+                            subreddit, run.startedByJob, job.id);
+                }
+                run.jobs.add(job);
+                job.runs.put(key, run);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        jobs.put(job.id, job);
+        CompletableFuture.allOf(job.runs.values().stream().map(run -> run.result).toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> finish(job));
+        log.info("Submitted discovery job {} for {} subreddits", job.id, job.runs.size());
+        return job.status();
+    }
+
+    public Optional<DiscoveryJobStatus> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::status);
+    }
+
+    public List<DiscoveryJobStatus> getRecentJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((Job job) -> job.submittedAt).reversed())
+                .map(Job::status)
+                .toList();
+    }
+
+    /**
+     * 작업을 취소한다. 다른 작업도 기다리고 있는 서브레딧 실행은 그대로 두고 이 작업만 빠진다.
+     */
+    public Optional<DiscoveryJobStatus> cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (job.summary.isDone()) {
+            return Optional.of(job.status());
+        }
+
+        job.cancelled = true;
+        lock.lock();
+        try {
+            for (SubredditRun run : job.runs.values()) {
+                run.jobs.remove(job);
+                if (run.jobs.isEmpty() && !run.result.isDone()) {
+                    inFlight.remove(key(run.subreddit), run);
+                    run.state = RunState.CANCELLED;
+                    if (run.task != null) {
+                        run.task.cancel(true);
+                    }
+                    run.result.complete(partialResult(run, CANCELLED));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        log.info("Cancelled discovery job {}", jobId);
+        finish(job);
+        return Optional.of(job.status());
+    }
+
+    public Optional<SseEmitter> subscribe(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MILLIS);
+        emitter.onCompletion(() -> job.emitters.remove(emitter));
+        emitter.onTimeout(() -> job.emitters.remove(emitter));
+        emitter.onError(error -> job.emitters.remove(emitter));
+        job.emitters.add(emitter);
+
+        send(job, emitter, "progress", job.status());
+        if (job.summary.isDone()) {
+            send(job, emitter, "done", job.status());
+            emitter.complete();
+        }
+        return Optional.of(emitter);
+    }
+
+    // AppIdeaService가 저장한 아이디어를 해당 서브레딧 실행에 합류한 작업들의 구독자에게 전달
+    @EventListener
+    public void onIdeaSaved(IdeaSavedEvent event) {
+        SubredditRun run;
+        lock.lock();
+        try {
+            run = inFlight.get(key(event.subreddit()));
+        } finally {
+            lock.unlock();
+        }
+        if (run == null) {
+            return;
+        }
+        run.ideasFound.incrementAndGet();
+        for (Job job : run.jobs) {
+            job.broadcast("idea", event.idea());
+        }
+    }
+
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void start(SubredditRun run, int postsPerSubreddit) {
+        run.task = discoveryExecutor.submit(() -> {
+            run.state = RunState.RUNNING;
+            run.pipelineBefore = metrics.snapshot(run.subreddit);
+            run.startNanos = System.nanoTime();
+            run.broadcastProgress();
+
+            SubredditResult result = scan(run, postsPerSubreddit);
+
+            lock.lock();
+            try {
+                inFlight.remove(key(run.subreddit), run);
+            } finally {
+                lock.unlock();
+            }
+            if (run.result.complete(result)) {
+                run.state = result.error() == null ? RunState.DONE : RunState.FAILED;
+                run.broadcastProgress();
+            }
+        });
+    }
+
+    private SubredditResult scan(SubredditRun run, int postsPerSubreddit) {
+        try {
+            log.info("Scanning r/{} for app ideas...", run.subreddit);
+            List<AppIdea> ideas = appIdeaService.analyzeSubreddit(run.subreddit, postsPerSubreddit);
+            // 구독자에게 보여주는 값이다 - 이 인스턴스의 워커가 저장한 것도 저장 이벤트로 센다.
+            // 적응형 스케줄의 수율은 이 값이 아니라 저장할 때 더한다 (AdaptiveCrawlPlanner.onIdeaSaved)
+            int found = Math.max(ideas.size(), run.ideasFound.get());
+            log.info("Found {} ideas from r/{}", found, run.subreddit);
+            return new SubredditResult(run.subreddit, found, run.elapsed(), null, pipelineDelta(run));
+        } catch (CancellationException e) {
+            log.info("Scan of r/{} cancelled", run.subreddit);
+            return partialResult(run, CANCELLED);
+        } catch (Exception e) {
+            log.error("Failed to analyze r/{}: {}", run.subreddit, e.getMessage());
+            return partialResult(run, e.getMessage());
+        }
+    }
+
+    private void finish(Job job) {
+        List<SubredditResult> results = job.runs.values().stream()
+                .map(run -> run.result.isDone() ? run.result.join() : partialResult(run, CANCELLED))
+                .toList();
+        DiscoveryRunSummary summary = new DiscoveryRunSummary(
+                results.stream().mapToInt(SubredditResult::ideasFound).sum(),
+                results,
+                Duration.ofNanos(System.nanoTime() - job.startNanos),
+                results.stream().map(SubredditResult::elapsed).reduce(Duration.ZERO, Duration::plus));
+        if (!job.summary.complete(summary)) {
+            return;
+        }
+        job.finishedAt = Instant.now();
+
+        log.info("Discovery job {} {}. Total new ideas: {}, subreddits: {} ({} failed), wall clock: {} ms, "
+                        + "sequential estimate: {} ms, saved: {} ms",
+                job.id, job.cancelled ? "cancelled" : "completed", summary.totalIdeas(), results.size(),
+                summary.failedCount(), summary.wallClock().toMillis(), summary.subredditTime().toMillis(),
+                summary.timeSaved().toMillis());
+        logRunSummary(job, summary);
+
+        DiscoveryJobStatus status = job.status();
+        for (SseEmitter emitter : job.emitters) {
+            send(job, emitter, "done", status);
+            emitter.complete();
+        }
+    }
+
+    // 회귀/병목 추적용 구조화 요약 - 한 줄 JSON으로 남긴다
+    private void logRunSummary(Job job, DiscoveryRunSummary summary) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("jobId", job.id);
+        report.put("state", job.cancelled ? JobState.CANCELLED : JobState.COMPLETED);
+        report.put("wallClockMs", summary.wallClock().toMillis());
+        report.put("subredditTimeMs", summary.subredditTime().toMillis());
+        report.put("totalIdeas", summary.totalIdeas());
+        report.put("failed", summary.failedCount());
+        report.put("posts", summary.postCounts());
+        report.put("stageMs", summary.stageMillis());
+        report.put("subreddits", summary.subreddits().stream().map(result -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("subreddit", result.subreddit());
+            entry.put("ideas", result.ideasFound());
+            entry.put("elapsedMs", result.elapsed().toMillis());
+            entry.put("error", result.error());
+            entry.put("posts", result.pipeline().posts());
+            entry.put("stageMs", result.pipeline().stageMillis());
+            return entry;
+        }).toList());
+        try {
+            log.info("Discovery run summary: {}", objectMapper.writeValueAsString(report));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize discovery run summary: {}", e.getMessage());
+        }
+    }
+
+    private SubredditResult partialResult(SubredditRun run, String error) {
+        return new SubredditResult(run.subreddit, run.ideasFound.get(), run.elapsed(), error, pipelineDelta(run));
+    }
+
+    // 실행 동안 이 인스턴스가 이 서브레딧에 한 일 전부다 - 같은 때 큐 워커가 처리한 게시물도 들어가므로 보고용으로만 쓴다
+    private PipelineSnapshot pipelineDelta(SubredditRun run) {
+        PipelineSnapshot before = run.pipelineBefore;
+        return before == null ? PipelineSnapshot.EMPTY : metrics.snapshot(run.subreddit).since(before);
+    }
+
+    private static void send(Job job, SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 연결이 끊긴 구독자
+            job.emitters.remove(emitter);
+        }
+    }
+
+    private static String key(String subreddit) {
+        return subreddit.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Job {
+
+        final String id;
+        final Instant submittedAt = Instant.now();
+        final long startNanos = System.nanoTime();
+        final Map<String, SubredditRun> runs = new LinkedHashMap<>();
+        final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        final CompletableFuture<DiscoveryRunSummary> summary = new CompletableFuture<>();
+        volatile boolean cancelled;
+        volatile Instant finishedAt;
+
+        Job(String id) {
+            this.id = id;
+        }
+
+        void broadcast(String name, Object data) {
+            for (SseEmitter emitter : emitters) {
+                send(this, emitter, name, data);
+            }
+        }
+
+        DiscoveryJobStatus status() {
+            List<SubredditProgress> progress = new ArrayList<>(runs.size());
+            int total = 0;
+            for (SubredditRun run : runs.values()) {
+                SubredditResult result = run.result.getNow(null);
+                int ideas = result != null ? result.ideasFound() : run.ideasFound.get();
+                total += ideas;
+                progress.add(new SubredditProgress(run.subreddit, run.state, ideas,
+                        result != null ? result.elapsed().toMillis() : run.elapsed().toMillis(),
+                        result != null ? result.error() : null, run.startedByJob,
+                        result != null ? result.pipeline().stageMillis() : Map.of()));
+            }
+            JobState state = !summary.isDone() ? JobState.RUNNING
+                    : cancelled ? JobState.CANCELLED : JobState.COMPLETED;
+            return new DiscoveryJobStatus(id, state, submittedAt, finishedAt, total, progress);
+        }
+    }
+
+    private static final class SubredditRun {
+
+        final String subreddit;
+        final String startedByJob;
+        final CompletableFuture<SubredditResult> result = new CompletableFuture<>();
+        final AtomicInteger ideasFound = new AtomicInteger();
+        // 이 실행 결과를 기다리는 작업들 - 모두 취소되면 실행도 중단한다
+        final CopyOnWriteArraySet<Job> jobs = new CopyOnWriteArraySet<>();
+        volatile RunState state = RunState.QUEUED;
+        volatile long startNanos;
+        volatile PipelineSnapshot pipelineBefore;
+        volatile Future<?> task;
+
+        SubredditRun(String subreddit, String startedByJob) {
+            this.subreddit = subreddit;
+            this.startedByJob = startedByJob;
+        }
+
+        Duration elapsed() {
+            return startNanos == 0 ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - startNanos);
+        }
+
+        void broadcastProgress() {
+            for (Job job : jobs) {
+                // 구독자가 있다면 작업 등록(submit)이 끝난 뒤이므로 runs를 안전하게 읽을 수 있다
+                if (!job.emitters.isEmpty()) {
+                    job.broadcast("progress", job.status());
+                }
+            }
+        }
+    }
+}
@@ -1,21 +1,30 @@
 package com.findcomplain.service;
 
-import com.findcomplain.domain.AppIdea;
+import com.findcomplain.config.CrawlScheduleConfig;
+import com.findcomplain.domain.CustomSubreddit;
+import com.findcomplain.dto.DiscoveryJobStatus;
+import com.findcomplain.dto.SubredditCrawlPlan;
+import com.findcomplain.repository.CustomSubredditRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class IdeaDiscoveryScheduler {
 
-    private final AppIdeaService appIdeaService;
+    private final DiscoveryJobService discoveryJobs;
+    private final AdaptiveCrawlPlanner crawlPlanner;
+    private final CrawlScheduleConfig crawlSchedule;
+    private final CustomSubredditRepository customSubredditRepository;
+    private final ClusterMembershipService cluster;
+
+    private static final String CRAWL_LEASE_PREFIX = "crawl:";
 
     // 디폴트 서브레딧 (삭제 불가)
     private static final List<String> DEFAULT_SUBREDDITS = List.of(
@@ -29,45 +38,63 @@ public class IdeaDiscoveryScheduler {
             "indiehackers"
     );
 
-    // 사용자가 추가한 커스텀 서브레딧
-    private final List<String> customSubreddits = new CopyOnWriteArrayList<>();
+    /**
+     * 매일 9시에 한꺼번에 돌리는 대신, 서브레딧마다 계획된 간격이 지나면 계획된 깊이만큼 크롤링한다.
+     * 한 tick에 시작하는 수를 제한해서 부하를 하루에 고르게 퍼뜨린다.
+     * 인스턴스가 여럿이면 서브레딧을 나눠 맡으므로 시작 수 제한도 노드마다 따로 적용된다.
+     */
+    @Scheduled(initialDelayString = "${crawl-schedule.tick:PT5M}", fixedDelayString = "${crawl-schedule.tick:PT5M}")
+    public void adaptiveIdeaDiscovery() {
+        if (!crawlSchedule.isEnabled()) {
+            return;
+        }
+        Instant now = Instant.now();
+        // 살아 있는 노드끼리 서브레딧을 consistent hash로 나눠 갖고, 각 노드는 자기 몫만 시작한다
+        List<SubredditCrawlPlan> owned = crawlPlanner.plan(getTargetSubreddits()).stream()
+                .filter(plan -> plan.isDue(now))
+                .filter(plan -> cluster.owns(plan.subreddit()))
+                .sorted(Comparator.comparing(SubredditCrawlPlan::nextCrawlAt,
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+
+        // 노드가 들고 나는 동안에는 두 노드가 같은 서브레딧을 자기 몫으로 볼 수 있다 - lease를 얻은 쪽만 시작
+        List<SubredditCrawlPlan> due = new ArrayList<>();
+        for (SubredditCrawlPlan plan : owned) {
+            if (due.size() >= crawlSchedule.getMaxStartsPerTick()) {
+                break;
+            }
+            if (cluster.tryAcquireLease(CRAWL_LEASE_PREFIX + plan.subreddit().toLowerCase(Locale.ROOT),
+                    crawlSchedule.getMinInterval())) {
+                due.add(plan);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
 
-    // 매일 오전 9시에 실행 (cron = "초 분 시 일 월 요일")
-    @Scheduled(cron = "0 0 9 * * *")
-    public void dailyIdeaDiscovery() {
-        log.info("Starting daily idea discovery at {}", LocalDateTime.now());
-        runDiscovery(25);
+        crawlPlanner.markStarted(due, now);
+        Map<String, Integer> depths = new LinkedHashMap<>();
+        for (SubredditCrawlPlan plan : due) {
+            depths.put(plan.subreddit(), plan.fetchDepth());
+            log.info("Scheduled crawl of r/{}: {} posts (yield {}, {} posts/h, every {} min)",
+                    plan.subreddit(), plan.fetchDepth(), String.format("%.3f", plan.ideaYield()),
+                    String.format("%.1f", plan.postsPerHour()), plan.crawlInterval().toMinutes());
+        }
+        discoveryJobs.submit(depths);
     }
 
-    // 수동 실행용
-    public int runDiscoveryNow() {
-        return runDiscovery(20);
+    public List<SubredditCrawlPlan> getCrawlPlan() {
+        return crawlPlanner.plan(getTargetSubreddits());
     }
 
-    private int runDiscovery(int postsPerSubreddit) {
-        int totalIdeas = 0;
-
-        for (String subreddit : getTargetSubreddits()) {
-            try {
-                log.info("Scanning r/{} for app ideas...", subreddit);
-                List<AppIdea> ideas = appIdeaService.analyzeSubreddit(subreddit, postsPerSubreddit);
-                totalIdeas += ideas.size();
-                log.info("Found {} ideas from r/{}", ideas.size(), subreddit);
-
-                // Rate limiting - Reddit API 제한 방지
-                Thread.sleep(2000);
-            } catch (Exception e) {
-                log.error("Failed to analyze r/{}: {}", subreddit, e.getMessage());
-            }
-        }
-
-        log.info("Daily discovery completed. Total new ideas: {}", totalIdeas);
-        return totalIdeas;
+    // 수동 실행용 - 작업 ID를 바로 돌려주고 백그라운드에서 실행
+    public DiscoveryJobStatus startDiscoveryNow() {
+        return discoveryJobs.submit(getTargetSubreddits(), 20);
     }
 
     public List<String> getTargetSubreddits() {
         List<String> all = new ArrayList<>(DEFAULT_SUBREDDITS);
-        all.addAll(customSubreddits);
+        all.addAll(getCustomSubreddits());
         return all;
     }
 
@@ -75,8 +102,11 @@ public class IdeaDiscoveryScheduler {
         return DEFAULT_SUBREDDITS;
     }
 
+    // 사용자가 추가한 커스텀 서브레딧 (DB에 저장되므로 모든 인스턴스가 같은 목록을 본다)
     public List<String> getCustomSubreddits() {
-        return List.copyOf(customSubreddits);
+        return customSubredditRepository.findAllByOrderByCreatedAt().stream()
+                .map(CustomSubreddit::getName)
+                .toList();
     }
 
     public String addCustomSubreddit(String subreddit) {
@@ -84,22 +114,23 @@ public class IdeaDiscoveryScheduler {
         if (name.isEmpty()) {
             throw new IllegalArgumentException("Subreddit name cannot be empty");
         }
-        boolean exists = getTargetSubreddits().stream()
-                .anyMatch(s -> s.equalsIgnoreCase(name));
+        String key = name.toLowerCase(Locale.ROOT);
+        boolean exists = DEFAULT_SUBREDDITS.stream().anyMatch(s -> s.equalsIgnoreCase(name))
+                || customSubredditRepository.existsById(key);
         if (exists) {
             throw new IllegalArgumentException("Subreddit '" + name + "' already exists");
         }
-        customSubreddits.add(name);
+        customSubredditRepository.save(CustomSubreddit.builder().subreddit(key).name(name).build());
         log.info("Added custom subreddit: r/{}", name);
         return name;
     }
 
     public void removeCustomSubreddit(String subreddit) {
-        String name = subreddit.trim();
-        boolean removed = customSubreddits.removeIf(s -> s.equalsIgnoreCase(name));
-        if (!removed) {
-            throw new IllegalArgumentException("Subreddit '" + name + "' is not a custom subreddit");
+        String key = subreddit.trim().toLowerCase(Locale.ROOT);
+        if (!customSubredditRepository.existsById(key)) {
+            throw new IllegalArgumentException("Subreddit '" + subreddit.trim() + "' is not a custom subreddit");
         }
-        log.info("Removed custom subreddit: r/{}", name);
+        customSubredditRepository.deleteById(key);
+        log.info("Removed custom subreddit: r/{}", subreddit.trim());
     }
 }
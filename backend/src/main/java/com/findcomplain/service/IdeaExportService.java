@@ -0,0 +1,156 @@
+package com.findcomplain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.findcomplain.config.IdeaExportConfig;
+import com.findcomplain.dto.IdeaExportFilter;
+import com.findcomplain.dto.IdeaExportRow;
+import com.findcomplain.repository.AppIdeaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 아이디어 전체 이력을 NDJSON/CSV로 내보낸다. 행은 서버 쪽 커서에서 fetch-size씩 읽어서 바로 응답에 쓰므로
+ * 내보내는 행 수와 상관없이 메모리에는 한 번에 가져온 행과 출력 버퍼만 올라온다.
+ */
+@Service
+@Slf4j
+public class IdeaExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + " (use ndjson or csv)");
+            }
+        }
+    }
+
+    private final AppIdeaRepository appIdeaRepository;
+    private final ContentArchiveService contentArchive;
+    private final IdeaExportConfig config;
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public IdeaExportService(AppIdeaRepository appIdeaRepository,
+                             ContentArchiveService contentArchive,
+                             IdeaExportConfig config,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.appIdeaRepository = appIdeaRepository;
+        this.contentArchive = contentArchive;
+        this.config = config;
+        this.rowWriter = objectMapper.writerFor(IdeaExportRow.class);
+        // Postgres 드라이버는 autocommit이 꺼진 트랜잭션 안에서만 커서로 나눠 읽는다
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * filter에 맞는 아이디어를 id 순으로 response에 쓴다. gzip이면 Content-Encoding: gzip 본문으로 쓴다.
+     * 클라이언트가 중간에 끊으면 IOException으로 끝나고 커서는 트랜잭션과 함께 닫힌다.
+     */
+    public void export(Format format, IdeaExportFilter filter, boolean gzip, OutputStream response)
+            throws IOException {
+        long started = System.nanoTime();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(response, BUFFER_SIZE) : null;
+        Writer out = new BufferedWriter(
+                new OutputStreamWriter(compressed != null ? compressed : response, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+
+        Consumer<IdeaExportRow> sink = switch (format) {
+            case NDJSON -> row -> write(out, toJsonLine(row));
+            case CSV -> {
+                out.write(toCsvLine(IdeaExportRow.COLUMNS));
+                yield row -> write(out, toCsvLine(row.values()));
+            }
+        };
+
+        Long rows;
+        try {
+            rows = readOnlyTransaction.execute(status -> appIdeaRepository.streamForExport(
+                    filter, config.getFetchSize(), contentArchive::decompress, sink));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("Exported {} ideas as {}{} in {} ms", rows, format.extension(), gzip ? " (gzip)" : "",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private String toJsonLine(IdeaExportRow row) {
+        try {
+            return rowWriter.writeValueAsString(row) + "\n";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idea " + row.id(), e);
+        }
+    }
+
+    // RFC 4180 - 구분자/따옴표/줄바꿈이 든 값만 따옴표로 감싸고 안의 따옴표는 두 번 쓴다
+    private static String toCsvLine(List<?> values) {
+        StringBuilder line = new StringBuilder(256);
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            Object value = values.get(i);
+            String text = value != null ? value.toString() : "";
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0
+                    || text.indexOf('\r') >= 0) {
+                line.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(text);
+            }
+        }
+        return line.append("\r\n").toString();
+    }
+
+    // 커서를 도는 콜백 안에서는 checked 예외를 던질 수 없다
+    private static void write(Writer out, String line) {
+        try {
+            out.write(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
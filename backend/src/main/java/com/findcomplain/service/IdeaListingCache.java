@@ -0,0 +1,69 @@
+package com.findcomplain.service;
+
+import com.findcomplain.dto.AppIdeaSummary;
+import com.findcomplain.dto.CachedIdeaPage;
+import com.findcomplain.dto.IdeaPage;
+import com.findcomplain.repository.ListingVersionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 목록 조회(recent/top/bookmarked) read-through 캐시.
+ * 버전은 DB의 listing_version 행이다 - 어느 인스턴스가 아이디어를 저장하거나 북마크를 바꿔도 같은 트랜잭션에서 올라가므로,
+ * 다른 버전으로 만들어진 항목은 쓰지 않는다. 같은 버전이면 응답도 같으므로 버전을 그대로 ETag로 쓴다.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdeaListingCache {
+
+    public enum View { RECENT, TOP, BOOKMARKED }
+
+    private static final int MAX_ENTRIES = 1000;
+
+    // 버전이 맞으면 계속 쓰지만, 버전을 올리지 않는 쓰기(수동 SQL 등)가 있어도 이 시간 뒤에는 다시 읽는다
+    private static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    private record Key(View view, String cursor, int size) {
+    }
+
+    private record Entry(long version, IdeaPage<AppIdeaSummary> page) {
+    }
+
+    private final ListingVersionRepository listingVersions;
+
+    private final Cache<Key, Entry> entries = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(MAX_AGE)
+            .build();
+
+    public String currentETag() {
+        return etag(currentVersion());
+    }
+
+    public CachedIdeaPage get(View view, String cursor, int size, Supplier<IdeaPage<AppIdeaSummary>> loader) {
+        // 조회 전에 버전을 읽어야, 조회 도중 커밋된 쓰기가 있으면 이 결과가 다음 조회에서 버려진다
+        long current = currentVersion();
+        Key key = new Key(view, cursor, size);
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null || entry.version() != current) {
+            Entry loaded = new Entry(current, loader.get());
+            entry = entries.asMap().merge(key, loaded,
+                    (existing, fresh) -> existing.version() >= fresh.version() ? existing : fresh);
+        }
+        return new CachedIdeaPage(etag(entry.version()), entry.page());
+    }
+
+    // 아직 아무것도 저장되지 않은 DB는 0
+    private long currentVersion() {
+        return listingVersions.currentVersion().orElse(0L);
+    }
+
+    private static String etag(long version) {
+        return "\"ideas-" + version + "\"";
+    }
+}
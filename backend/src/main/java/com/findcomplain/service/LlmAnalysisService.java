@@ -0,0 +1,548 @@
+package com.findcomplain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.findcomplain.config.LlmConfig;
+import com.findcomplain.config.ResilienceSettings;
+import com.findcomplain.dto.AppIdeaAnalysisResult;
+import com.findcomplain.dto.RedditPost;
+import com.findcomplain.service.PipelineMetrics.Stage;
+import com.findcomplain.support.CircuitBreaker;
+import com.findcomplain.support.ResilientCaller;
+import com.findcomplain.support.RetryableException;
+import com.findcomplain.support.TokenBucketRateLimiter;
+import com.findcomplain.support.UpstreamUnavailableException;
+import dev.ai4j.openai4j.OpenAiClient;
+import dev.ai4j.openai4j.OpenAiHttpException;
+import dev.ai4j.openai4j.ResponseHandle;
+import dev.ai4j.openai4j.chat.ChatCompletionChoice;
+import dev.ai4j.openai4j.chat.ChatCompletionRequest;
+import dev.ai4j.openai4j.shared.StreamOptions;
+import dev.ai4j.openai4j.shared.Usage;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 게시물을 LLM으로 분석한다.
+ * 여러 게시물을 한 프롬프트에 묶어(batch-size) 시스템 프롬프트 비용을 나누고,
+ * 배치들은 virtual thread에서 동시에 보내되 진행 중인 요청 수는 max-concurrent-requests로 제한한다.
+ * llm.streaming이면 게시물마다 응답을 스트리밍으로 받아 읽는 대로 파싱하고, 저장하지 않을 결과로 결론이 나면 생성을 끊는다.
+ */
+@Service
+@Slf4j
+public class LlmAnalysisService {
+
+    // 프롬프트 내용을 바꾸면 올린다 - 분석 캐시 키에 포함된다
+    static final String PROMPT_VERSION = "4";
+
+    private final LlmConfig llmConfig;
+    private final AnalysisCacheService analysisCache;
+    private final ExecutorService discoveryExecutor;
+    private final PipelineMetrics metrics;
+    private final LlmPromptBuilder promptBuilder;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ChatLanguageModel chatModel;
+
+    // llm.streaming - langchain4j 스트리밍 모델은 생성을 끊을 수 없어서 그 아래 openai4j 클라이언트를 직접 쓴다
+    private OpenAiClient streamingClient;
+
+    // 병렬 discovery 중 동시에 진행되는 LLM 요청 수 제한
+    private Semaphore llmPermits;
+
+    // 분당 요청 수 제한 - 429를 받으면 모든 요청이 함께 멈춘다
+    private TokenBucketRateLimiter rateLimiter;
+
+    // 429/5xx/타임아웃 재시도 + 서킷 브레이커
+    private ResilientCaller caller;
+
+    public LlmAnalysisService(LlmConfig llmConfig,
+                              AnalysisCacheService analysisCache,
+                              @Qualifier("discoveryExecutor") ExecutorService discoveryExecutor,
+                              PipelineMetrics metrics,
+                              LlmPromptBuilder promptBuilder) {
+        this.llmConfig = llmConfig;
+        this.analysisCache = analysisCache;
+        this.discoveryExecutor = discoveryExecutor;
+        this.metrics = metrics;
+        this.promptBuilder = promptBuilder;
+    }
+
+    @PostConstruct
+    public void init() {
+        llmPermits = new Semaphore(llmConfig.getMaxConcurrentRequests(), true);
+        rateLimiter = TokenBucketRateLimiter.perMinute(llmConfig.getRequestsPerMinute(),
+                Math.max(1, llmConfig.getMaxConcurrentRequests()));
+        ResilienceSettings.Retry retry = llmConfig.getRetry();
+        CircuitBreaker breaker = new CircuitBreaker("llm", llmConfig.getCircuitBreaker().getFailureThreshold(),
+                llmConfig.getCircuitBreaker().getOpenDuration());
+        caller = new ResilientCaller(breaker, retry.getMaxAttempts(), retry.getBaseDelay(), retry.getMaxDelay());
+        metrics.registerCircuitBreaker(breaker);
+
+        if (llmConfig.isMockMode()) {
+            return;
+        }
+        // mock 분석 결과가 실제 아이디어로 저장되지 않도록 설정이 빠졌으면 시작하지 않는다
+        if (llmConfig.getApiKey() == null || llmConfig.getApiKey().isBlank()) {
+            throw new IllegalStateException("llm.api-key must be set when llm.mock-mode is false");
+        }
+        chatModel = OpenAiChatModel.builder()
+                .baseUrl(llmConfig.getBaseUrl())
+                .apiKey(llmConfig.getApiKey())
+                .modelName(llmConfig.getModel())
+                .temperature(0.3)
+                .timeout(llmConfig.getTimeout())
+                // 재시도는 caller가 한다 (langchain4j는 이 값을 시도 횟수로 쓴다)
+                .maxRetries(1)
+                // 가장 큰 배치의 출력 예산 - 요청별 예산은 지표로 내보낸다
+                .maxTokens(llmConfig.getPrompt().getOutputTokensPerPost() * Math.max(1, llmConfig.getBatchSize()))
+                .build();
+        if (llmConfig.isStreaming()) {
+            // 전체 시간은 stream()이 timeout으로 제한한다 - 여기서는 조각 사이 간격만
+            streamingClient = OpenAiClient.builder()
+                    .baseUrl(llmConfig.getBaseUrl())
+                    .openAiApiKey(llmConfig.getApiKey())
+                    .readTimeout(llmConfig.getTimeout())
+                    .build();
+        }
+        log.info("LlmAnalysisService: LLM initialized (batch size {}, streaming {}, max concurrent requests {})",
+                streamingClient != null ? 1 : llmConfig.getBatchSize(), streamingClient != null,
+                llmConfig.getMaxConcurrentRequests());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (streamingClient != null) {
+            streamingClient.shutdown();
+        }
+    }
+
+    // 실제 LLM이 연결되어 있는지 (mock 모드가 아닌지)
+    public boolean isLlmAvailable() {
+        return !llmConfig.isMockMode() && chatModel != null;
+    }
+
+    /**
+     * 게시물들을 분석해서 게시물 ID별 결과를 반환한다.
+     * 캐시에 있는 게시물과, 같은 실행 안에서 내용이 같은 게시물은 LLM을 다시 호출하지 않는다.
+     * LLM 요청이나 응답 파싱에 실패한 게시물은 결과에 없다 - 호출하는 쪽에서 나중에 다시 분석한다.
+     */
+    public Map<String, AppIdeaAnalysisResult> analyzeAll(List<RedditPost> posts) {
+        Map<String, AppIdeaAnalysisResult> results = new HashMap<>();
+        if (posts.isEmpty()) {
+            return results;
+        }
+
+        if (!isLlmAvailable()) {
+            posts.forEach(post -> results.put(post.getId(), generateMockAnalysis(post)));
+            return results;
+        }
+
+        results.putAll(analysisCache.getAll(posts, PROMPT_VERSION));
+
+        Map<String, List<RedditPost>> uncachedByKey = new LinkedHashMap<>();
+        for (RedditPost post : posts) {
+            if (!results.containsKey(post.getId())) {
+                uncachedByKey.computeIfAbsent(analysisCache.keyFor(post, PROMPT_VERSION), k -> new ArrayList<>())
+                        .add(post);
+            }
+        }
+        if (uncachedByKey.isEmpty()) {
+            return results;
+        }
+
+        List<RedditPost> toAnalyze = uncachedByKey.values().stream().map(group -> group.get(0)).toList();
+        Map<String, AppIdeaAnalysisResult> analyzed = dispatch(toAnalyze);
+
+        Map<RedditPost, AppIdeaAnalysisResult> fresh = new HashMap<>();
+        for (List<RedditPost> group : uncachedByKey.values()) {
+            AppIdeaAnalysisResult result = analyzed.get(group.get(0).getId());
+            if (result == null) {
+                continue;
+            }
+            fresh.put(group.get(0), result);
+            group.forEach(post -> results.put(post.getId(), result));
+        }
+        analysisCache.putAll(fresh, PROMPT_VERSION);
+
+        return results;
+    }
+
+    private Map<String, AppIdeaAnalysisResult> dispatch(List<RedditPost> posts) {
+        // 스트리밍은 결과 객체 하나를 읽는 대로 끊을 수 있도록 게시물마다 요청한다
+        int batchSize = streamingClient != null ? 1 : Math.max(1, llmConfig.getBatchSize());
+        List<CompletableFuture<Map<String, AppIdeaAnalysisResult>>> futures = new ArrayList<>();
+        for (int from = 0; from < posts.size(); from += batchSize) {
+            List<RedditPost> batch = posts.subList(from, Math.min(from + batchSize, posts.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> analyzeBatch(batch), discoveryExecutor));
+        }
+
+        Map<String, AppIdeaAnalysisResult> results = new HashMap<>();
+        futures.forEach(future -> results.putAll(future.join()));
+        return results;
+    }
+
+    private Map<String, AppIdeaAnalysisResult> analyzeBatch(List<RedditPost> batch) {
+        Map<String, AppIdeaAnalysisResult> results = new HashMap<>();
+        if (batch.size() == 1) {
+            RedditPost post = batch.get(0);
+            putIfPresent(results, post, analyzePostWithLlm(post));
+            return results;
+        }
+
+        Map<String, RedditPost> byId = new LinkedHashMap<>();
+        batch.forEach(post -> byId.put(post.getId(), post));
+        String subreddit = batch.get(0).getSubreddit();
+
+        try {
+            String response = generate(promptBuilder.buildBatch(batch), subreddit, "batch");
+            log.debug("LLM response for batch of {}: {}", batch.size(), response);
+            List<AppIdeaAnalysisResult> parsed = metrics.time(Stage.LLM_PARSE, subreddit, () -> objectMapper.readValue(
+                    extractJsonArray(response), new TypeReference<List<AppIdeaAnalysisResult>>() {}));
+
+            // 모델이 순서를 바꾸거나 항목을 빠뜨려도 postId로 원래 게시물에 매핑한다
+            for (AppIdeaAnalysisResult result : parsed) {
+                String postId = normalizePostId(result.getPostId());
+                if (postId != null && byId.containsKey(postId) && !results.containsKey(postId)) {
+                    result.setPostId(postId);
+                    results.put(postId, result);
+                } else {
+                    log.debug("Ignoring batch result with unknown or duplicate postId: {}", result.getPostId());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return results;
+        } catch (UpstreamUnavailableException e) {
+            // 재시도를 다 쓴 상태 - 게시물마다 다시 보내봐야 같은 결과이므로 전부 미룬다
+            log.error("Batched LLM request failed, deferring {} posts: {}", batch.size(), e.getMessage());
+            return results;
+        } catch (JsonProcessingException e) {
+            metrics.countParseFailure(subreddit, "batch");
+            log.error("Failed to parse batched LLM response, retrying posts individually: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Batched LLM request failed, retrying posts individually: {}", e.getMessage());
+        }
+
+        // 배치 응답에서 빠진 게시물은 개별 요청으로 다시 분석 - 취소됐으면 결과 없이 돌아간다 (다음 실행에서 다시 분석)
+        if (Thread.currentThread().isInterrupted()) {
+            return results;
+        }
+        for (RedditPost post : byId.values()) {
+            if (!results.containsKey(post.getId())) {
+                putIfPresent(results, post, analyzePostWithLlm(post));
+            }
+        }
+        return results;
+    }
+
+    private static void putIfPresent(Map<String, AppIdeaAnalysisResult> results, RedditPost post,
+                                     AppIdeaAnalysisResult result) {
+        if (result != null) {
+            results.put(post.getId(), result);
+        }
+    }
+
+    // 실패하면 null
+    private AppIdeaAnalysisResult analyzePostWithLlm(RedditPost post) {
+        LlmPromptBuilder.Prompt prompt = promptBuilder.buildPost(post);
+
+        try {
+            AppIdeaAnalysisResult result;
+            if (streamingClient != null) {
+                result = stream(prompt, post.getSubreddit());
+                if (result == null) {
+                    return null;
+                }
+            } else {
+                String response = generate(prompt, post.getSubreddit(), "single");
+                log.debug("LLM response for app idea: {}", response);
+                result = metrics.time(Stage.LLM_PARSE, post.getSubreddit(),
+                        () -> objectMapper.readValue(extractJson(response), AppIdeaAnalysisResult.class));
+            }
+            result.setPostId(post.getId());
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (JsonProcessingException e) {
+            metrics.countParseFailure(post.getSubreddit(), "single");
+            log.error("Failed to parse LLM response for post {}: {}", post.getId(), e.getMessage());
+            return null;
+        } catch (Exception e) {
+            log.error("LLM request failed for post {}: {}", post.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String generate(LlmPromptBuilder.Prompt prompt, String subreddit, String kind) throws InterruptedException {
+        metrics.recordPromptTokens(subreddit, kind, prompt);
+        llmPermits.acquire();
+        try {
+            Response<AiMessage> response = caller.call(() -> send(prompt.text(), subreddit, kind));
+            TokenUsage usage = response.tokenUsage();
+            if (usage != null) {
+                metrics.countTokens(subreddit, usage.inputTokenCount(), usage.outputTokenCount());
+            }
+            log.debug("LLM {} request: {} input tokens (estimated {}, budget {}), {} output tokens (budget {})", kind,
+                    usage != null ? usage.inputTokenCount() : null, prompt.inputTokens(), prompt.inputBudget(),
+                    usage != null ? usage.outputTokenCount() : null, prompt.outputBudget());
+            if (response.finishReason() == FinishReason.LENGTH) {
+                metrics.countOutputTruncated(subreddit, kind);
+                log.warn("LLM {} response hit the output token limit", kind);
+            }
+            return response.content().text();
+        } finally {
+            llmPermits.release();
+        }
+    }
+
+    private Response<AiMessage> send(String prompt, String subreddit, String kind) throws InterruptedException {
+        rateLimiter.acquire();
+        try {
+            return metrics.timeLlmRequest(subreddit, kind, () -> chatModel.generate(UserMessage.from(prompt)));
+        } catch (RuntimeException e) {
+            throw classify(e);
+        }
+    }
+
+    /**
+     * 게시물 하나를 스트리밍으로 분석한다. 응답이 파싱되지 않으면 null.
+     * 대부분의 게시물은 첫 필드(isViable=false)에서 결론이 나므로 나머지 출력 토큰과 대기 시간을 쓰지 않는다.
+     */
+    private AppIdeaAnalysisResult stream(LlmPromptBuilder.Prompt prompt, String subreddit) throws InterruptedException {
+        metrics.recordPromptTokens(subreddit, "stream", prompt);
+        llmPermits.acquire();
+        try {
+            return caller.call(() -> sendStreaming(prompt, subreddit));
+        } finally {
+            llmPermits.release();
+        }
+    }
+
+    private AppIdeaAnalysisResult sendStreaming(LlmPromptBuilder.Prompt prompt, String subreddit)
+            throws InterruptedException {
+        rateLimiter.acquire();
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(llmConfig.getModel())
+                .addUserMessage(prompt.text())
+                .temperature(0.3)
+                .maxCompletionTokens(prompt.outputBudget())
+                .stream(true)
+                .streamOptions(StreamOptions.builder().includeUsage(true).build())
+                .build();
+        StreamingAnalysisParser parser;
+        try {
+            parser = new StreamingAnalysisParser(objectMapper.getFactory());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder text = new StringBuilder();
+        AtomicReference<Usage> usage = new AtomicReference<>();
+        AtomicReference<String> finishReason = new AtomicReference<>();
+        AtomicReference<IOException> parseFailure = new AtomicReference<>();
+        // true면 결론이 나서 생성을 끊은 것
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+
+        Boolean cutShort = metrics.timeLlmRequest(subreddit, "stream", () -> {
+            ResponseHandle handle = streamingClient.chatCompletion(request)
+                    .onPartialResponse(chunk -> {
+                        if (chunk.usage() != null) {
+                            usage.set(chunk.usage());
+                        }
+                        if (done.isDone() || parser.isComplete() || chunk.choices() == null
+                                || chunk.choices().isEmpty()) {
+                            return;
+                        }
+                        ChatCompletionChoice choice = chunk.choices().get(0);
+                        if (choice.finishReason() != null) {
+                            finishReason.set(choice.finishReason());
+                        }
+                        String delta = choice.delta() != null ? choice.delta().content() : null;
+                        if (delta == null) {
+                            return;
+                        }
+                        text.append(delta);
+                        try {
+                            // 객체가 닫혔으면 사용량이 담긴 마지막 조각까지 받는다
+                            if (parser.feed(delta) && !parser.isComplete()) {
+                                done.complete(true);
+                            }
+                        } catch (IOException e) {
+                            parseFailure.set(e);
+                            done.complete(true);
+                        }
+                    })
+                    .onComplete(() -> done.complete(false))
+                    .onError(done::completeExceptionally)
+                    .execute();
+            try {
+                boolean cut = done.get(llmConfig.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                if (cut) {
+                    handle.cancel();
+                }
+                return cut;
+            } catch (ExecutionException e) {
+                throw classify(e.getCause());
+            } catch (TimeoutException e) {
+                handle.cancel();
+                throw new RetryableException("LLM stream timed out after " + llmConfig.getTimeout(), null, e);
+            } catch (InterruptedException e) {
+                handle.cancel();
+                throw e;
+            }
+        });
+
+        Usage reported = usage.get();
+        if (reported != null) {
+            metrics.countTokens(subreddit, reported.promptTokens(), reported.completionTokens());
+        } else {
+            // 끊은 스트림은 사용량을 받지 못한다 - 입력은 추정치, 출력은 받은 만큼 센다
+            metrics.countTokens(subreddit, prompt.inputTokens(), promptBuilder.countTokens(text.toString()));
+        }
+        log.debug("LLM stream: {} output tokens (budget {}), {}", reported != null ? reported.completionTokens()
+                        : promptBuilder.countTokens(text.toString()), prompt.outputBudget(),
+                cutShort ? "stopped early" : "complete");
+        if (parseFailure.get() != null) {
+            metrics.countParseFailure(subreddit, "stream");
+            log.error("Failed to parse streamed LLM response: {}", parseFailure.get().getMessage());
+            return null;
+        }
+        if (cutShort) {
+            metrics.countStreamStoppedEarly(subreddit);
+            return parser.result();
+        }
+        if (!parser.isComplete()) {
+            if ("length".equals(finishReason.get())) {
+                metrics.countOutputTruncated(subreddit, "stream");
+            }
+            metrics.countParseFailure(subreddit, "stream");
+            log.error("Streamed LLM response ended before the result object closed (finish reason {})",
+                    finishReason.get());
+            return null;
+        }
+        return parser.result();
+    }
+
+    /**
+     * 429, 5xx, 타임아웃/연결 오류는 재시도할 수 있는 오류로 바꾼다.
+     * langchain4j는 응답 헤더를 넘겨주지 않으므로 Retry-After 없이 백오프만큼 모든 요청을 멈춘다.
+     * 쿼터 소진(insufficient_quota)이나 4xx는 다시 보내도 실패하므로 그대로 던진다.
+     */
+    private RuntimeException classify(Throwable e) {
+        OpenAiHttpException http = findCause(e, OpenAiHttpException.class);
+        if (http != null) {
+            int code = http.code();
+            if (code == 429 && !String.valueOf(http.getMessage()).contains("insufficient_quota")) {
+                rateLimiter.pauseFor(llmConfig.getRetry().getBaseDelay().multipliedBy(2));
+                return new RetryableException("LLM rate limited (429)", null, e);
+            }
+            if (code == 408 || code >= 500) {
+                return new RetryableException("LLM returned " + code, null, e);
+            }
+            return asRuntime(e);
+        }
+        IOException io = findCause(e, IOException.class);
+        if (io != null) {
+            return new RetryableException("LLM request failed: " + io, null, e);
+        }
+        return asRuntime(e);
+    }
+
+    private static RuntimeException asRuntime(Throwable e) {
+        return e instanceof RuntimeException runtime ? runtime : new IllegalStateException(e);
+    }
+
+    private static <T extends Throwable> T findCause(Throwable e, Class<T> type) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return type.cast(cause);
+            }
+        }
+        return null;
+    }
+
+    private static String normalizePostId(String postId) {
+        if (postId == null) {
+            return null;
+        }
+        String id = postId.trim();
+        return id.startsWith("t3_") ? id.substring(3) : id;
+    }
+
+    static String extractJson(String response) {
+        response = response.replace("```json", "").replace("```", "").trim();
+        int start = response.indexOf("{");
+        int end = response.lastIndexOf("}") + 1;
+        if (start >= 0 && end > start) {
+            return response.substring(start, end);
+        }
+        return response;
+    }
+
+    static String extractJsonArray(String response) {
+        response = response.replace("```json", "").replace("```", "").trim();
+        int start = response.indexOf("[");
+        int end = response.lastIndexOf("]") + 1;
+        if (start >= 0 && end > start) {
+            return response.substring(start, end);
+        }
+        return response;
+    }
+
+    static AppIdeaAnalysisResult generateMockAnalysis(RedditPost post) {
+        AppIdeaAnalysisResult result = new AppIdeaAnalysisResult();
+        result.setPostId(post.getId());
+        result.setMock(true);
+
+        String content = (post.getTitle() + " " + post.getSelftext()).toLowerCase();
+        boolean hasAppPotential = content.contains("app") ||
+                content.contains("wish") ||
+                content.contains("need") ||
+                content.contains("want") ||
+                content.contains("idea") ||
+                content.contains("someone make") ||
+                content.contains("would pay");
+
+        result.setViable(hasAppPotential);
+
+        if (hasAppPotential) {
+            result.setAppName("Mock App for: " + post.getTitle().substring(0, Math.min(30, post.getTitle().length())));
+            result.setProblemSummary("사용자가 겪는 문제에 대한 요약");
+            result.setProposedSolution("앱으로 해결할 수 있는 방안");
+            result.setTargetUsers("일반 사용자");
+            result.setKeyFeatures("기능1, 기능2, 기능3");
+            result.setTechStack("Flutter, Firebase");
+            result.setDifficulty("medium");
+            result.setViabilityScore(6);
+            result.setReasoning("Mock analysis - LLM not available");
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,225 @@
+package com.findcomplain.service;
+
+import com.findcomplain.config.LlmConfig;
+import com.findcomplain.dto.RedditPost;
+import com.findcomplain.text.SentenceTrimmer;
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 분석 프롬프트를 토큰 예산 안에서 만든다.
+ * 고정 템플릿은 미리 조립해서 토큰 수까지 세어두고, 요청마다 제목/본문/댓글만 남은 예산에 맞춰 문장 단위로 줄인다.
+ * 토큰 수는 llm.model의 토크나이저로 세며, 모르는 모델이면 o200k_base로 센다.
+ */
+@Component
+@Slf4j
+public class LlmPromptBuilder {
+
+    private static final String INSTRUCTIONS = """
+            Evaluate if the post describes:
+            1. A real problem people face
+            2. Something that could be solved with an app/software
+            3. Has potential market demand
+            Comments agreeing with the post ("me too", "I'd pay for this") are strong evidence of demand.
+            """;
+
+    private static final String RESULT_FIELDS = """
+              "isViable": true,
+              "appName": "Suggested App Name",
+              "problemSummary": "Clear description of the problem in Korean",
+              "proposedSolution": "How an app could solve this in Korean",
+              "targetUsers": "Who would use this app in Korean",
+              "keyFeatures": "3-5 key features separated by comma in Korean",
+              "techStack": "Recommended tech stack (e.g., Flutter, React Native, etc.)",
+              "difficulty": "easy/medium/hard",
+              "viabilityScore": 7,
+              "reasoning": "Why this is a good app idea in Korean"
+            """;
+
+    private static final String NOT_VIABLE_FIELDS =
+            "\"isViable\":false,\"appName\":\"\",\"problemSummary\":\"\",\"proposedSolution\":\"\",\"targetUsers\":\"\","
+                    + "\"keyFeatures\":\"\",\"techStack\":\"\",\"difficulty\":\"\",\"viabilityScore\":0,"
+                    + "\"reasoning\":\"Not viable because...\"";
+
+    private static final String STRICTNESS = """
+            Be strict: only mark as viable if it's a REAL app idea with clear problem and solution.
+            viabilityScore should be 1-10 (10 being most viable)
+            """;
+
+    private static final String SINGLE_HEADER = """
+            You are an expert startup advisor and app developer. Analyze this Reddit post to see if it contains a viable app idea.
+
+            """;
+
+    private static final String SINGLE_FOOTER = """
+
+            %s
+            Respond ONLY with valid JSON (no markdown):
+            {
+            %s}
+
+            If NOT viable, return:
+            {%s}
+
+            %s""".formatted(INSTRUCTIONS, RESULT_FIELDS, NOT_VIABLE_FIELDS, STRICTNESS);
+
+    private static final String BATCH_HEADER_START =
+            "You are an expert startup advisor and app developer. Analyze each of the following ";
+
+    private static final String BATCH_HEADER_END = " Reddit posts to see if it contains a viable app idea.\n\n";
+
+    private static final String BATCH_FOOTER = """
+
+            %s
+            Respond ONLY with a valid JSON array (no markdown) containing exactly one object per post.
+            Every object MUST include the "postId" of the post it describes:
+            [
+              {
+              "postId": "abc123",
+            %s  }
+            ]
+
+            For a post that is NOT viable, use:
+            {"postId":"abc123",%s}
+
+            %s""".formatted(INSTRUCTIONS, RESULT_FIELDS, NOT_VIABLE_FIELDS, STRICTNESS);
+
+    // 배치 헤더의 게시물 수 자리 - 두 자리 수로 세어둔다
+    private static final String BATCH_SIZE_PLACEHOLDER = "10";
+
+    private static final int MIN_POST_TOKENS = 50;
+
+    /**
+     * @param inputTokens  템플릿을 포함한 프롬프트의 토큰 수
+     * @param inputBudget  입력 토큰 예산 (템플릿이 예산보다 크면 넘을 수 있다)
+     * @param outputBudget 응답에 허용하는 토큰 수
+     */
+    public record Prompt(String text, int inputTokens, int inputBudget, int outputBudget) {
+    }
+
+    private final LlmConfig.Prompt settings;
+    private final Encoding encoding;
+    private final int singleTemplateTokens;
+    private final int batchTemplateTokens;
+
+    public LlmPromptBuilder(LlmConfig llmConfig) {
+        this.settings = llmConfig.getPrompt();
+        EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
+        this.encoding = registry.getEncodingForModel(llmConfig.getModel())
+                .orElseGet(() -> registry.getEncoding(EncodingType.O200K_BASE));
+        this.singleTemplateTokens = countTokens(SINGLE_HEADER) + countTokens(SINGLE_FOOTER);
+        this.batchTemplateTokens = countTokens(BATCH_HEADER_START + BATCH_SIZE_PLACEHOLDER + BATCH_HEADER_END)
+                + countTokens(BATCH_FOOTER);
+        log.debug("Prompt templates use {} (single) / {} (batch) tokens with {}", singleTemplateTokens,
+                batchTemplateTokens, encoding.getName());
+    }
+
+    public int countTokens(String text) {
+        return text.isEmpty() ? 0 : encoding.countTokensOrdinary(text);
+    }
+
+    public Prompt buildPost(RedditPost post) {
+        int postBudget = Math.max(MIN_POST_TOKENS, settings.getInputTokenBudget() - singleTemplateTokens);
+        PostSection section = postSection(post, null, postBudget);
+        String text = SINGLE_HEADER + section.text() + SINGLE_FOOTER;
+        return new Prompt(text, singleTemplateTokens + section.tokens(),
+                Math.max(settings.getInputTokenBudget(), singleTemplateTokens + MIN_POST_TOKENS),
+                settings.getOutputTokensPerPost());
+    }
+
+    public Prompt buildBatch(List<RedditPost> batch) {
+        int postBudget = Math.max(MIN_POST_TOKENS, settings.getBatchPostTokenBudget());
+        StringBuilder text = new StringBuilder(BATCH_HEADER_START).append(batch.size()).append(BATCH_HEADER_END);
+        int tokens = batchTemplateTokens;
+        for (RedditPost post : batch) {
+            PostSection section = postSection(post, post.getId(), postBudget);
+            text.append(section.text()).append('\n');
+            tokens += section.tokens() + 1;
+        }
+        text.setLength(text.length() - 1);
+        text.append(BATCH_FOOTER);
+        return new Prompt(text.toString(), tokens, batchTemplateTokens + postBudget * batch.size(),
+                settings.getOutputTokensPerPost() * batch.size());
+    }
+
+    /**
+     * 게시물 하나의 제목/본문/서브레딧/댓글 부분. 제목은 titleMaxTokens까지, 남은 예산은 본문과 댓글이 나눈다.
+     * 둘 다 들어가지 않으면 댓글에 commentShare 만큼을 보장하고 나머지를 본문에 준 뒤,
+     * 본문이 다 쓰지 않은 예산은 다시 댓글에 준다.
+     */
+    private PostSection postSection(RedditPost post, String postId, int budget) {
+        StringBuilder text = new StringBuilder();
+        if (postId != null) {
+            text.append("### postId: ").append(postId).append('\n');
+        }
+        String title = SentenceTrimmer.trim(post.getTitle(), Math.min(settings.getTitleMaxTokens(), budget),
+                this::countTokens);
+        text.append("Title: ").append(title).append('\n');
+        text.append("Content: ");
+        int bodyAt = text.length();
+        text.append("\nSubreddit: r/").append(post.getSubreddit()).append('\n');
+
+        int remaining = budget - countTokens(text.toString());
+        String body = post.getSelftext() == null ? "" : post.getSelftext();
+        List<String> comments = commentLines(post);
+        int bodyTokens = countTokens(body);
+        int commentTokens = comments.stream().mapToInt(this::countTokens).sum();
+
+        if (bodyTokens + commentTokens > remaining) {
+            int commentGuarantee = Math.min(commentTokens, (int) (remaining * settings.getCommentShare()));
+            body = SentenceTrimmer.trim(body, Math.max(0, remaining - commentGuarantee), this::countTokens);
+            bodyTokens = countTokens(body);
+            comments = fitLines(comments, remaining - bodyTokens);
+            commentTokens = comments.stream().mapToInt(this::countTokens).sum();
+        }
+
+        text.insert(bodyAt, body);
+        comments.forEach(text::append);
+        String section = text.toString();
+        return new PostSection(section, countTokens(section));
+    }
+
+    // 수요 요약 한 줄과 점수순 상위 댓글 - 댓글을 못 가져온 게시물은 빈 목록
+    private static List<String> commentLines(RedditPost post) {
+        if (post.getCommentDemand() == null) {
+            return List.of();
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("Comment demand: " + post.getCommentDemand().describe() + "\n");
+        if (post.getComments() != null && !post.getComments().isEmpty()) {
+            lines.add("Top comments:\n");
+            for (RedditPost.RedditComment comment : post.getComments()) {
+                lines.add("- [" + comment.getScore() + "] " + comment.getBody() + "\n");
+            }
+        }
+        return lines;
+    }
+
+    // 앞에서부터 예산 안에 들어가는 줄만 - 댓글 목록 머리말만 남으면 뺀다
+    private List<String> fitLines(List<String> lines, int budget) {
+        int used = 0;
+        int count = 0;
+        for (String line : lines) {
+            int cost = countTokens(line);
+            if (used + cost > budget) {
+                break;
+            }
+            used += cost;
+            count++;
+        }
+        if (count == 2 && lines.size() > 2) {
+            count = 1;
+        }
+        return lines.subList(0, count);
+    }
+
+    private record PostSection(String text, int tokens) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.findcomplain.service;
+
+import com.findcomplain.config.NearDuplicateConfig;
+import com.findcomplain.domain.AppIdea;
+import com.findcomplain.dto.IdeaFingerprint;
+import com.findcomplain.dto.RedditPost;
+import com.findcomplain.repository.AppIdeaRepository;
+import com.findcomplain.text.SimHash;
+import com.findcomplain.text.SimHashIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * 다른 서브레딧에 다시 올라오거나 표현만 바꾼 같은 불평을 SimHash로 찾아낸다.
+ * 저장된 원본 아이디어의 지문을 메모리 LSH 인덱스에 올려두고, LLM 분석 전에 조회한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NearDuplicateDetector {
+
+    private final NearDuplicateConfig config;
+    private final AppIdeaRepository appIdeaRepository;
+
+    private final SimHashIndex index = new SimHashIndex();
+
+    private volatile LocalDateTime lastRefresh = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        if (config.getMaxDistance() > SimHashIndex.MAX_GUARANTEED_DISTANCE) {
+            log.warn("near-duplicate.max-distance {} exceeds {}, the distance the index always finds; "
+                    + "farther duplicates will be missed at random", config.getMaxDistance(),
+                    SimHashIndex.MAX_GUARANTEED_DISTANCE);
+        }
+        refresh();
+        log.info("Near-duplicate index loaded with {} fingerprints", index.size());
+    }
+
+    // 다른 인스턴스가 저장한 아이디어 반영 - 시각 경계에서 놓치지 않도록 겹쳐서 읽고, 중복 ID는 인덱스가 무시한다
+    @Scheduled(fixedDelayString = "${near-duplicate.refresh-interval:PT1M}",
+            initialDelayString = "${near-duplicate.refresh-interval:PT1M}")
+    public void refresh() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        LocalDateTime since = lastRefresh.minusMinutes(5);
+        lastRefresh = LocalDateTime.now();
+        for (IdeaFingerprint fingerprint : appIdeaRepository.findCanonicalFingerprintsSince(since)) {
+            index.add(fingerprint.id(), fingerprint.simhash());
+        }
+    }
+
+    public long fingerprint(RedditPost post) {
+        return SimHash.fingerprint(post.getTitle(), post.getSelftext());
+    }
+
+    /**
+     * 지문이 가까운 기존 원본 아이디어의 ID.
+     */
+    public OptionalLong findCanonical(long fingerprint) {
+        if (!config.isEnabled()) {
+            return OptionalLong.empty();
+        }
+        return index.findNearest(fingerprint, config.getMaxDistance());
+    }
+
+    public void register(List<AppIdea> savedIdeas) {
+        for (AppIdea idea : savedIdeas) {
+            if (idea.getSimhash() != null && idea.getCanonicalIdeaId() == null) {
+                index.add(idea.getId(), idea.getSimhash());
+            }
+        }
+    }
+}
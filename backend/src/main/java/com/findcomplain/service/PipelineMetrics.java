@@ -0,0 +1,204 @@
+package com.findcomplain.service;
+
+import com.findcomplain.dto.PipelineSnapshot;
+import com.findcomplain.support.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * discovery 파이프라인 지표.
+ * 단계는 Observation으로 감싸므로 discovery.stage 타이머(stage, subreddit 태그)가 기록되고,
+ * tracing bridge를 추가하면 같은 지점이 span이 된다.
+ * reddit.parse는 reddit.fetch 안에, llm.parse는 llm.analysis 안에 포함되는 하위 단계다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+
+    public static final String STAGE = "discovery.stage";
+    public static final String LLM_REQUEST = "discovery.llm.request";
+    public static final String POSTS = "discovery.posts";
+
+    // DefaultMeterObservationHandler가 붙이는 태그 - 직접 기록하는 타이머도 같은 태그 구성을 써야 한다
+    private static final String ERROR_TAG = "error";
+    private static final String NO_ERROR = "none";
+
+    public enum Stage {
+        REDDIT_THROTTLE("reddit.throttle"),
+        REDDIT_FETCH("reddit.fetch"),
+        REDDIT_PARSE("reddit.parse"),
+        REDDIT_COMMENTS("reddit.comments"),
+        DEDUP_LOOKUP("dedup.lookup"),
+        ENQUEUE("queue.enqueue"),
+        QUEUE_CLAIM("queue.claim"),
+        NEAR_DUPLICATE("near_duplicate"),
+        PREFILTER("prefilter"),
+        LLM_ANALYSIS("llm.analysis"),
+        LLM_PARSE("llm.parse"),
+        PERSIST("persist");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public enum PostOutcome {
+        FETCHED, RETRIED, KNOWN, NEAR_DUPLICATE, PREFILTERED, ANALYZED, DEFERRED, SAVED;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+
+    public <T, E extends Throwable> T time(Stage stage, String subreddit,
+                                           Observation.CheckedCallable<T, E> work) throws E {
+        return Observation.createNotStarted(STAGE, observationRegistry)
+                .lowCardinalityKeyValue("stage", stage.tag)
+                .lowCardinalityKeyValue("subreddit", key(subreddit))
+                .observeChecked(work);
+    }
+
+    // 이미 측정된 시간 (예: rate limiter 대기)
+    public void record(Stage stage, String subreddit, long nanos) {
+        Timer.builder(STAGE)
+                .tags(Tags.of("stage", stage.tag, "subreddit", key(subreddit), ERROR_TAG, NO_ERROR))
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void countPosts(String subreddit, PostOutcome outcome, int count) {
+        if (count > 0) {
+            Counter.builder(POSTS)
+                    .tags("subreddit", key(subreddit), "outcome", outcome.tag())
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+    }
+
+    /**
+     * LLM 요청 하나. kind는 batch/single/stream이며 지연 분포는 히스토그램으로 내보낸다.
+     */
+    public <T, E extends Throwable> T timeLlmRequest(String subreddit, String kind,
+                                                     Observation.CheckedCallable<T, E> request) throws E {
+        return Observation.createNotStarted(LLM_REQUEST, observationRegistry)
+                .lowCardinalityKeyValue("kind", kind)
+                .lowCardinalityKeyValue("subreddit", key(subreddit))
+                .observeChecked(request);
+    }
+
+    public void countTokens(String subreddit, Integer inputTokens, Integer outputTokens) {
+        if (inputTokens != null) {
+            tokenCounter(subreddit, "input").increment(inputTokens);
+        }
+        if (outputTokens != null) {
+            tokenCounter(subreddit, "output").increment(outputTokens);
+        }
+    }
+
+    /**
+     * 요청별 입력 토큰(추정)과 입력/출력 예산. 실제 사용량(discovery.llm.tokens)과 비교해서
+     * llm.prompt 예산으로 비용/지연과 품질을 맞춘다.
+     */
+    public void recordPromptTokens(String subreddit, String kind, LlmPromptBuilder.Prompt prompt) {
+        promptTokens(subreddit, kind, "input").record(prompt.inputTokens());
+        promptTokens(subreddit, kind, "input_budget").record(prompt.inputBudget());
+        promptTokens(subreddit, kind, "output_budget").record(prompt.outputBudget());
+    }
+
+    // 출력 토큰 한도에 걸려 잘린 응답 - 자주 나오면 output-tokens-per-post를 올린다
+    public void countOutputTruncated(String subreddit, String kind) {
+        meterRegistry.counter("discovery.llm.output.truncated", "subreddit", key(subreddit), "kind", kind).increment();
+    }
+
+    // 스트리밍 응답에서 저장하지 않을 결과로 결론이 나서 생성을 끊은 요청
+    public void countStreamStoppedEarly(String subreddit) {
+        meterRegistry.counter("discovery.llm.stream.stopped", "subreddit", key(subreddit)).increment();
+    }
+
+    public void countParseFailure(String subreddit, String kind) {
+        meterRegistry.counter("discovery.llm.parse.failures", "subreddit", key(subreddit), "kind", kind).increment();
+    }
+
+    // 서킷 상태 게이지 (0 closed, 1 open, 2 half_open)
+    public void registerCircuitBreaker(CircuitBreaker breaker) {
+        Gauge.builder("discovery.circuit.state", breaker, b -> b.state().ordinal())
+                .tag("client", breaker.getName())
+                .register(meterRegistry);
+    }
+
+    // 재시도 횟수를 넘겨 분석을 포기한 게시물
+    public void countDeferralDropped(String subreddit, int count) {
+        if (count > 0) {
+            meterRegistry.counter("discovery.deferred.dropped", "subreddit", key(subreddit)).increment(count);
+        }
+    }
+
+    // Reddit 디스크 응답 캐시 결과 (hit / revalidated / miss / offline_miss)
+    public void countResponseCache(String subreddit, String result) {
+        meterRegistry.counter("discovery.reddit.cache", "subreddit", key(subreddit), "result", result).increment();
+    }
+
+    // 새 게시물이 크롤링 limit보다 많아서 watermark까지 내려가지 못한 횟수 - 자주 나오면 fetch depth가 모자란 것이다
+    public void countCrawlGap(String subreddit) {
+        meterRegistry.counter("discovery.crawl.gaps", "subreddit", key(subreddit)).increment();
+    }
+
+    // 원문 본문 cold storage로 옮긴 행 수와 압축 전/후 바이트 - 두 bytes 카운터의 비가 압축률이다
+    public void countContentArchived(long rows, long originalBytes, long compressedBytes) {
+        if (rows > 0) {
+            meterRegistry.counter("discovery.archive.rows").increment(rows);
+            meterRegistry.counter("discovery.archive.bytes", "kind", "original").increment(originalBytes);
+            meterRegistry.counter("discovery.archive.bytes", "kind", "compressed").increment(compressedBytes);
+        }
+    }
+
+    public PipelineSnapshot snapshot(String subreddit) {
+        String key = key(subreddit);
+        Map<String, Duration> stageTime = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            double nanos = meterRegistry.find(STAGE).tags("stage", stage.tag, "subreddit", key).timers().stream()
+                    .mapToDouble(timer -> timer.totalTime(TimeUnit.NANOSECONDS))
+                    .sum();
+            stageTime.put(stage.tag, Duration.ofNanos((long) nanos));
+        }
+        Map<String, Long> posts = new LinkedHashMap<>();
+        for (PostOutcome outcome : PostOutcome.values()) {
+            Counter counter = meterRegistry.find(POSTS).tags("subreddit", key, "outcome", outcome.tag()).counter();
+            posts.put(outcome.tag(), counter != null ? (long) counter.count() : 0L);
+        }
+        return new PipelineSnapshot(stageTime, posts);
+    }
+
+    private DistributionSummary promptTokens(String subreddit, String kind, String type) {
+        return DistributionSummary.builder("discovery.llm.prompt.tokens")
+                .tags("subreddit", key(subreddit), "kind", kind, "type", type)
+                .register(meterRegistry);
+    }
+
+    private Counter tokenCounter(String subreddit, String type) {
+        return meterRegistry.counter("discovery.llm.tokens", "subreddit", key(subreddit), "type", type);
+    }
+
+    private static String key(String subreddit) {
+        return subreddit == null ? "unknown" : subreddit.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,142 @@
+package com.findcomplain.service;
+
+import com.findcomplain.config.PostQueueConfig;
+import com.findcomplain.domain.QueuedPost;
+import com.findcomplain.dto.RedditPost;
+import com.findcomplain.repository.QueuedPostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 크롤링 단계와 분석 단계 사이의 Postgres 작업 큐 (post_queue).
+ * 크롤링은 게시물을 넣고 바로 watermark를 올리므로, 분석 중에 인스턴스가 죽어도 다시 가져오지 않고
+ * visibility timeout이 지나면 다른 워커가 이어서 분석한다. 여러 인스턴스가 같은 큐를 나눠 처리한다.
+ * 분석에 실패한 게시물은 지수 백오프 뒤에 다시 보이고, max-attempts 번 가져간 뒤에도 끝나지 않으면 버린다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostQueueService {
+
+    private final PostQueueConfig queueConfig;
+    private final QueuedPostRepository queuedPostRepository;
+    private final PipelineMetrics metrics;
+    private final ClusterMembershipService cluster;
+
+    // 이미 큐에 있는 게시물은 건너뛰고 실제로 넣은 수를 반환
+    public int enqueue(String subreddit, List<RedditPost> posts) {
+        return queuedPostRepository.enqueue(posts.stream().map(post -> toQueued(subreddit, post)).toList());
+    }
+
+    /**
+     * 보이는 항목을 claim-batch-size 개까지 가져간다. subreddit이 null이면 모든 서브레딧에서 가져온다.
+     * 이미 max-attempts 번 가져간 항목(처리하다 인스턴스가 계속 죽는 게시물)은 여기서 버린다.
+     */
+    public List<QueuedPost> claim(String subreddit) {
+        List<QueuedPost> claimed = queuedPostRepository.claim(subreddit == null ? null : key(subreddit),
+                cluster.nodeId(), Math.max(1, queueConfig.getClaimBatchSize()), queueConfig.getVisibilityTimeout());
+
+        List<QueuedPost> usable = new ArrayList<>(claimed.size());
+        Map<String, List<String>> exhausted = new HashMap<>();
+        for (QueuedPost post : claimed) {
+            if (post.getAttempts() > queueConfig.getMaxAttempts()) {
+                exhausted.computeIfAbsent(post.getSubreddit(), s -> new ArrayList<>()).add(post.getRedditPostId());
+            } else {
+                usable.add(post);
+            }
+        }
+        exhausted.forEach((sub, ids) -> {
+            queuedPostRepository.deleteClaimed(ids, cluster.nodeId());
+            metrics.countDeferralDropped(sub, ids.size());
+            log.warn("Dropped {} posts of r/{} that were claimed {} times without finishing",
+                    ids.size(), sub, queueConfig.getMaxAttempts());
+        });
+        return usable;
+    }
+
+    public void complete(Collection<String> ids) {
+        queuedPostRepository.deleteClaimed(ids, cluster.nodeId());
+    }
+
+    // 분석에 실패한 게시물을 미루거나, 시도 횟수를 다 썼으면 버린다
+    public void retryLater(String subreddit, Collection<QueuedPost> failed) {
+        if (failed.isEmpty()) {
+            return;
+        }
+        Map<String, Duration> delays = new HashMap<>();
+        List<String> dropped = new ArrayList<>();
+        for (QueuedPost post : failed) {
+            if (post.getAttempts() >= queueConfig.getMaxAttempts()) {
+                dropped.add(post.getRedditPostId());
+                log.warn("Giving up on post {} of r/{} after {} failed analyses",
+                        post.getRedditPostId(), subreddit, post.getAttempts());
+            } else {
+                delays.put(post.getRedditPostId(), backoff(post.getAttempts()));
+            }
+        }
+        queuedPostRepository.retryLater(delays, cluster.nodeId());
+        queuedPostRepository.deleteClaimed(dropped, cluster.nodeId());
+        metrics.countDeferralDropped(subreddit, dropped.size());
+        log.info("Deferred {} posts of r/{} for a later analysis", delays.size(), subreddit);
+    }
+
+    // 처리하지 않은 항목(취소 등)을 시도 횟수 없이 바로 돌려준다
+    public void release(Collection<String> ids) {
+        queuedPostRepository.release(ids, cluster.nodeId());
+    }
+
+    // 이 서브레딧에 지금 가져갈 수 있거나 누군가 처리 중인 항목이 남았는지
+    public boolean hasOutstanding(String subreddit) {
+        return queuedPostRepository.countOutstanding(key(subreddit)) > 0;
+    }
+
+    // baseDelay * 2^(attempts-1), maxDelay 상한, ±20% 지터
+    private Duration backoff(int attempts) {
+        long maxMillis = queueConfig.getMaxDelay().toMillis();
+        long millis = queueConfig.getBaseDelay().toMillis();
+        for (int i = 1; i < attempts && millis < maxMillis; i++) {
+            millis *= 2;
+        }
+        millis = Math.min(millis, maxMillis);
+        return Duration.ofMillis(Math.round(millis * ThreadLocalRandom.current().nextDouble(0.8, 1.2)));
+    }
+
+    private static QueuedPost toQueued(String subreddit, RedditPost post) {
+        return QueuedPost.builder()
+                .redditPostId(post.getId())
+                .subreddit(key(subreddit))
+                .subredditName(subreddit)
+                .title(post.getTitle())
+                .selftext(post.getSelftext())
+                .author(post.getAuthor())
+                .score(post.getScore())
+                .postCreatedUtc(post.getCreatedUtc())
+                .build();
+    }
+
+    public static RedditPost toPost(QueuedPost queued) {
+        return RedditPost.builder()
+                .id(queued.getRedditPostId())
+                .subreddit(queued.getSubredditName())
+                .title(queued.getTitle())
+                .selftext(queued.getSelftext())
+                .author(queued.getAuthor())
+                .score(queued.getScore() == null ? 0 : queued.getScore())
+                .createdUtc(queued.getPostCreatedUtc())
+                .build();
+    }
+
+    private static String key(String subreddit) {
+        return subreddit.toLowerCase(Locale.ROOT);
+    }
+}
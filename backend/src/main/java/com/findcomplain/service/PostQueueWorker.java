@@ -0,0 +1,63 @@
+package com.findcomplain.service;
+
+import com.findcomplain.config.PostQueueConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * post_queue를 비우는 백그라운드 워커. 인스턴스마다 돌며 어느 인스턴스가 크롤링한 게시물이든 나눠 분석한다.
+ * 재시작 전에 남은 항목, 재시도 시각이 된 항목도 여기서 처리된다. LLM 동시 호출 수는 워커 수가 아니라
+ * llm.max-concurrent-requests로 제한된다.
+ */
+@Service
+@Slf4j
+public class PostQueueWorker {
+
+    private final AppIdeaService appIdeaService;
+    private final PostQueueConfig queueConfig;
+    private final ExecutorService discoveryExecutor;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private volatile boolean stopped;
+
+    public PostQueueWorker(AppIdeaService appIdeaService, PostQueueConfig queueConfig,
+                           @Qualifier("discoveryExecutor") ExecutorService discoveryExecutor) {
+        this.appIdeaService = appIdeaService;
+        this.queueConfig = queueConfig;
+        this.discoveryExecutor = discoveryExecutor;
+    }
+
+    // 큐가 비면 워커가 끝나고, 다음 poll에서 모자란 만큼 다시 띄운다
+    @Scheduled(initialDelayString = "${post-queue.poll-interval:PT5S}",
+            fixedDelayString = "${post-queue.poll-interval:PT5S}")
+    public void poll() {
+        while (!stopped && running.get() < queueConfig.getWorkers()) {
+            running.incrementAndGet();
+            discoveryExecutor.submit(this::work);
+        }
+    }
+
+    // 종료할 때 지금 배치까지만 끝낸다 - 남은 항목은 큐에 그대로 있다
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+    }
+
+    private void work() {
+        try {
+            while (!stopped && appIdeaService.processQueuedBatch()) {
+                // 가져갈 항목이 있는 동안 계속
+            }
+        } catch (RuntimeException e) {
+            log.error("Post queue worker failed: {}", e.getMessage());
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+}
@@ -1,103 +1,565 @@
 package com.findcomplain.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.findcomplain.config.RedditApiConfig;
+import com.findcomplain.config.ResilienceSettings;
+import com.findcomplain.config.RedditApiConfig.Cache.Mode;
+import com.findcomplain.domain.SubredditCrawlState;
+import com.findcomplain.dto.CommentDemand;
+import com.findcomplain.dto.CrawlBatch;
+import com.findcomplain.dto.RedditListing;
 import com.findcomplain.dto.RedditPost;
-import lombok.RequiredArgsConstructor;
+import com.findcomplain.repository.SubredditCrawlStateRepository;
+import com.findcomplain.service.PipelineMetrics.Stage;
+import com.findcomplain.support.CircuitBreaker;
+import com.findcomplain.support.DiskResponseCache;
+import com.findcomplain.support.ResilientCaller;
+import com.findcomplain.support.RetryableException;
+import com.findcomplain.support.TokenBucketRateLimiter;
+import com.findcomplain.support.UpstreamUnavailableException;
+import com.findcomplain.text.AhoCorasickMatcher;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RedditCrawlerService {
 
     private final RedditApiConfig config;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WebClient redditWebClient;
+    private final RedditListingParser listingParser;
+    private final SubredditCrawlStateRepository crawlStateRepository;
+    private final PipelineMetrics metrics;
+    private final ExecutorService discoveryExecutor;
 
-    public List<RedditPost> fetchPosts(String subreddit, List<String> keywords, int limit) {
-        List<RedditPost> posts;
+    // Reddit listing 한 페이지의 최대 크기
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_COMMENT_CHARS = 300;
+
+    private static final String RATELIMIT_REMAINING = "X-Ratelimit-Remaining";
+    private static final String RATELIMIT_RESET = "X-Ratelimit-Reset";
+
+    // 429에 Retry-After가 없을 때 모든 요청을 멈추는 시간
+    private static final Duration DEFAULT_THROTTLE_PAUSE = Duration.ofSeconds(10);
+
+    // 병렬 discovery에서 모든 스레드가 공유하는 Reddit 요청 제한 - X-Ratelimit-* 헤더로 속도를 맞춘다
+    private TokenBucketRateLimiter rateLimiter;
+
+    // 429/5xx 재시도 + 서킷 브레이커
+    private ResilientCaller caller;
+
+    // 동시에 진행 중인 댓글 요청 수 제한 (모든 서브레딧 실행이 공유)
+    private Semaphore commentPermits;
+    private AhoCorasickMatcher demandMatcher;
+
+    // 디스크 응답 캐시 (mode가 DISABLED면 null)
+    private DiskResponseCache responseCache;
+
+    public RedditCrawlerService(RedditApiConfig config,
+                                WebClient redditWebClient,
+                                RedditListingParser listingParser,
+                                SubredditCrawlStateRepository crawlStateRepository,
+                                PipelineMetrics metrics,
+                                @Qualifier("discoveryExecutor") ExecutorService discoveryExecutor) {
+        this.config = config;
+        this.redditWebClient = redditWebClient;
+        this.listingParser = listingParser;
+        this.crawlStateRepository = crawlStateRepository;
+        this.metrics = metrics;
+        this.discoveryExecutor = discoveryExecutor;
+    }
+
+    @PostConstruct
+    public void init() {
+        rateLimiter = TokenBucketRateLimiter.perMinute(config.getRateLimitPerMinute(), config.getRateLimitBurst());
+        ResilienceSettings.Retry retry = config.getRetry();
+        CircuitBreaker breaker = new CircuitBreaker("reddit", config.getCircuitBreaker().getFailureThreshold(),
+                config.getCircuitBreaker().getOpenDuration());
+        caller = new ResilientCaller(breaker, retry.getMaxAttempts(), retry.getBaseDelay(), retry.getMaxDelay());
+        metrics.registerCircuitBreaker(breaker);
+        commentPermits = new Semaphore(Math.max(1, config.getComments().getMaxConcurrent()), true);
+        demandMatcher = new AhoCorasickMatcher(config.getComments().getDemandPhrases());
+
+        RedditApiConfig.Cache cache = config.getCache();
+        if (cache.getMode() != Mode.DISABLED) {
+            try {
+                responseCache = new DiskResponseCache(Path.of(cache.getDirectory()), cache.getMaxSizeBytes());
+                log.info("Reddit response cache at {} ({} mode, ttl {}, {} KB used)", cache.getDirectory(),
+                        cache.getMode(), cache.getTtl(), responseCache.sizeBytes() / 1024);
+            } catch (IOException e) {
+                log.warn("Reddit response cache disabled, cannot use {}: {}", cache.getDirectory(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 마지막으로 처리한 게시물 이후의 새 게시물을 최대 limit개까지 가져온다.
+     * new 리스팅을 after 커서로 따라가다가 high-water mark에 도달하면 중단한다. limit이 남으면 이전 크롤링이 남긴
+     * 빈 구간(backfill)을 이어서 가져온다. 처리가 끝난 뒤 {@link #advanceWatermark}를 호출해야
+     * 다음 실행에서 같은 게시물을 건너뛰고 빈 구간을 기억한다.
+     *
+     * @throws UpstreamUnavailableException 재시도 후에도 Reddit이 응답하지 않거나 서킷이 열려 있을 때
+     */
+    public CrawlBatch fetchPosts(String subreddit, List<String> keywords, int limit) {
+        CrawlBatch batch;
 
         if (config.isMockMode()) {
             log.info("Using mock mode for Reddit API");
-            posts = generateMockPosts(subreddit, limit);
+            batch = CrawlBatch.of(generateMockPosts(subreddit, limit));
         } else {
             try {
-                posts = fetchPublicJsonApi(subreddit, limit);
-            } catch (Exception e) {
-                log.error("Failed to fetch from Reddit API, falling back to mock data", e);
-                posts = generateMockPosts(subreddit, limit);
+                batch = fetchNewPosts(subreddit, limit);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return CrawlBatch.of(List.of());
+            } catch (IOException e) {
+                // 실패를 mock 게시물로 가리지 않는다 - 이번 실행은 실패로 끝나고 watermark는 그대로
+                throw new UpstreamUnavailableException("Failed to fetch r/" + subreddit + ": " + e.getMessage(), e);
             }
         }
 
-        return posts.stream()
+        List<RedditPost> sorted = batch.posts().stream()
                 .sorted(Comparator.comparingInt(RedditPost::getScore).reversed())
-                .limit(5)
                 .toList();
+        return new CrawlBatch(sorted, batch.newPosts(), batch.backfill());
     }
 
-    private List<RedditPost> fetchPublicJsonApi(String subreddit, int limit) {
-        log.info("Fetching posts from r/{} using public JSON API", subreddit);
+    /**
+     * 처리한 게시물 중 가장 최신 게시물로 서브레딧의 high-water mark를 올리고, 남은 빈 구간을 기록한다.
+     */
+    @Transactional
+    public void advanceWatermark(String subreddit, CrawlBatch processed) {
+        if (config.isMockMode()) {
+            return;
+        }
 
-        WebClient client = WebClient.builder()
-                .baseUrl("https://www.reddit.com")
-                .defaultHeader("User-Agent", config.getUserAgent())
-                .build();
+        SubredditCrawlState state = crawlStateRepository.findById(stateKey(subreddit))
+                .orElseGet(() -> SubredditCrawlState.builder().subreddit(stateKey(subreddit)).build());
 
-        String response = client.get()
-                .uri("/r/{subreddit}/hot.json?limit={limit}", subreddit, limit)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+        Optional<RedditPost> newest = processed.posts().stream().max(Comparator.comparing(RedditPost::getCreatedUtc));
+        if (newest.isPresent() && (state.getLastPostCreatedUtc() == null
+                || newest.get().getCreatedUtc().isAfter(state.getLastPostCreatedUtc()))) {
+            state.setLastPostId(newest.get().getId());
+            state.setLastPostCreatedUtc(newest.get().getCreatedUtc());
+            log.debug("Advanced watermark of r/{} to {} ({})", subreddit, newest.get().getId(),
+                    newest.get().getCreatedUtc());
+        }
 
-        List<RedditPost> posts = new ArrayList<>();
+        CrawlBatch.Backfill backfill = processed.backfill();
+        state.setBackfillAfterId(backfill != null ? backfill.afterId() : null);
+        state.setBackfillUntilCreatedUtc(backfill != null ? backfill.untilCreatedUtc() : null);
+        state.setBackfillUntilPostId(backfill != null ? backfill.untilPostId() : null);
+        crawlStateRepository.save(state);
+    }
 
-        try {
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode children = root.path("data").path("children");
+    /**
+     * LLM으로 보낼 후보 게시물들의 댓글을 병렬로 가져와서 상위 댓글과 수요 신호 요약을 채운다.
+     * 요청은 공유 rate limiter를 거치고 동시에 max-concurrent 개까지만 진행한다.
+     * time-budget 안에 끝나지 않은 요청은 취소하고, 그 게시물은 댓글 없이 분석된다.
+     */
+    public void attachComments(String subreddit, List<RedditPost> posts) {
+        RedditApiConfig.Comments settings = config.getComments();
+        if (config.isMockMode() || !settings.isEnabled() || posts.isEmpty()) {
+            return;
+        }
 
-            for (JsonNode child : children) {
-                JsonNode data = child.path("data");
+        List<Callable<FetchedComments>> tasks = posts.stream()
+                .<Callable<FetchedComments>>map(post -> () -> fetchComments(post, settings))
+                .toList();
+
+        long start = System.nanoTime();
+        List<Future<FetchedComments>> futures;
+        try {
+            futures = metrics.time(Stage.REDDIT_COMMENTS, subreddit, () ->
+                    discoveryExecutor.invokeAll(tasks, settings.getTimeBudget().toMillis(), TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
 
-                // 광고나 고정 게시물 제외
-                if (data.path("stickied").asBoolean() || data.path("is_video").asBoolean()) {
-                    continue;
+        // 게시물에는 여기서, 이 스레드에서만 쓴다 - 취소된 작업이 파싱 중이면 끝까지 돌 수 있는데,
+        // 그 결과는 버려지므로 프롬프트를 만드는 쪽과 같은 게시물을 동시에 건드리지 않는다
+        int timedOut = 0;
+        int failed = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            Future<FetchedComments> future = futures.get(i);
+            switch (future.state()) {
+                case SUCCESS -> {
+                    FetchedComments fetched = future.resultNow();
+                    posts.get(i).setComments(fetched.comments());
+                    posts.get(i).setCommentDemand(fetched.demand());
+                }
+                case FAILED -> {
+                    failed++;
+                    log.debug("Failed to fetch comments for a post in r/{}: {}", subreddit,
+                            future.exceptionNow().toString());
                 }
+                default -> timedOut++;
+            }
+        }
+        log.info("Fetched comments for {}/{} posts of r/{} in {} ms ({} over time budget, {} failed)",
+                posts.size() - timedOut - failed, posts.size(), subreddit,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), timedOut, failed);
+    }
+
+    private record FetchedComments(List<RedditPost.RedditComment> comments, CommentDemand demand) {
+    }
+
+    private FetchedComments fetchComments(RedditPost post, RedditApiConfig.Comments settings) throws Exception {
+        commentPermits.acquire();
+        try {
+            int topK = Math.max(1, settings.getTopK());
+            // 점수가 가장 낮은 댓글이 head - 상위 K개만 남긴다
+            PriorityQueue<RedditPost.RedditComment> top =
+                    new PriorityQueue<>(topK + 1, Comparator.comparingInt(RedditPost.RedditComment::getScore));
+            DemandTally demand = new DemandTally();
+
+            URI uri = UriComponentsBuilder.fromUriString(config.getBaseUrl())
+                    .path("/r/{subreddit}/comments/{id}.json")
+                    .queryParam("sort", "top")
+                    .queryParam("limit", settings.getLimit())
+                    .queryParam("depth", settings.getDepth())
+                    .buildAndExpand(post.getSubreddit(), post.getId())
+                    .encode()
+                    .toUri();
+            fetchJson(uri, post.getSubreddit(), body -> {
+                listingParser.parseComments(new ByteArrayInputStream(body), comment -> {
+                    demand.add(comment);
+                    top.add(comment);
+                    if (top.size() > topK) {
+                        top.poll();
+                    }
+                });
+                return null;
+            });
+
+            List<RedditPost.RedditComment> comments = new ArrayList<>(top);
+            comments.sort(Comparator.comparingInt(RedditPost.RedditComment::getScore).reversed());
+            comments.forEach(comment -> comment.setBody(truncateComment(comment.getBody())));
+            return new FetchedComments(comments, demand.toDemand());
+        } finally {
+            commentPermits.release();
+        }
+    }
+
+    private static String truncateComment(String body) {
+        String text = body.strip().replaceAll("\\s+", " ");
+        return text.length() > MAX_COMMENT_CHARS ? text.substring(0, MAX_COMMENT_CHARS) + "..." : text;
+    }
+
+    // 댓글마다 수요 구문이 들어 있는지 세고, 구문별로 그 구문이 나온 댓글 수를 센다
+    private final class DemandTally {
+
+        private final Map<String, Integer> phraseCounts = new LinkedHashMap<>();
+        private int scanned;
+        private int demandComments;
+        private int demandScore;
+
+        void add(RedditPost.RedditComment comment) {
+            scanned++;
+            Set<String> matched = new HashSet<>();
+            demandMatcher.match(comment.getBody(),
+                    (patternIndex, start, end) -> matched.add(demandMatcher.getPatterns().get(patternIndex)));
+            if (!matched.isEmpty()) {
+                demandComments++;
+                demandScore += Math.max(0, comment.getScore());
+                matched.forEach(phrase -> phraseCounts.merge(phrase, 1, Integer::sum));
+            }
+        }
+
+        CommentDemand toDemand() {
+            return new CommentDemand(scanned, demandComments, demandScore, phraseCounts);
+        }
+    }
+
+    private CrawlBatch fetchNewPosts(String subreddit, int limit) throws InterruptedException, IOException {
+        if (limit <= 0) {
+            return CrawlBatch.of(List.of());
+        }
+        SubredditCrawlState state = crawlStateRepository.findById(stateKey(subreddit)).orElse(null);
+        Instant watermarkCreatedUtc = state != null ? state.getLastPostCreatedUtc() : null;
+        String watermarkPostId = state != null ? state.getLastPostId() : null;
+        CrawlBatch.Backfill pending = state != null && state.getBackfillAfterId() != null
+                ? new CrawlBatch.Backfill(state.getBackfillAfterId(), state.getBackfillUntilCreatedUtc(),
+                state.getBackfillUntilPostId())
+                : null;
 
-                String selftext = data.path("selftext").asText();
-                String title = data.path("title").asText();
+        ListingWalk head = walkListing(subreddit, null, limit, watermarkCreatedUtc, watermarkPostId);
+        List<RedditPost> posts = new ArrayList<>(head.posts());
+        CrawlBatch.Backfill next = pending;
 
-                // 내용이 있는 게시물만 수집
-                if (selftext.isEmpty() || selftext.equals("[removed]") || selftext.equals("[deleted]")) {
-                    selftext = title; // 제목을 내용으로 사용
+        if (head.stoppedEarly() && watermarkCreatedUtc != null && !head.posts().isEmpty()) {
+            // 가장 오래된 게시물과 watermark 사이를 건너뛰게 된다 - 다음 크롤링에서 이어서 가져온다.
+            // 이미 빈 구간이 있으면 더 오래된 경계까지 한 구간으로 합친다 (사이의 처리된 게시물은 중복 조회에서 걸러진다)
+            next = pending != null
+                    ? new CrawlBatch.Backfill(head.oldestFullname(), pending.untilCreatedUtc(), pending.untilPostId())
+                    : new CrawlBatch.Backfill(head.oldestFullname(), watermarkCreatedUtc, watermarkPostId);
+            metrics.countCrawlGap(subreddit);
+            log.info("r/{} has more new posts than the crawl limit ({}); backfilling from {} on the next crawl",
+                    subreddit, limit, head.oldestFullname());
+        } else if (pending != null && posts.size() < limit) {
+            ListingWalk backfill = walkListing(subreddit, pending.afterId(), limit - posts.size(),
+                    pending.untilCreatedUtc(), pending.untilPostId());
+            posts.addAll(backfill.posts());
+            if (backfill.stoppedEarly()) {
+                next = new CrawlBatch.Backfill(backfill.posts().isEmpty() ? pending.afterId()
+                        : backfill.oldestFullname(), pending.untilCreatedUtc(), pending.untilPostId());
+            } else {
+                next = null;
+                if (!backfill.reachedBound()) {
+                    // new 리스팅은 최근 약 1000개까지만 보여준다 - 그보다 오래된 부분은 다시 가져올 수 없다
+                    log.warn("Backfill of r/{} ran off the end of the listing before reaching {}",
+                            subreddit, pending.untilPostId());
                 }
+            }
+            log.debug("Backfilled {} posts of r/{} ({})", backfill.posts().size(), subreddit,
+                    next == null ? "done" : "continues after " + next.afterId());
+        }
+
+        log.info("Fetched {} new posts from r/{} in {} page(s)", head.posts().size(), subreddit, head.pages());
+        return new CrawlBatch(posts, head.posts().size(), next);
+    }
 
-                RedditPost post = RedditPost.builder()
-                        .id(data.path("id").asText())
-                        .subreddit(subreddit)
-                        .title(title)
-                        .selftext(selftext)
-                        .author(data.path("author").asText())
-                        .score(data.path("score").asInt())
-                        .createdUtc(Instant.ofEpochSecond(data.path("created_utc").asLong()))
-                        .build();
+    /**
+     * new 리스팅을 after부터 최신순으로 따라가면서 경계(이미 처리한 게시물)에 닿거나 limit개를 모으거나
+     * 페이지 상한에 걸릴 때까지 게시물을 모은다.
+     */
+    private ListingWalk walkListing(String subreddit, String after, int limit, Instant boundCreatedUtc,
+                                    String boundPostId) throws InterruptedException, IOException {
+        List<RedditPost> posts = new ArrayList<>();
+        int pages = 0;
+        do {
+            RedditListing page = fetchListingPage(subreddit, Math.min(MAX_PAGE_SIZE, limit - posts.size()), after);
+            pages++;
+
+            for (RedditPost post : page.posts()) {
+                if (isAtOrBefore(post, boundCreatedUtc, boundPostId)) {
+                    log.debug("Reached watermark of r/{} at post {}", subreddit, post.getId());
+                    return new ListingWalk(posts, pages, true, false);
+                }
                 posts.add(post);
+                if (posts.size() >= limit) {
+                    return new ListingWalk(posts, pages, false, true);
+                }
             }
+            after = page.after();
+        } while (after != null && pages < config.getMaxPagesPerCrawl());
+        // 리스팅 끝(after == null)이 아니라 페이지 상한에서 멈췄으면 아직 더 있다
+        return new ListingWalk(posts, pages, false, after != null);
+    }
+
+    /**
+     * @param stoppedEarly 경계에 닿기 전에 limit이나 페이지 상한에 걸려 멈췄다 (뒤에 아직 게시물이 있다)
+     */
+    private record ListingWalk(List<RedditPost> posts, int pages, boolean reachedBound, boolean stoppedEarly) {
 
-            log.info("Fetched {} posts from r/{}", posts.size(), subreddit);
-        } catch (Exception e) {
-            log.error("Failed to parse Reddit response", e);
+        // 리스팅은 최신순이므로 마지막 게시물이 가장 오래됐다 - after 커서로 쓰는 fullname
+        String oldestFullname() {
+            return "t3_" + posts.get(posts.size() - 1).getId();
         }
+    }
 
-        return posts;
+    private static boolean isAtOrBefore(RedditPost post, Instant boundCreatedUtc, String boundPostId) {
+        if (boundCreatedUtc == null) {
+            return false;
+        }
+        int cmp = post.getCreatedUtc().compareTo(boundCreatedUtc);
+        // 같은 초에 올라온 다른 게시물은 다시 가져온다 (저장 단계에서 중복 제거됨)
+        return cmp < 0 || (cmp == 0 && post.getId().equals(boundPostId));
+    }
+
+    private RedditListing fetchListingPage(String subreddit, int pageSize, String after)
+            throws InterruptedException, IOException {
+        URI uri = UriComponentsBuilder.fromUriString(config.getBaseUrl())
+                .path("/r/{subreddit}/new.json")
+                .queryParam("limit", pageSize)
+                .queryParamIfPresent("after", Optional.ofNullable(after))
+                .buildAndExpand(subreddit)
+                .encode()
+                .toUri();
+        log.debug("Fetching r/{}/new (limit={}, after={})", subreddit, pageSize, after);
+
+        // 응답을 String/JsonNode로 만들지 않고 바이트에서 바로 스트리밍 파싱.
+        // 읽을 수 없는 본문(200 점검 페이지 등)을 빈 리스팅으로 바꾸면 리스팅 끝으로 오인해서 backfill 구간을 잃는다 -
+        // 이번 크롤링을 실패로 끝내고 크롤링 상태는 그대로 둔다
+        return fetchJson(uri, subreddit, body -> {
+            try {
+                return metrics.time(Stage.REDDIT_PARSE, subreddit, () -> listingParser.parse(body, subreddit));
+            } catch (IOException e) {
+                throw new IOException("Unreadable listing from " + uri + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Reddit GET 요청. 디스크 캐시에 TTL 안의 응답이 있으면 네트워크 없이 돌려주고,
+     * 지났으면 ETag/Last-Modified로 조건부 요청을 보내서 304면 저장된 본문을 다시 쓴다.
+     * 캐시에서 바로 나간 응답은 rate limiter 토큰을 쓰지 않는다.
+     * 새로 받은 응답은 reader가 읽는 데 성공해야 캐시에 남는다 - 깨진 본문을 TTL 동안/OFFLINE 모드에서 재생하지 않게.
+     */
+    private <T> T fetchJson(URI uri, String subreddit, BodyReader<T> reader) throws InterruptedException, IOException {
+        // 호스트는 키에서 뺀다 - base-url을 스텁 서버로 바꿔도 저장된 크롤링을 그대로 재생할 수 있게
+        String url = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+        Mode mode = config.getCache().getMode();
+        DiskResponseCache.Entry cached = responseCache != null ? responseCache.get(url).orElse(null) : null;
+        if (cached != null && (mode == Mode.OFFLINE || cached.isFresh(config.getCache().getTtl(), Instant.now()))) {
+            metrics.countResponseCache(subreddit, "hit");
+            return reader.read(cached.body());
+        }
+        if (mode == Mode.OFFLINE) {
+            metrics.countResponseCache(subreddit, "offline_miss");
+            throw new IOException("No cached response for " + uri + " in offline mode");
+        }
+
+        DiskResponseCache.Entry fetched = caller.call(() -> exchange(uri, url, subreddit, cached));
+        T result = reader.read(fetched != null ? fetched.body() : new byte[0]);
+        if (fetched != null) {
+            // 디스크 쓰기(gzip, 임시 파일, rename, 용량 정리)는 Netty 이벤트 루프가 아니라 block()한 이 스레드에서
+            store(url, fetched);
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(byte[] body) throws IOException;
+    }
+
+    private DiskResponseCache.Entry exchange(URI uri, String url, String subreddit, DiskResponseCache.Entry cached)
+            throws InterruptedException {
+        long waitedNanos = rateLimiter.acquire();
+        metrics.record(Stage.REDDIT_THROTTLE, subreddit, waitedNanos);
+        if (waitedNanos > 0) {
+            log.debug("Throttled {} ms before {}", TimeUnit.NANOSECONDS.toMillis(waitedNanos), url);
+        }
+
+        DiskResponseCache.Entry fetched;
+        try {
+            fetched = metrics.time(Stage.REDDIT_FETCH, subreddit, () -> redditWebClient.get()
+                    .uri(uri)
+                    .headers(headers -> {
+                        if (cached != null && cached.etag() != null) {
+                            headers.setIfNoneMatch(cached.etag());
+                        }
+                        if (cached != null && cached.lastModified() != null) {
+                            headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+                        }
+                    })
+                    .exchangeToMono(response -> {
+                        HttpHeaders headers = response.headers().asHttpHeaders();
+                        applyQuotaHeaders(headers);
+                        int status = response.statusCode().value();
+                        if (status == HttpStatus.NOT_MODIFIED.value() && cached != null) {
+                            metrics.countResponseCache(subreddit, "revalidated");
+                            return response.releaseBody().thenReturn(new DiskResponseCache.Entry(
+                                    cached.body(), cached.etag(), cached.lastModified(), Instant.now()));
+                        }
+                        if (response.statusCode().is2xxSuccessful()) {
+                            metrics.countResponseCache(subreddit, "miss");
+                            return response.bodyToMono(byte[].class)
+                                    .defaultIfEmpty(new byte[0])
+                                    .map(bytes -> new DiskResponseCache.Entry(bytes, headers.getETag(),
+                                            headers.getFirst(HttpHeaders.LAST_MODIFIED), Instant.now()));
+                        }
+                        if (status == HttpStatus.TOO_MANY_REQUESTS.value() || response.statusCode().is5xxServerError()) {
+                            Duration retryAfter = retryAfter(headers);
+                            if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                                rateLimiter.pauseFor(retryAfter != null ? retryAfter : DEFAULT_THROTTLE_PAUSE);
+                            }
+                            return response.releaseBody().then(Mono.error(
+                                    new RetryableException("Reddit returned " + status + " for " + url, retryAfter)));
+                        }
+                        return response.createError();
+                    })
+                    .block());
+        } catch (WebClientRequestException e) {
+            // 연결 실패, 응답 타임아웃
+            throw new RetryableException("Reddit request failed for " + url + ": " + e.getMessage(), null, e);
+        }
+        return fetched;
+    }
+
+    /**
+     * Reddit은 모든 응답에 X-Ratelimit-Remaining (남은 요청 수)과 X-Ratelimit-Reset (창이 끝날 때까지 초)을 준다.
+     * 이 값으로 공유 rate limiter의 속도를 맞춰서 429를 받기 전에 속도를 줄인다.
+     */
+    private void applyQuotaHeaders(HttpHeaders headers) {
+        String remaining = headers.getFirst(RATELIMIT_REMAINING);
+        String reset = headers.getFirst(RATELIMIT_RESET);
+        if (remaining == null || reset == null) {
+            return;
+        }
+        try {
+            double remainingRequests = Double.parseDouble(remaining.trim());
+            Duration resetIn = Duration.ofMillis(Math.round(Double.parseDouble(reset.trim()) * 1000));
+            rateLimiter.applyQuota(remainingRequests, resetIn);
+            log.trace("Reddit quota: {} requests left, reset in {}s", remainingRequests, resetIn.toSeconds());
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed Reddit rate limit headers: remaining={}, reset={}", remaining, reset);
+        }
+    }
+
+    // Retry-After: 초 또는 HTTP 날짜
+    private static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Duration until = Duration.between(Instant.now(),
+                        ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+                return until.isNegative() ? Duration.ZERO : until;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private void store(String url, DiskResponseCache.Entry entry) {
+        if (responseCache != null && entry.body().length > 0) {
+            responseCache.put(url, entry);
+        }
+    }
+
+    private static String stateKey(String subreddit) {
+        return subreddit.toLowerCase(Locale.ROOT);
     }
 
     private List<RedditPost> generateMockPosts(String subreddit, int limit) {
@@ -0,0 +1,226 @@
+package com.findcomplain.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.findcomplain.dto.RedditListing;
+import com.findcomplain.dto.RedditPost;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reddit listing JSON을 트리(JsonNode)로 만들지 않고 토큰 단위로 읽어서
+ * data.children[].data 를 바로 RedditPost로 변환한다.
+ * 댓글 트리(/comments/{id}.json)도 같은 방식으로 읽어서 댓글을 하나씩 넘겨준다.
+ */
+@Component
+public class RedditListingParser {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public RedditListing parse(InputStream in, String subreddit) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            return parse(parser, subreddit);
+        }
+    }
+
+    public RedditListing parse(byte[] json, String subreddit) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            return parse(parser, subreddit);
+        }
+    }
+
+    private RedditListing parse(JsonParser parser, String subreddit) throws IOException {
+        List<RedditPost> posts = new ArrayList<>();
+        String after = null;
+
+        expect(parser.nextToken(), JsonToken.START_OBJECT);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("data".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+                after = parseListingData(parser, subreddit, posts);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return new RedditListing(posts, after);
+    }
+
+    // { "after": ..., "children": [ { "kind": "t3", "data": {...} }, ... ] }
+    private String parseListingData(JsonParser parser, String subreddit, List<RedditPost> posts) throws IOException {
+        String after = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("after".equals(field)) {
+                after = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+            } else if ("children".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    RedditPost post = parseChild(parser, subreddit);
+                    if (post != null) {
+                        posts.add(post);
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return after;
+    }
+
+    private RedditPost parseChild(JsonParser parser, String subreddit) throws IOException {
+        RedditPost post = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                post = parsePost(parser, subreddit);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return post;
+    }
+
+    private RedditPost parsePost(JsonParser parser, String subreddit) throws IOException {
+        String id = "";
+        String title = "";
+        String selftext = "";
+        String author = "";
+        int score = 0;
+        long createdUtc = 0;
+        boolean skip = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsString("");
+                case "title" -> title = parser.getValueAsString("");
+                case "selftext" -> selftext = parser.getValueAsString("");
+                case "author" -> author = parser.getValueAsString("");
+                case "score" -> score = parser.getValueAsInt(0);
+                case "created_utc" -> createdUtc = parser.getValueAsLong(0);
+                // 광고나 고정 게시물 제외
+                case "stickied", "is_video" -> skip |= value == JsonToken.VALUE_TRUE;
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (skip) {
+            return null;
+        }
+
+        // 내용이 있는 게시물만 수집
+        if (selftext.isEmpty() || selftext.equals("[removed]") || selftext.equals("[deleted]")) {
+            selftext = title; // 제목을 내용으로 사용
+        }
+
+        return RedditPost.builder()
+                .id(id)
+                .subreddit(subreddit)
+                .title(title)
+                .selftext(selftext)
+                .author(author)
+                .score(score)
+                .createdUtc(Instant.ofEpochSecond(createdUtc))
+                .build();
+    }
+
+    /**
+     * 댓글 응답 [게시물 listing, 댓글 listing] 을 읽으면서 replies 까지 모든 댓글(t1)을 consumer에 넘긴다.
+     * 트리 전체를 메모리에 만들지 않으므로 호출하는 쪽에서 필요한 것(상위 K개, 집계)만 남기면 된다.
+     */
+    public void parseComments(InputStream in, Consumer<RedditPost.RedditComment> consumer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_ARRAY);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                parseThing(parser, consumer);
+            }
+        }
+    }
+
+    // { "kind": "Listing" | "t1" | "t3" | "more", "data": {...} } - Reddit은 kind를 data보다 먼저 쓴다
+    private void parseThing(JsonParser parser, Consumer<RedditPost.RedditComment> consumer) throws IOException {
+        String kind = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("kind".equals(field)) {
+                kind = parser.getValueAsString();
+            } else if ("data".equals(field) && value == JsonToken.START_OBJECT && "Listing".equals(kind)) {
+                parseCommentListing(parser, consumer);
+            } else if ("data".equals(field) && value == JsonToken.START_OBJECT && "t1".equals(kind)) {
+                parseComment(parser, consumer);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void parseCommentListing(JsonParser parser, Consumer<RedditPost.RedditComment> consumer) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("children".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    parseThing(parser, consumer);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void parseComment(JsonParser parser, Consumer<RedditPost.RedditComment> consumer) throws IOException {
+        String id = "";
+        String body = "";
+        String author = "";
+        int score = 0;
+        boolean skip = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsString("");
+                case "body" -> body = parser.getValueAsString("");
+                case "author" -> author = parser.getValueAsString("");
+                case "score" -> score = parser.getValueAsInt(0);
+                // 모더레이터 고정 댓글 (AutoModerator 안내문 등) 제외
+                case "stickied" -> skip |= value == JsonToken.VALUE_TRUE;
+                // 답글이 없으면 "" , 있으면 Listing
+                case "replies" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        parseThing(parser, consumer);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (skip || body.isEmpty() || body.equals("[removed]") || body.equals("[deleted]")) {
+            return;
+        }
+        consumer.accept(RedditPost.RedditComment.builder()
+                .id(id)
+                .body(body)
+                .author(author)
+                .score(score)
+                .build());
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Unexpected token in Reddit listing: " + actual + " (expected " + expected + ")");
+        }
+    }
+}
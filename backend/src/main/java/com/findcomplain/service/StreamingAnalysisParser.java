@@ -0,0 +1,122 @@
+package com.findcomplain.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.findcomplain.dto.AppIdeaAnalysisResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 스트리밍 응답 조각을 받는 대로 결과 JSON 객체 하나를 읽어 {@link AppIdeaAnalysisResult}를 채운다.
+ * 첫 '{' 앞의 머리말(```json 등)과 객체가 닫힌 뒤의 내용은 무시한다.
+ * isViable=false나 저장 기준 미만의 viabilityScore가 나오면 나머지 필드와 상관없이 결론이 난 것이다 ({@link #isDecided}).
+ * 한 스트림의 조각은 순서대로 하나씩 들어오므로 스레드 안전하지 않다.
+ */
+final class StreamingAnalysisParser {
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final AppIdeaAnalysisResult result = new AppIdeaAnalysisResult();
+
+    private boolean started;
+    private boolean complete;
+    private int depth;
+    private String field;
+    private boolean viableSeen;
+    private boolean scoreSeen;
+
+    StreamingAnalysisParser(JsonFactory factory) throws IOException {
+        this.parser = factory.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * @return 더 받을 필요가 없으면 true (객체가 닫혔거나 저장하지 않을 결과로 결론 남)
+     * @throws IOException 응답이 올바른 JSON이 아님
+     */
+    boolean feed(String chunk) throws IOException {
+        if (complete || chunk == null || chunk.isEmpty()) {
+            return isDone();
+        }
+        if (!started) {
+            int start = chunk.indexOf('{');
+            if (start < 0) {
+                return false;
+            }
+            chunk = chunk.substring(start);
+            started = true;
+        }
+        byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+        JsonToken token;
+        while (!complete && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            accept(token);
+        }
+        return isDone();
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+
+    boolean isDecided() {
+        return (viableSeen && !result.isViable())
+                || (scoreSeen && result.getViabilityScore() < AppIdeaAnalysisResult.MIN_SAVE_SCORE);
+    }
+
+    // 객체가 닫혔거나 결론이 났을 때까지 읽은 필드 - 못 읽은 필드는 null/0
+    AppIdeaAnalysisResult result() {
+        return result;
+    }
+
+    private boolean isDone() {
+        return complete || isDecided();
+    }
+
+    private void accept(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> depth++;
+            case END_OBJECT, END_ARRAY -> {
+                depth--;
+                complete = depth == 0;
+            }
+            case FIELD_NAME -> field = depth == 1 ? parser.currentName() : null;
+            default -> {
+                // 최상위 필드의 값만 읽는다 - 중첩된 값은 건너뛴다
+                if (depth == 1 && field != null && token.isScalarValue()) {
+                    assign(field, token);
+                }
+            }
+        }
+    }
+
+    // AppIdeaAnalysisResult의 @JsonAlias와 같은 이름들 (camelCase, snake_case)
+    private void assign(String name, JsonToken token) throws IOException {
+        String text = token == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+        switch (name.replace("_", "").toLowerCase(Locale.ROOT)) {
+            case "postid" -> result.setPostId(text);
+            case "isviable", "viable" -> {
+                result.setViable(parser.getValueAsBoolean());
+                viableSeen = true;
+            }
+            case "appname" -> result.setAppName(text);
+            case "problemsummary" -> result.setProblemSummary(text);
+            case "proposedsolution" -> result.setProposedSolution(text);
+            case "targetusers" -> result.setTargetUsers(text);
+            case "keyfeatures" -> result.setKeyFeatures(text);
+            case "techstack" -> result.setTechStack(text);
+            case "difficulty" -> result.setDifficulty(text);
+            case "viabilityscore" -> {
+                result.setViabilityScore(parser.getValueAsInt());
+                scoreSeen = true;
+            }
+            case "reasoning" -> result.setReasoning(text);
+            default -> {
+            }
+        }
+    }
+}
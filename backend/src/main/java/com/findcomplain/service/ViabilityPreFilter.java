@@ -0,0 +1,113 @@
+package com.findcomplain.service;
+
+import com.findcomplain.config.PreFilterConfig;
+import com.findcomplain.dto.AppIdeaAnalysisResult;
+import com.findcomplain.dto.PreFilterResult;
+import com.findcomplain.dto.PreFilterStats;
+import com.findcomplain.dto.RedditPost;
+import com.findcomplain.text.AhoCorasickMatcher;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LLM 호출 전에 가중치 구문 사전으로 게시물을 채점해서 명백히 가능성이 낮은 게시물을 걸러낸다.
+ * 구문 매칭은 Aho-Corasick으로 제목+본문을 한 번만 훑는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ViabilityPreFilter {
+
+    private final PreFilterConfig config;
+
+    private final AtomicLong evaluated = new AtomicLong();
+    private final AtomicLong passed = new AtomicLong();
+    private final AtomicLong passedLlmViable = new AtomicLong();
+    private final AtomicLong passedLlmNotViable = new AtomicLong();
+    private final AtomicLong shadowSampled = new AtomicLong();
+    private final AtomicLong shadowLlmViable = new AtomicLong();
+
+    private AhoCorasickMatcher matcher;
+    private double[] weights;
+
+    @PostConstruct
+    public void init() {
+        List<PreFilterConfig.Phrase> phrases = config.getPhrases();
+        matcher = new AhoCorasickMatcher(phrases.stream().map(PreFilterConfig.Phrase::getPhrase).toList());
+        weights = phrases.stream().mapToDouble(PreFilterConfig.Phrase::getWeight).toArray();
+        log.info("Pre-filter initialized with {} phrases (threshold {}, enabled {})",
+                phrases.size(), config.getThreshold(), config.isEnabled());
+    }
+
+    public PreFilterResult evaluate(RedditPost post) {
+        List<String> matched = new ArrayList<>();
+        double score = scoreAndMatch(post, matched);
+        boolean pass = !config.isEnabled() || score >= config.getThreshold();
+        boolean shadow = !pass && ThreadLocalRandom.current().nextDouble() < config.getShadowSampleRate();
+
+        evaluated.incrementAndGet();
+        if (pass) {
+            passed.incrementAndGet();
+        } else if (shadow) {
+            shadowSampled.incrementAndGet();
+        }
+        return new PreFilterResult(score, pass, shadow, matched);
+    }
+
+    /**
+     * LLM 판정과 비교해서 precision 통계를 갱신한다. mock 결과는 LLM 판정이 아니므로 무시한다.
+     */
+    public void recordVerdict(PreFilterResult preFilter, AppIdeaAnalysisResult result) {
+        if (result == null || result.isMock() || !preFilter.sendToLlm()) {
+            return;
+        }
+        boolean viable = result.isSaveable();
+        if (preFilter.passed()) {
+            (viable ? passedLlmViable : passedLlmNotViable).incrementAndGet();
+        } else if (viable) {
+            shadowLlmViable.incrementAndGet();
+        }
+    }
+
+    public PreFilterStats getStats() {
+        long total = evaluated.get();
+        long pass = passed.get();
+        return new PreFilterStats(
+                config.getThreshold(),
+                total,
+                pass,
+                total - pass,
+                passedLlmViable.get(),
+                passedLlmNotViable.get(),
+                shadowSampled.get(),
+                shadowLlmViable.get());
+    }
+
+    // 구문마다 한 번만 가중치를 더한다
+    private double scoreAndMatch(RedditPost post, List<String> matched) {
+        BitSet seen = new BitSet(weights.length);
+        double[] score = {0};
+        AhoCorasickMatcher.MatchListener listener = (patternIndex, start, end) -> {
+            if (!seen.get(patternIndex)) {
+                seen.set(patternIndex);
+                score[0] += weights[patternIndex];
+                matched.add(matcher.getPatterns().get(patternIndex));
+            }
+        };
+        if (post.getTitle() != null) {
+            matcher.match(post.getTitle(), listener);
+        }
+        if (post.getSelftext() != null) {
+            matcher.match(post.getSelftext(), listener);
+        }
+        return score[0];
+    }
+}
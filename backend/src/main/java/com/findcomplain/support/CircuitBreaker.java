@@ -0,0 +1,111 @@
+package com.findcomplain.support;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 연속 실패 횟수 기반 서킷 브레이커.
+ * CLOSED에서 failureThreshold 번 연속 실패하면 OPEN이 되어 openDuration 동안 요청을 막고,
+ * 그 뒤 HALF_OPEN에서 요청 하나만 시험으로 보내서 성공하면 CLOSED, 실패하면 다시 OPEN.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State state() {
+        lock.lock();
+        try {
+            return currentState(System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 요청을 보내도 되는지 확인한다. 허락받은 호출자는 반드시 onSuccess/onFailure/onIgnored 중 하나를 호출해야 한다.
+     */
+    public void acquirePermission() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            State current = currentState(now);
+            if (current == State.OPEN) {
+                throw new CircuitOpenException(name, Duration.ofNanos(openedAtNanos + openNanos - now));
+            }
+            if (current == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    throw new CircuitOpenException(name, Duration.ZERO);
+                }
+                trialInFlight = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onFailure() {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            consecutiveFailures++;
+            if (currentState(now) == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAtNanos = now;
+            }
+            trialInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 백엔드 상태와 무관하게 끝난 요청 (중단, 4xx 등) - 시험 요청 자리만 돌려준다
+    public void onIgnored() {
+        lock.lock();
+        try {
+            trialInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private State currentState(long now) {
+        if (state == State.OPEN && now - openedAtNanos >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        return state;
+    }
+}
@@ -0,0 +1,17 @@
+package com.findcomplain.support;
+
+import java.time.Duration;
+
+public class CircuitOpenException extends UpstreamUnavailableException {
+
+    private final Duration retryIn;
+
+    public CircuitOpenException(String name, Duration retryIn) {
+        super("Circuit of " + name + " is open, retry in " + retryIn.toSeconds() + "s");
+        this.retryIn = retryIn;
+    }
+
+    public Duration getRetryIn() {
+        return retryIn;
+    }
+}
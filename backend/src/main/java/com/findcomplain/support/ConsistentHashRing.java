@@ -0,0 +1,56 @@
+package com.findcomplain.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 노드마다 virtualNodes개의 점을 링에 놓고, 키는 시계 방향으로 처음 만나는 점의 노드에 배정한다.
+ * 노드가 하나 늘거나 줄면 그 노드의 몫(약 1/N)만 옮겨 가고 나머지 키의 배정은 그대로다.
+ * 같은 노드 집합이면 어느 인스턴스에서 만들어도 같은 배정이 나온다. 만든 뒤에는 바뀌지 않으므로 스레드 안전하다.
+ */
+public final class ConsistentHashRing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> nodes;
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Hash ring needs at least one node");
+        }
+        this.nodes = Set.copyOf(new TreeSet<>(nodes));
+        for (String node : this.nodes) {
+            for (int i = 0; i < Math.max(1, virtualNodes); i++) {
+                // 두 노드의 점이 겹치면 이름 순으로 앞선 노드가 갖는다 - 넣는 순서와 상관없게
+                ring.merge(hash(node + '#' + i), node, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+    }
+
+    public String nodeFor(String key) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    // FNV-1a는 비슷한 문자열("node#1", "node#2")의 값이 몰리므로 splitmix64 finalizer로 한 번 더 섞는다
+    private static long hash(String value) {
+        long hash = FNV_OFFSET;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
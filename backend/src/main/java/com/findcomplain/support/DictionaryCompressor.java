@@ -0,0 +1,86 @@
+package com.findcomplain.support;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 미리 정한 사전(preset dictionary)을 쓰는 Deflate. 짧은 글은 자기 안에서 반복되는 부분이 적어서
+ * 사전 없이는 거의 줄지 않는데, 같은 종류의 글에 자주 나오는 표현을 사전에 넣어 두면 처음부터 참조할 수 있다.
+ * zlib 형식이라 헤더에 사전의 Adler-32가, 끝에 원문의 Adler-32가 들어간다 (글마다 10바이트) - 다른 사전으로 풀거나
+ * 잘리거나 손상된 데이터는 엉뚱한 글로 풀리지 않고 예외가 난다. 사전을 바꾸면 버전을 따로 기록해야 한다.
+ * 호출마다 Deflater/Inflater를 새로 만들므로 스레드 안전하다.
+ */
+public final class DictionaryCompressor {
+
+    private final byte[] dictionary;
+    private final long dictionaryAdler;
+
+    public DictionaryCompressor(byte[] dictionary) {
+        this.dictionary = dictionary.clone();
+        Adler32 adler = new Adler32();
+        adler.update(this.dictionary);
+        this.dictionaryAdler = adler.getValue();
+    }
+
+    public byte[] compress(String text) {
+        byte[] input = text.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setDictionary(dictionary);
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 2));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @param originalLength 압축 전 UTF-8 바이트 수 (출력 버퍼 크기)
+     * @throws IllegalArgumentException 다른 사전으로 압축했거나 잘렸거나 손상된 데이터, 또는 길이가 originalLength와 다름
+     */
+    public String decompress(byte[] compressed, int originalLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            // 한 바이트 더 받아서 기록된 길이보다 긴 데이터도 알아챈다 - 끝의 체크섬은 스트림을 끝까지 읽어야 확인된다
+            byte[] output = new byte[originalLength + 1];
+            int length = 0;
+            while (!inflater.finished() && length < output.length) {
+                int n = inflater.inflate(output, length, output.length - length);
+                if (n == 0 && inflater.needsDictionary()) {
+                    // 헤더의 사전 ID를 int로 읽어서 부호 확장된 값이 나올 수 있다
+                    if ((inflater.getAdler() & 0xFFFFFFFFL) != dictionaryAdler) {
+                        throw new IllegalArgumentException("Compressed content was written with another dictionary");
+                    }
+                    inflater.setDictionary(dictionary);
+                } else if (n == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += n;
+            }
+            if (!inflater.finished()) {
+                throw new IllegalArgumentException("Compressed content is truncated or longer than " + originalLength
+                        + " bytes");
+            }
+            if (length != originalLength) {
+                throw new IllegalArgumentException(
+                        "Compressed content is " + length + " bytes, expected " + originalLength);
+            }
+            return new String(output, 0, length, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Compressed content is corrupt: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
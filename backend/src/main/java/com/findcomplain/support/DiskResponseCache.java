@@ -0,0 +1,190 @@
+package com.findcomplain.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * URL별 HTTP 응답 본문과 검증자(ETag, Last-Modified)를 디스크에 저장하는 캐시.
+ * 파일 하나가 응답 하나이고 (헤더 + gzip 본문), 임시 파일에 쓴 뒤 rename 하므로 읽는 쪽이 반쯤 쓴 파일을 보지 않는다.
+ * 전체 크기가 상한을 넘으면 최근에 읽지 않은 파일부터 지운다 (읽을 때 수정 시각을 갱신한다).
+ */
+@Slf4j
+public class DiskResponseCache {
+
+    private static final int MAGIC = 0x46435243; // "FCRC"
+    private static final int FORMAT_VERSION = 1;
+    private static final String SUFFIX = ".bin";
+
+    // 상한을 넘으면 이 비율까지 줄인다 - 매 저장마다 정리하지 않도록
+    private static final double EVICT_TO_RATIO = 0.8;
+
+    public record Entry(byte[] body, String etag, String lastModified, Instant storedAt) {
+
+        public boolean isFresh(Duration ttl, Instant now) {
+            return storedAt.plus(ttl).isAfter(now);
+        }
+    }
+
+    private final Path directory;
+    private final long maxSizeBytes;
+    private final AtomicLong sizeBytes = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public DiskResponseCache(Path directory, long maxSizeBytes) throws IOException {
+        this.directory = directory;
+        this.maxSizeBytes = maxSizeBytes;
+        Files.createDirectories(directory);
+        sizeBytes.set(files().stream().mapToLong(CachedFile::size).sum());
+    }
+
+    public long sizeBytes() {
+        return sizeBytes.get();
+    }
+
+    public Optional<Entry> get(String url) {
+        Path file = pathFor(url);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != FORMAT_VERSION) {
+                log.warn("Ignoring unreadable cache file {}", file);
+                return Optional.empty();
+            }
+            Instant storedAt = Instant.ofEpochMilli(in.readLong());
+            String etag = emptyToNull(in.readUTF());
+            String lastModified = emptyToNull(in.readUTF());
+            byte[] body;
+            try (GZIPInputStream gzip = new GZIPInputStream(in)) {
+                body = gzip.readAllBytes();
+            }
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return Optional.of(new Entry(body, etag, lastModified, storedAt));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to read cache file {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(String url, Entry entry) {
+        Path file = pathFor(url);
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(MAGIC);
+                    out.writeByte(FORMAT_VERSION);
+                    out.writeLong(entry.storedAt().toEpochMilli());
+                    out.writeUTF(nullToEmpty(entry.etag()));
+                    out.writeUTF(nullToEmpty(entry.lastModified()));
+                    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                        gzip.write(entry.body());
+                    }
+                }
+                long previous = Files.exists(file) ? Files.size(file) : 0;
+                long written = Files.size(temp);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                sizeBytes.addAndGet(written - previous);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write cache file {}: {}", file, e.getMessage());
+            return;
+        }
+
+        if (sizeBytes.get() > maxSizeBytes) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return; // 다른 스레드가 이미 정리 중
+        }
+        try {
+            List<CachedFile> files = files();
+            files.sort(Comparator.comparing(CachedFile::lastUsed));
+            long total = files.stream().mapToLong(CachedFile::size).sum();
+            long target = (long) (maxSizeBytes * EVICT_TO_RATIO);
+            int removed = 0;
+            for (CachedFile file : files) {
+                if (total <= target) {
+                    break;
+                }
+                if (Files.deleteIfExists(file.path())) {
+                    total -= file.size();
+                    removed++;
+                }
+            }
+            sizeBytes.set(total);
+            log.info("Evicted {} cached responses, cache size now {} KB", removed, total / 1024);
+        } catch (IOException e) {
+            log.warn("Failed to evict cached responses: {}", e.getMessage());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private List<CachedFile> files() throws IOException {
+        List<CachedFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.getFileName().toString().endsWith(SUFFIX)) {
+                    try {
+                        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                        files.add(new CachedFile(path, attributes.size(), attributes.lastModifiedTime()));
+                    } catch (NoSuchFileException e) {
+                        // 정리 도중 다른 스레드가 덮어쓴 파일
+                    }
+                }
+            }
+        }
+        return files;
+    }
+
+    // 같은 디렉터리에 파일이 너무 많아지지 않도록 해시 앞 두 글자로 나눈다
+    private Path pathFor(String url) {
+        String hash = sha256(url);
+        return directory.resolve(hash.substring(0, 2)).resolve(hash + SUFFIX);
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private record CachedFile(Path path, long size, FileTime lastUsed) {
+    }
+}
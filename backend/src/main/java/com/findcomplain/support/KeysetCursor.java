@@ -0,0 +1,28 @@
+package com.findcomplain.support;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * keyset 페이지네이션 커서. 마지막 행의 정렬 키와 id를 담으며,
+ * 클라이언트에는 내용을 해석할 필요 없는 불투명한 base64url 문자열로 내보낸다.
+ */
+public record KeysetCursor(String sortKey, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
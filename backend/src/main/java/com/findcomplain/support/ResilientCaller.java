@@ -0,0 +1,82 @@
+package com.findcomplain.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API 호출을 서킷 브레이커와 재시도로 감싼다.
+ * 호출이 {@link RetryableException}을 던질 때만 재시도하며, 대기 시간은 서버가 준 Retry-After와
+ * 지수 백오프(full jitter) 중 긴 쪽이다. 다른 예외는 그대로 던진다.
+ */
+@Slf4j
+public class ResilientCaller {
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final CircuitBreaker breaker;
+    private final int maxAttempts;
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+
+    public ResilientCaller(CircuitBreaker breaker, int maxAttempts, Duration baseDelay, Duration maxDelay) {
+        this.breaker = breaker;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+    }
+
+    public CircuitBreaker getBreaker() {
+        return breaker;
+    }
+
+    /**
+     * @throws CircuitOpenException 서킷이 열려 있어서 요청을 보내지 않았을 때
+     * @throws UpstreamUnavailableException maxAttempts 번 모두 재시도할 수 있는 오류로 실패했을 때
+     */
+    public <T, E extends Exception> T call(Call<T, E> call) throws E, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            breaker.acquirePermission();
+            boolean recorded = false;
+            try {
+                T result = call.call();
+                breaker.onSuccess();
+                recorded = true;
+                return result;
+            } catch (RetryableException e) {
+                breaker.onFailure();
+                recorded = true;
+                if (attempt >= maxAttempts) {
+                    throw new UpstreamUnavailableException(breaker.getName() + " failed after " + attempt
+                            + " attempts: " + e.getMessage(), e);
+                }
+                long delayNanos = backoffNanos(attempt, e.getRetryAfter());
+                log.warn("{} request failed (attempt {}/{}): {} - retrying in {} ms", breaker.getName(), attempt,
+                        maxAttempts, e.getMessage(), TimeUnit.NANOSECONDS.toMillis(delayNanos));
+                TimeUnit.NANOSECONDS.sleep(delayNanos);
+            } finally {
+                if (!recorded) {
+                    breaker.onIgnored();
+                }
+            }
+        }
+    }
+
+    private long backoffNanos(int attempt, Duration retryAfter) {
+        long ceiling = baseDelayNanos;
+        for (int i = 1; i < attempt && ceiling < maxDelayNanos; i++) {
+            ceiling *= 2;
+        }
+        ceiling = Math.min(ceiling, maxDelayNanos);
+        long jittered = ThreadLocalRandom.current().nextLong(Math.max(1, ceiling) + 1);
+        if (retryAfter != null) {
+            return Math.max(jittered, Math.min(retryAfter.toNanos(), maxDelayNanos));
+        }
+        return jittered;
+    }
+}
@@ -0,0 +1,24 @@
+package com.findcomplain.support;
+
+import java.time.Duration;
+
+/**
+ * 다시 보내면 성공할 수 있는 실패 (429, 5xx, 연결 오류). retryAfter는 서버가 알려준 대기 시간 (없으면 null).
+ */
+public class RetryableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RetryableException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    public RetryableException(String message, Duration retryAfter) {
+        this(message, retryAfter, null);
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,136 @@
+package com.findcomplain.support;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 여러 스레드가 공유하는 토큰 버킷 rate limiter.
+ * virtual thread에서 호출되므로 synchronized 대신 ReentrantLock을 쓰고, 대기는 락 밖에서 한다.
+ * 서버가 남은 쿼터를 알려주면 ({@link #applyQuota}) 쿼터 창이 끝날 때까지 그 속도로 맞추고,
+ * 429를 받으면 ({@link #pauseFor}) 모든 호출자가 함께 멈춘다.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double capacity;
+    private final double baseTokensPerNano;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double tokens;
+    private double tokensPerNano;
+    private long lastRefillNanos;
+
+    // 서버 쿼터로 정한 속도가 유효한 동안 true
+    private boolean quotaActive;
+    private long quotaUntilNanos;
+    private long pausedUntilNanos;
+
+    public TokenBucketRateLimiter(int permitsPerPeriod, Duration period, int burst) {
+        if (permitsPerPeriod <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerPeriod and burst must be positive");
+        }
+        this.capacity = burst;
+        this.baseTokensPerNano = (double) permitsPerPeriod / period.toNanos();
+        this.tokensPerNano = baseTokensPerNano;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+        this.pausedUntilNanos = lastRefillNanos;
+    }
+
+    public static TokenBucketRateLimiter perMinute(int permitsPerMinute, int burst) {
+        return new TokenBucketRateLimiter(permitsPerMinute, Duration.ofMinutes(1), burst);
+    }
+
+    /**
+     * 토큰 하나를 얻을 때까지 블록한다.
+     *
+     * @return 토큰을 기다린 시간 (nanos)
+     */
+    public long acquire() throws InterruptedException {
+        long waitedNanos = 0;
+        while (true) {
+            long sleepNanos;
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                refill(now);
+                if (now < pausedUntilNanos) {
+                    sleepNanos = pausedUntilNanos - now;
+                } else if (tokens >= 1) {
+                    tokens -= 1;
+                    return waitedNanos;
+                } else {
+                    sleepNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+                }
+            } finally {
+                lock.unlock();
+            }
+            TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            waitedNanos += sleepNanos;
+        }
+    }
+
+    /**
+     * 응답 헤더의 남은 요청 수와 쿼터 창이 끝날 때까지의 시간으로 속도를 맞춘다.
+     * 남은 요청을 창 끝까지 고르게 나눠 쓰고, 다 썼으면 창이 끝날 때까지 멈춘다.
+     * 창이 끝나면 생성할 때 정한 속도로 돌아간다.
+     */
+    public void applyQuota(double remaining, Duration resetIn) {
+        long resetNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), resetIn.toNanos());
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            quotaActive = true;
+            quotaUntilNanos = now + resetNanos;
+            if (remaining < 1) {
+                tokens = 0;
+                tokensPerNano = baseTokensPerNano;
+                pausedUntilNanos = Math.max(pausedUntilNanos, quotaUntilNanos);
+            } else {
+                tokensPerNano = remaining / resetNanos;
+                tokens = Math.min(tokens, remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 429 Retry-After 등 - 이미 더 길게 멈춰 있으면 그대로 둔다
+    public void pauseFor(Duration duration) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            tokens = 0;
+            pausedUntilNanos = Math.max(pausedUntilNanos, now + duration.toNanos());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 현재 속도 (분당 요청 수) - 지표/로그용
+    public double currentRatePerMinute() {
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return tokensPerNano * TimeUnit.MINUTES.toNanos(1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        if (quotaActive && now >= quotaUntilNanos) {
+            // 쿼터 창 안의 속도로 채우고, 나머지는 기본 속도로
+            tokens = Math.min(capacity, tokens + Math.max(0, quotaUntilNanos - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = Math.max(lastRefillNanos, quotaUntilNanos);
+            tokensPerNano = baseTokensPerNano;
+            quotaActive = false;
+        }
+        // 멈춰 있던 동안에는 토큰이 쌓이지 않는다
+        long from = Math.max(lastRefillNanos, Math.min(now, pausedUntilNanos));
+        tokens = Math.min(capacity, tokens + (now - from) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,15 @@
+package com.findcomplain.support;
+
+/**
+ * 외부 API가 재시도 후에도 응답하지 않았거나 서킷이 열려 있어서 요청을 보내지 않았을 때.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
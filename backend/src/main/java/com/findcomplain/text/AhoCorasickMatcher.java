@@ -0,0 +1,130 @@
+package com.findcomplain.text;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * 여러 구문을 텍스트 한 번 훑는 것으로 동시에 찾는 Aho-Corasick 매처.
+ * 대소문자를 구분하지 않으며, 구문 앞뒤가 글자/숫자가 아닐 때만 매치로 인정한다 ("app"은 "happy"에 매치되지 않음).
+ * 생성 후에는 불변이므로 여러 스레드에서 공유해도 된다.
+ */
+public final class AhoCorasickMatcher {
+
+    @FunctionalInterface
+    public interface MatchListener {
+        void onMatch(int patternIndex, int start, int end);
+    }
+
+    private final List<String> patterns;
+
+    // 노드별 전이 - 정렬된 문자 배열과 대상 노드 배열 (이진 탐색)
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] fail;
+    // 노드에서 끝나는 패턴 인덱스 (실패 링크를 따라간 출력까지 합친 것)
+    private final int[][] outputs;
+
+    public AhoCorasickMatcher(List<String> patterns) {
+        this.patterns = patterns.stream().map(p -> p.toLowerCase(Locale.ROOT)).toList();
+
+        List<Map<Character, Integer>> gotoTable = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        gotoTable.add(new HashMap<>());
+        out.add(new ArrayList<>());
+
+        for (int i = 0; i < this.patterns.size(); i++) {
+            String pattern = this.patterns.get(i);
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int node = 0;
+            for (int c = 0; c < pattern.length(); c++) {
+                Integer next = gotoTable.get(node).get(pattern.charAt(c));
+                if (next == null) {
+                    next = gotoTable.size();
+                    gotoTable.add(new HashMap<>());
+                    out.add(new ArrayList<>());
+                    gotoTable.get(node).put(pattern.charAt(c), next);
+                }
+                node = next;
+            }
+            out.get(node).add(i);
+        }
+
+        int size = gotoTable.size();
+        fail = new int[size];
+        Queue<Integer> queue = new ArrayDeque<>(gotoTable.get(0).values());
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : gotoTable.get(node).entrySet()) {
+                int child = edge.getValue();
+                int f = node == 0 ? 0 : fail[node];
+                while (f != 0 && !gotoTable.get(f).containsKey(edge.getKey())) {
+                    f = fail[f];
+                }
+                Integer target = gotoTable.get(f).get(edge.getKey());
+                fail[child] = target != null && target != child ? target : 0;
+                out.get(child).addAll(out.get(fail[child]));
+                queue.add(child);
+            }
+        }
+
+        edgeChars = new char[size][];
+        edgeTargets = new int[size][];
+        outputs = new int[size][];
+        for (int node = 0; node < size; node++) {
+            Map<Character, Integer> edges = gotoTable.get(node);
+            char[] chars = new char[edges.size()];
+            int k = 0;
+            for (char c : edges.keySet()) {
+                chars[k++] = c;
+            }
+            Arrays.sort(chars);
+            int[] targets = new int[chars.length];
+            for (int j = 0; j < chars.length; j++) {
+                targets[j] = edges.get(chars[j]);
+            }
+            edgeChars[node] = chars;
+            edgeTargets[node] = targets;
+            outputs[node] = out.get(node).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    public void match(CharSequence text, MatchListener listener) {
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = transition(node, c)) < 0 && node != 0) {
+                node = fail[node];
+            }
+            node = Math.max(next, 0);
+
+            for (int patternIndex : outputs[node]) {
+                int start = i + 1 - patterns.get(patternIndex).length();
+                if (isBoundary(text, start - 1) && isBoundary(text, i + 1)) {
+                    listener.onMatch(patternIndex, start, i + 1);
+                }
+            }
+        }
+    }
+
+    private int transition(int node, char c) {
+        int idx = Arrays.binarySearch(edgeChars[node], c);
+        return idx >= 0 ? edgeTargets[node][idx] : -1;
+    }
+
+    private static boolean isBoundary(CharSequence text, int index) {
+        return index < 0 || index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+}
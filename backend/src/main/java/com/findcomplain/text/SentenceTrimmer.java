@@ -0,0 +1,61 @@
+package com.findcomplain.text;
+
+import java.text.BreakIterator;
+import java.util.Locale;
+import java.util.function.ToIntFunction;
+
+/**
+ * 텍스트를 토큰 예산 안으로 줄인다. 문장 경계에서 자르고, 첫 문장부터 예산을 넘으면 단어 경계에서 자른다.
+ * BreakIterator 경계만 쓰므로 단어나 서로게이트 쌍 중간에서 잘리지 않는다.
+ * 토큰 수는 조각별 합으로 센다 - 이어 붙인 텍스트의 토큰 수는 대개 합보다 작으므로 예산을 보수적으로 쓴다.
+ */
+public final class SentenceTrimmer {
+
+    public static final String ELLIPSIS = " …";
+
+    private SentenceTrimmer() {
+    }
+
+    /**
+     * @param counter 텍스트의 토큰 수
+     * @return 예산 안에 들어가면 원문, 아니면 앞쪽 문장들 + {@link #ELLIPSIS}
+     */
+    public static String trim(String text, int maxTokens, ToIntFunction<String> counter) {
+        if (text == null || text.isEmpty() || maxTokens <= 0) {
+            return "";
+        }
+        if (counter.applyAsInt(text) <= maxTokens) {
+            return text;
+        }
+
+        int budget = maxTokens - counter.applyAsInt(ELLIPSIS);
+        if (budget <= 0) {
+            return "";
+        }
+        int end = fit(text, 0, text.length(), BreakIterator.getSentenceInstance(Locale.ROOT), budget, counter);
+        if (end == 0) {
+            // 첫 문장이 예산보다 길다
+            end = fit(text, 0, text.length(), BreakIterator.getWordInstance(Locale.ROOT), budget, counter);
+        }
+        String kept = text.substring(0, end).stripTrailing();
+        return kept.isEmpty() ? "" : kept + ELLIPSIS;
+    }
+
+    // 경계 단위로 앞에서부터 예산까지 채우고 끝 위치를 돌려준다
+    private static int fit(String text, int from, int to, BreakIterator boundaries, int budget,
+                           ToIntFunction<String> counter) {
+        boundaries.setText(text);
+        int used = 0;
+        int end = from;
+        for (int next = boundaries.following(from); next != BreakIterator.DONE && next <= to;
+             next = boundaries.next()) {
+            int cost = counter.applyAsInt(text.substring(end, next));
+            if (used + cost > budget) {
+                break;
+            }
+            used += cost;
+            end = next;
+        }
+        return end;
+    }
+}
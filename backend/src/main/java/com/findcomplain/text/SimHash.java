@@ -0,0 +1,92 @@
+package com.findcomplain.text;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 64비트 SimHash. 불용어를 뺀 단어 unigram + bigram shingle을 특징으로 쓰며,
+ * 거의 같은 글은 해밍 거리가 작은 지문을 갖는다.
+ * Reddit 게시물 길이에서는 표현만 바꾼 글이 대략 10비트 이내, 무관한 글은 25비트 이상 차이 난다.
+ */
+public final class SimHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "the", "i", "im", "me", "my", "we", "you", "it", "its", "is", "are", "was", "be",
+            "to", "of", "and", "or", "for", "in", "on", "at", "with", "that", "this", "so", "s", "t");
+
+    private SimHash() {
+    }
+
+    public static long fingerprint(String... texts) {
+        List<String> words = new ArrayList<>();
+        for (String text : texts) {
+            if (text != null) {
+                tokenize(text, words);
+            }
+        }
+
+        int[] vector = new int[64];
+        for (int i = 0; i < words.size(); i++) {
+            accumulate(vector, hash(words.get(i)));
+            if (i + 1 < words.size()) {
+                accumulate(vector, hash(words.get(i) + ' ' + words.get(i + 1)));
+            }
+        }
+
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (vector[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static void accumulate(int[] vector, long hash) {
+        for (int bit = 0; bit < 64; bit++) {
+            vector[bit] += ((hash >>> bit) & 1) != 0 ? 1 : -1;
+        }
+    }
+
+    // 글자/숫자 연속 구간을 소문자 단어로 (한글 포함)
+    private static void tokenize(String text, List<String> out) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(word)) {
+                    out.add(word);
+                }
+                start = -1;
+            }
+        }
+    }
+
+    // FNV-1a 후 비트를 섞어서 64비트 전체에 고르게 분포시킨다
+    private static long hash(String token) {
+        long h = FNV_OFFSET;
+        for (byte b : token.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,131 @@
+package com.findcomplain.text;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * SimHash 지문의 LSH 밴딩 인덱스.
+ * 64비트를 밴드 11개(6비트 9개 + 5비트 2개)로 나누고, 어느 한 밴드라도 값이 같은 항목만 후보로 보고 해밍 거리를 확인한다.
+ * 서로 다른 비트가 10개 이하면 비둘기집 원리로 적어도 한 밴드는 통째로 같으므로 거리 {@link #MAX_GUARANTEED_DISTANCE}
+ * 이하는 항상 찾는다. 그보다 먼 항목은 찾을 수도 못 찾을 수도 있다.
+ * 조회는 버킷 11개(각각 전체의 1/64 또는 1/32)를 popcount로 훑는다 - 항목 수십만 개에서 백 µs 안팎이다.
+ * 버킷마다 지문을 연속된 long 배열로 들고 있어서 후보 비교가 순차 메모리 접근으로 끝난다.
+ */
+public final class SimHashIndex {
+
+    public static final int BANDS = 11;
+
+    // 이 거리 이하의 항목은 반드시 찾는다 (밴드 수 - 1)
+    public static final int MAX_GUARANTEED_DISTANCE = BANDS - 1;
+
+    private static final int[] BAND_SHIFTS = new int[BANDS];
+    private static final int[] BAND_MASKS = new int[BANDS];
+    private static final int BUCKETS = 1 << 6;
+    private static final int INITIAL_BUCKET_CAPACITY = 8;
+
+    static {
+        // 64 = 6 * 9 + 5 * 2
+        int shift = 0;
+        for (int b = 0; b < BANDS; b++) {
+            int bits = b < 9 ? 6 : 5;
+            BAND_SHIFTS[b] = shift;
+            BAND_MASKS[b] = (1 << bits) - 1;
+            shift += bits;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 밴드별 버킷: 지문과 항목 번호를 나란히 저장
+    private final long[][][] bucketFingerprints = new long[BANDS][BUCKETS][];
+    private final int[][][] bucketEntries = new int[BANDS][BUCKETS][];
+    private final int[][] bucketSizes = new int[BANDS][BUCKETS];
+    private long[] ids = new long[0];
+    private int size;
+
+    /**
+     * 지문을 추가한다. 같은 ID가 이미 있으면 무시한다.
+     */
+    public void add(long id, long fingerprint) {
+        lock.writeLock().lock();
+        try {
+            int firstBucket = band(fingerprint, 0);
+            long[] candidates = bucketFingerprints[0][firstBucket];
+            for (int i = 0; i < bucketSizes[0][firstBucket]; i++) {
+                if (candidates[i] == fingerprint && ids[bucketEntries[0][firstBucket][i]] == id) {
+                    return;
+                }
+            }
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(1024, ids.length * 2));
+            }
+            ids[size] = id;
+            for (int b = 0; b < BANDS; b++) {
+                append(b, band(fingerprint, b), fingerprint, size);
+            }
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 해밍 거리 maxDistance 이하인 가장 가까운 항목의 ID. 거리가 같으면 ID가 작은 쪽.
+     * maxDistance가 {@link #MAX_GUARANTEED_DISTANCE}보다 크면 그 사이 거리의 항목은 놓칠 수 있다.
+     */
+    public OptionalLong findNearest(long fingerprint, int maxDistance) {
+        lock.readLock().lock();
+        try {
+            long bestId = 0;
+            int bestDistance = Integer.MAX_VALUE;
+            for (int b = 0; b < BANDS; b++) {
+                int bucket = band(fingerprint, b);
+                long[] candidates = bucketFingerprints[b][bucket];
+                int count = bucketSizes[b][bucket];
+                for (int i = 0; i < count; i++) {
+                    int distance = SimHash.distance(fingerprint, candidates[i]);
+                    if (distance > maxDistance || distance > bestDistance) {
+                        continue;
+                    }
+                    long id = ids[bucketEntries[b][bucket][i]];
+                    if (distance < bestDistance || id < bestId) {
+                        bestId = id;
+                        bestDistance = distance;
+                    }
+                }
+            }
+            return bestDistance == Integer.MAX_VALUE ? OptionalLong.empty() : OptionalLong.of(bestId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(int band, int bucket, long fingerprint, int entry) {
+        int count = bucketSizes[band][bucket];
+        if (bucketFingerprints[band][bucket] == null) {
+            bucketFingerprints[band][bucket] = new long[INITIAL_BUCKET_CAPACITY];
+            bucketEntries[band][bucket] = new int[INITIAL_BUCKET_CAPACITY];
+        } else if (count == bucketFingerprints[band][bucket].length) {
+            bucketFingerprints[band][bucket] = Arrays.copyOf(bucketFingerprints[band][bucket], count * 2);
+            bucketEntries[band][bucket] = Arrays.copyOf(bucketEntries[band][bucket], count * 2);
+        }
+        bucketFingerprints[band][bucket][count] = fingerprint;
+        bucketEntries[band][bucket][count] = entry;
+        bucketSizes[band][bucket] = count + 1;
+    }
+
+    private static int band(long fingerprint, int band) {
+        return (int) (fingerprint >>> BAND_SHIFTS[band]) & BAND_MASKS[band];
+    }
+}
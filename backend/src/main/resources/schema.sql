@@ -0,0 +1,21 @@
+-- Hibernate(ddl-auto: update)가 테이블을 만든 뒤 실행된다 (spring.jpa.defer-datasource-initialization).
+-- 매 기동마다 실행되므로 모든 문장은 재실행해도 안전해야 한다.
+
+-- IDENTITY에서 시퀀스로 전환한 기존 DB: 시퀀스가 기존 최대 id보다 뒤처져 있을 때만 앞으로 당긴다.
+-- 시퀀스를 뒤로 돌리면 다른 노드가 이미 받은 id 블록을 다시 나눠 주게 되므로 절대 낮추지 않는다.
+-- 조건은 전환 직후 첫 기동에서만 참이다 - 그 뒤로는 nextval이 항상 최대 id보다 앞서 있다.
+SELECT setval('app_ideas_seq', m.max_id)
+FROM (SELECT MAX(id) AS max_id FROM app_ideas) m, app_ideas_seq s
+WHERE m.max_id > s.last_value;
+
+-- 전문 검색: 앱 이름/원문 제목은 영어 형태소(english), LLM이 한국어로 쓰는 요약/기능은 공백 토큰(simple)
+-- 가중치 A > B > C > D 순으로 ts_rank_cd에 반영된다
+ALTER TABLE app_ideas ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(app_name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(original_title, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(problem_summary, '')), 'C') ||
+        setweight(to_tsvector('simple', coalesce(key_features, '')), 'D')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_app_ideas_search_vector ON app_ideas USING GIN (search_vector);
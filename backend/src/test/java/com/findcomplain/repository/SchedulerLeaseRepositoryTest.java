@@ -0,0 +1,145 @@
+package com.findcomplain.repository;
+
+import com.findcomplain.domain.SchedulerLease;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * tryAcquire는 PostgreSQL 문법(ON CONFLICT ... WHERE, make_interval)이라 임베디드 PostgreSQL에 대고 돌린다.
+ * 경쟁 상황을 보려면 각 호출이 따로 커밋돼야 하므로 테스트 트랜잭션은 쓰지 않는다.
+ */
+@DataJpaTest(properties = {"spring.sql.init.mode=never", "spring.jpa.show-sql=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchedulerLeaseRepositoryTest {
+
+    private static final String LEASE = "content-archive";
+
+    @Autowired
+    private SchedulerLeaseRepository repository;
+
+    @BeforeEach
+    void clear() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void acquiresFreeLease() {
+        assertThat(repository.tryAcquire(LEASE, "node-a", 60)).isEqualTo(1);
+
+        SchedulerLease lease = repository.findById(LEASE).orElseThrow();
+        assertThat(lease.getOwner()).isEqualTo("node-a");
+        assertThat(lease.getExpiresAt()).isAfter(Instant.now().plusSeconds(50));
+    }
+
+    @Test
+    void otherNodeCannotTakeLiveLease() {
+        repository.tryAcquire(LEASE, "node-a", 60);
+        Instant expiresAt = repository.findById(LEASE).orElseThrow().getExpiresAt();
+
+        assertThat(repository.tryAcquire(LEASE, "node-b", 60)).isZero();
+
+        SchedulerLease lease = repository.findById(LEASE).orElseThrow();
+        assertThat(lease.getOwner()).isEqualTo("node-a");
+        assertThat(lease.getExpiresAt()).isEqualTo(expiresAt);
+    }
+
+    @Test
+    void ownerExtendsItsLease() {
+        repository.tryAcquire(LEASE, "node-a", 10);
+        Instant first = repository.findById(LEASE).orElseThrow().getExpiresAt();
+
+        assertThat(repository.tryAcquire(LEASE, "node-a", 600)).isEqualTo(1);
+
+        SchedulerLease lease = repository.findById(LEASE).orElseThrow();
+        assertThat(lease.getOwner()).isEqualTo("node-a");
+        assertThat(lease.getExpiresAt()).isAfter(first.plusSeconds(500));
+    }
+
+    @Test
+    void otherNodeTakesExpiredLease() {
+        // 음수 ttl - 이미 만료된 lease
+        repository.tryAcquire(LEASE, "node-a", -1);
+
+        assertThat(repository.tryAcquire(LEASE, "node-b", 60)).isEqualTo(1);
+        assertThat(repository.findById(LEASE).orElseThrow().getOwner()).isEqualTo("node-b");
+    }
+
+    @Test
+    void leasesAreIndependentByName() {
+        assertThat(repository.tryAcquire(LEASE, "node-a", 60)).isEqualTo(1);
+        assertThat(repository.tryAcquire("idea-cleanup", "node-b", 60)).isEqualTo(1);
+    }
+
+    @Test
+    void exactlyOneOfConcurrentNodesAcquires() throws Exception {
+        int nodes = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> attempts = new ArrayList<>();
+            for (int i = 0; i < nodes; i++) {
+                String owner = "node-" + i;
+                attempts.add(executor.submit(() -> {
+                    start.await();
+                    return repository.tryAcquire(LEASE, owner, 60);
+                }));
+            }
+            start.countDown();
+
+            int acquired = 0;
+            for (Future<Integer> attempt : attempts) {
+                acquired += attempt.get();
+            }
+            assertThat(acquired).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void releaseAllDropsOnlyOwnersLeases() {
+        repository.tryAcquire(LEASE, "node-a", 60);
+        repository.tryAcquire("idea-cleanup", "node-b", 60);
+
+        assertThat(repository.releaseAll("node-a")).isEqualTo(1);
+
+        assertThat(repository.findById(LEASE)).isEmpty();
+        assertThat(repository.findById("idea-cleanup")).isPresent();
+        assertThat(repository.tryAcquire(LEASE, "node-b", 60)).isEqualTo(1);
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class EmbeddedPostgresConfig {
+
+        @Bean(destroyMethod = "close")
+        EmbeddedPostgres embeddedPostgres() throws IOException {
+            return EmbeddedPostgres.builder().start();
+        }
+
+        @Bean
+        DataSource dataSource(EmbeddedPostgres postgres) {
+            return postgres.getPostgresDatabase();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.findcomplain.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.findcomplain.dto.AppIdeaAnalysisResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingAnalysisParserTest {
+
+    private static final String FULL_RESULT = """
+            {"postId": "abc123", "isViable": true, "appName": "가계부 봇", "problemSummary": "Tracking \\"shared\\" bills",
+             "keyFeatures": "split, remind", "viabilityScore": 8, "reasoning": "분명한 수요 {braces} [brackets]"}""";
+
+    private final JsonFactory factory = new JsonFactory();
+
+    @Test
+    void parsesObjectFedOneCharacterAtATime() throws IOException {
+        StreamingAnalysisParser parser = new StreamingAnalysisParser(factory);
+
+        // 토큰, 문자열, 이스케이프 시퀀스 중간에서 모두 잘리는 경우
+        for (int i = 0; i < FULL_RESULT.length() - 1; i++) {
+            assertThat(parser.feed(String.valueOf(FULL_RESULT.charAt(i)))).isFalse();
+        }
+        assertThat(parser.feed(FULL_RESULT.substring(FULL_RESULT.length() - 1))).isTrue();
+
+        assertThat(parser.isComplete()).isTrue();
+        assertFullResult(parser.result());
+    }
+
+    @Test
+    void parsesObjectSplitIntoUnevenChunks() throws IOException {
+        StreamingAnalysisParser parser = new StreamingAnalysisParser(factory);
+
+        int[] cuts = {3, 17, 18, 40, 41, 90, 120};
+        int from = 0;
+        for (int cut : cuts) {
+            parser.feed(FULL_RESULT.substring(from, cut));
+            from = cut;
+        }
+        assertThat(parser.feed(FULL_RESULT.substring(from))).isTrue();
+
+        assertFullResult(parser.result());
+    }
+
+    @Test
+    void skipsMarkdownPreambleAndTrailer() throws IOException {
+        StreamingAnalysisParser parser = new StreamingAnalysisParser(factory);
+
+        assertThat(parser.feed("Here is the analysis:\n```")).isFalse();
+        assertThat(parser.feed("json\n")).isFalse();
+        assertThat(parser.feed(FULL_RESULT)).isTrue();
+        // 객체가 닫힌 뒤의 내용은 읽지 않는다 - JSON이 아니어도 예외가 나지 않는다
+        assertThat(parser.feed("\n```\nHope this helps!")).isTrue();
+
+        assertFullResult(parser.result());
+    }
+
+    @Test
+    void ignoresNestedObjectsAndArrays() throws IOException {
+        StreamingAnalysisParser parser = new StreamingAnalysisParser(factory);
+
+        boolean done = parser.feed("""
+                {"postId": "p1", "meta": {"appName": "nested", "viabilityScore": 1, "deep": [{"isViable": false}]},
+                 "tags": ["reasoning", {"postId": "p2"}], "appName": "top", "isViable": true, "viabilityScore": 7}""");
+
+        assertThat(done).isTrue();
+        assertThat(parser.isComplete()).isTrue();
+        AppIdeaAnalysisResult result = parser.result();
+        assertThat(result.getPostId()).isEqualTo("p1");
+        assertThat(result.getAppName()).isEqualTo("top");
+        assertThat(result.isViable()).isTrue();
+        assertThat(result.getViabilityScore()).isEqualTo(7);
+    }
+
+    @Test
+    void acceptsSnakeCaseAliases() throws IOException {
+        StreamingAnalysisParser parser = new StreamingAnalysisParser(factory);
+
+        parser.feed("""
+                {"post_id": "p1", "is_viable": true, "app_name": "Snake", "problem_summary": "ps",
+                 "proposed_solution": "sol", "target_users": "devs", "key_features": "kf", "tech_stack": "java",
+                 "difficulty": "EASY", "viability_score": 6, "reasoning": "r"}""");
+
+        AppIdeaAnalysisResult result = parser.result();
+        assertThat(result.getPostId()).isEqualTo("p1");
+        assertThat(result.isViable()).isTrue();
+        assertThat(result.getAppName()).isEqualTo("Snake");
+        assertThat(result.getProblemSummary()).isEqualTo("ps");
+        assertThat(result.getProposedSolution()).isEqualTo("sol");
+        assertThat(result.getTargetUsers()).isEqualTo("devs");
+        assertThat(result.getKeyFeatures()).isEqualTo("kf");
+        assertThat(result.getTechStack()).isEqualTo("java");
+        assertThat(result.getDifficulty()).isEqualTo("EASY");
+        assertThat(result.getViabilityScore()).isEqualTo(6);
+        assertThat(result.getReasoning()).isEqualTo("r");
+    }
+
+    @Test
+    void decidesEarlyWhenNotViable() throws IOException {
+        StreamingAnalysisParser parser = new StreamingAnalysisParser(factory);
+
+        assertThat(parser.feed("{\"postId\": \"p1\", \"isVia")).isFalse();
+        assertThat(parser.feed("ble\": false, \"appName\": ")).isTrue();
+
+        assertThat(parser.isDecided()).isTrue();
+        assertThat(parser.isComplete()).isFalse();
+        assertThat(parser.result().getPostId()).isEqualTo("p1");
+        assertThat(parser.result().isSaveable()).isFalse();
+    }
+
+    @Test
+    void decidesEarlyWhenScoreBelowSaveThreshold() throws IOException {
+        StreamingAnalysisParser parser = new StreamingAnalysisParser(factory);
+
+        boolean done = parser.feed("{\"isViable\": true, \"viabilityScore\": "
+                + (AppIdeaAnalysisResult.MIN_SAVE_SCORE - 1) + ", \"reasoning\": \"");
+
+        assertThat(done).isTrue();
+        assertThat(parser.isDecided()).isTrue();
+        assertThat(parser.isComplete()).isFalse();
+    }
+
+    @Test
+    void keepsReadingWhileViableWithPassingScore() throws IOException {
+        StreamingAnalysisParser parser = new StreamingAnalysisParser(factory);
+
+        boolean done = parser.feed("{\"isViable\": true, \"viabilityScore\": "
+                + AppIdeaAnalysisResult.MIN_SAVE_SCORE + ", \"reasoning\": \"");
+
+        assertThat(done).isFalse();
+        assertThat(parser.isDecided()).isFalse();
+        assertThat(parser.feed("ok\"}")).isTrue();
+        assertThat(parser.isComplete()).isTrue();
+        assertThat(parser.result().isSaveable()).isTrue();
+    }
+
+    @Test
+    void waitsForObjectStartAcrossChunks() throws IOException {
+        StreamingAnalysisParser parser = new StreamingAnalysisParser(factory);
+
+        assertThat(parser.feed(null)).isFalse();
+        assertThat(parser.feed("")).isFalse();
+        assertThat(parser.feed("thinking...")).isFalse();
+        assertThat(parser.isComplete()).isFalse();
+        assertThat(parser.result().getPostId()).isNull();
+    }
+
+    @Test
+    void rejectsMalformedJson() throws IOException {
+        StreamingAnalysisParser parser = new StreamingAnalysisParser(factory);
+
+        assertThatThrownBy(() -> parser.feed("{\"postId\": oops}"))
+                .isInstanceOf(JsonParseException.class);
+    }
+
+    private static void assertFullResult(AppIdeaAnalysisResult result) {
+        assertThat(result.getPostId()).isEqualTo("abc123");
+        assertThat(result.isViable()).isTrue();
+        assertThat(result.getAppName()).isEqualTo("가계부 봇");
+        assertThat(result.getProblemSummary()).isEqualTo("Tracking \"shared\" bills");
+        assertThat(result.getKeyFeatures()).isEqualTo("split, remind");
+        assertThat(result.getViabilityScore()).isEqualTo(8);
+        assertThat(result.getReasoning()).isEqualTo("분명한 수요 {braces} [brackets]");
+    }
+}
@@ -0,0 +1,95 @@
+package com.findcomplain.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int VIRTUAL_NODES = 128;
+    private static final List<String> KEYS = IntStream.range(0, 20_000).mapToObj(i -> "subreddit_" + i).toList();
+
+    @Test
+    void assignmentDoesNotDependOnNodeOrder() {
+        List<String> nodes = List.of("node-a", "node-b", "node-c", "node-d");
+        List<String> reversed = new ArrayList<>(nodes);
+        Collections.reverse(reversed);
+
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, VIRTUAL_NODES);
+        ConsistentHashRing other = new ConsistentHashRing(reversed, VIRTUAL_NODES);
+
+        for (String key : KEYS) {
+            assertThat(other.nodeFor(key)).isEqualTo(ring.nodeFor(key));
+        }
+        assertThat(other.nodes()).isEqualTo(ring.nodes());
+    }
+
+    @Test
+    void joiningNodeTakesAboutOneNthOfKeysOnlyFromOthers() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("n1", "n2", "n3", "n4"), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("n1", "n2", "n3", "n4", "n5"), VIRTUAL_NODES);
+
+        int moved = 0;
+        for (String key : KEYS) {
+            String owner = after.nodeFor(key);
+            if (!owner.equals(before.nodeFor(key))) {
+                // 옮겨 가는 키는 모두 새 노드로 간다 - 기존 노드끼리 주고받지 않는다
+                assertThat(owner).isEqualTo("n5");
+                moved++;
+            }
+        }
+        assertThat(moved / (double) KEYS.size()).isBetween(0.20 * 0.7, 0.20 * 1.3);
+    }
+
+    @Test
+    void leavingNodeHandsOnlyItsOwnKeysToOthers() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("n1", "n2", "n3", "n4", "n5"), VIRTUAL_NODES);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("n1", "n2", "n4", "n5"), VIRTUAL_NODES);
+
+        int moved = 0;
+        for (String key : KEYS) {
+            String owner = before.nodeFor(key);
+            if (owner.equals("n3")) {
+                moved++;
+                assertThat(after.nodeFor(key)).isNotEqualTo("n3");
+            } else {
+                assertThat(after.nodeFor(key)).isEqualTo(owner);
+            }
+        }
+        assertThat(moved / (double) KEYS.size()).isBetween(0.20 * 0.7, 0.20 * 1.3);
+    }
+
+    @Test
+    void spreadsKeysRoughlyEvenly() {
+        List<String> nodes = List.of("n1", "n2", "n3", "n4", "n5", "n6");
+        ConsistentHashRing ring = new ConsistentHashRing(nodes, VIRTUAL_NODES);
+
+        Map<String, Integer> counts = new HashMap<>();
+        KEYS.forEach(key -> counts.merge(ring.nodeFor(key), 1, Integer::sum));
+
+        double fairShare = KEYS.size() / (double) nodes.size();
+        assertThat(counts).containsOnlyKeys(nodes);
+        counts.values().forEach(count -> assertThat(count / fairShare).isBetween(0.7, 1.3));
+    }
+
+    @Test
+    void singleNodeOwnsEverything() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("only"), VIRTUAL_NODES);
+
+        assertThat(KEYS).allSatisfy(key -> assertThat(ring.nodeFor(key)).isEqualTo("only"));
+    }
+
+    @Test
+    void rejectsEmptyNodeSet() {
+        assertThatThrownBy(() -> new ConsistentHashRing(List.of(), VIRTUAL_NODES))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,115 @@
+package com.findcomplain.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DictionaryCompressorTest {
+
+    private static final byte[] DICTIONARY = ("""
+            I've been looking for an app that does this. Is there a tool that can help with this? \
+            Does anyone know of a good way to track this? It's so frustrating when I have to do it manually. \
+            I wish there was an app for this. 이런 앱 있나요? 너무 불편해요. 매번 직접 해야 해서 귀찮습니다.""")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final String POST = """
+            Is there a tool that can help with splitting rent? It's so frustrating when I have to do it manually \
+            every month and chase my roommates for payments. I wish there was an app for this.""";
+
+    private final DictionaryCompressor compressor = new DictionaryCompressor(DICTIONARY);
+
+    @Test
+    void roundTripsAsciiText() {
+        assertThat(roundTrip(compressor, POST)).isEqualTo(POST);
+    }
+
+    @Test
+    void roundTripsKoreanAndOtherMultibyteText() {
+        String text = "가계부 앱을 찾고 있어요. 이런 앱 있나요? 너무 불편해요 😩 — café, naïve, 日本語も";
+
+        assertThat(roundTrip(compressor, text)).isEqualTo(text);
+    }
+
+    @Test
+    void roundTripsEmptyString() {
+        assertThat(roundTrip(compressor, "")).isEmpty();
+    }
+
+    @Test
+    void roundTripsTextLongerThanBuffer() {
+        String text = POST.repeat(200) + "끝";
+
+        assertThat(roundTrip(compressor, text)).isEqualTo(text);
+    }
+
+    @Test
+    void dictionaryShrinksShortText() {
+        DictionaryCompressor withoutDictionary = new DictionaryCompressor(new byte[0]);
+
+        assertThat(compressor.compress(POST).length).isLessThan(withoutDictionary.compress(POST).length);
+    }
+
+    @Test
+    void rejectsContentWrittenWithAnotherDictionary() {
+        byte[] other = Arrays.copyOf(DICTIONARY, DICTIONARY.length);
+        other[other.length / 2] ^= 1;
+        byte[] compressed = new DictionaryCompressor(other).compress(POST);
+        int length = POST.getBytes(StandardCharsets.UTF_8).length;
+
+        assertThatThrownBy(() -> compressor.decompress(compressed, length))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("another dictionary");
+    }
+
+    @Test
+    void rejectsTruncatedContent() {
+        byte[] compressed = compressor.compress(POST);
+        int length = POST.getBytes(StandardCharsets.UTF_8).length;
+
+        for (int cut : new int[]{0, 1, compressed.length / 2, compressed.length - 1}) {
+            byte[] truncated = Arrays.copyOf(compressed, cut);
+            assertThatThrownBy(() -> compressor.decompress(truncated, length))
+                    .as("truncated to %d of %d bytes", cut, compressed.length)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void rejectsCorruptedContent() {
+        byte[] compressed = compressor.compress(POST);
+        compressed[compressed.length - 3] ^= 0x10;
+        int length = POST.getBytes(StandardCharsets.UTF_8).length;
+
+        assertThatThrownBy(() -> compressor.decompress(compressed, length))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsWrongOriginalLength() {
+        byte[] compressed = compressor.compress(POST);
+        int length = POST.getBytes(StandardCharsets.UTF_8).length;
+
+        assertThatThrownBy(() -> compressor.decompress(compressed, length - 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> compressor.decompress(compressed, length + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void doesNotShareDictionaryWithCaller() {
+        byte[] dictionary = DICTIONARY.clone();
+        DictionaryCompressor owned = new DictionaryCompressor(dictionary);
+        byte[] compressed = owned.compress(POST);
+        Arrays.fill(dictionary, (byte) 0);
+
+        assertThat(owned.decompress(compressed, POST.getBytes(StandardCharsets.UTF_8).length)).isEqualTo(POST);
+    }
+
+    private static String roundTrip(DictionaryCompressor compressor, String text) {
+        return compressor.decompress(compressor.compress(text), text.getBytes(StandardCharsets.UTF_8).length);
+    }
+}
@@ -0,0 +1,126 @@
+package com.findcomplain.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimHashIndexTest {
+
+    // 밴드 경계: 6비트 9개 + 5비트 2개
+    private static final int[] BAND_STARTS = {0, 6, 12, 18, 24, 30, 36, 42, 48, 54, 59};
+
+    @Test
+    void alwaysFindsEntriesWithinGuaranteedDistance() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int trial = 0; trial < 20_000; trial++) {
+            long stored = random.nextLong();
+            SimHashIndex index = new SimHashIndex();
+            index.add(trial, stored);
+
+            int flips = 1 + random.nextInt(SimHashIndex.MAX_GUARANTEED_DISTANCE);
+            long query = flipRandomBits(stored, flips, random);
+
+            assertThat(index.findNearest(query, SimHashIndex.MAX_GUARANTEED_DISTANCE))
+                    .as("stored %016x, query %016x (distance %d)", stored, query, flips)
+                    .hasValue(trial);
+        }
+    }
+
+    @Test
+    void findsWorstCaseSpreadAtGuaranteedDistance() {
+        // 밴드 11개 중 10개에 한 비트씩 - 통째로 같은 밴드가 하나만 남는 최악의 경우
+        for (int untouched = 0; untouched < SimHashIndex.BANDS; untouched++) {
+            long stored = 0x5DEECE66DL * (untouched + 1);
+            long query = stored;
+            for (int b = 0; b < SimHashIndex.BANDS; b++) {
+                if (b != untouched) {
+                    query ^= 1L << BAND_STARTS[b];
+                }
+            }
+            SimHashIndex index = new SimHashIndex();
+            index.add(7, stored);
+
+            assertThat(SimHash.distance(stored, query)).isEqualTo(SimHashIndex.MAX_GUARANTEED_DISTANCE);
+            assertThat(index.findNearest(query, SimHashIndex.MAX_GUARANTEED_DISTANCE)).hasValue(7);
+        }
+    }
+
+    @Test
+    void missesEntryWhenEveryBandDiffers() {
+        long stored = 0x0123456789ABCDEFL;
+        long query = stored;
+        for (int start : BAND_STARTS) {
+            query ^= 1L << start;
+        }
+        SimHashIndex index = new SimHashIndex();
+        index.add(1, stored);
+
+        // 보장 범위 밖의 경계 - 인덱스가 비둘기집 원리 이상을 약속하지 않는다는 것을 고정해 둔다
+        assertThat(SimHash.distance(stored, query)).isEqualTo(SimHashIndex.BANDS);
+        assertThat(index.findNearest(query, 64)).isEmpty();
+    }
+
+    @Test
+    void returnsClosestEntryAndBreaksTiesBySmallerId() {
+        long base = 0xF0F0F0F0F0F0F0F0L;
+        SimHashIndex index = new SimHashIndex();
+        index.add(30, base ^ 0b111);
+        index.add(20, base ^ 0b1);
+        index.add(10, base ^ 0b10);
+
+        assertThat(index.findNearest(base, 10)).hasValue(10);
+        assertThat(index.findNearest(base ^ 0b111, 10)).hasValue(30);
+    }
+
+    @Test
+    void ignoresEntriesBeyondMaxDistance() {
+        long base = 0x1L;
+        SimHashIndex index = new SimHashIndex();
+        index.add(1, base ^ 0b1110);
+
+        assertThat(index.findNearest(base, 2)).isEmpty();
+        assertThat(index.findNearest(base, 3)).hasValue(1);
+    }
+
+    @Test
+    void ignoresDuplicateIds() {
+        SimHashIndex index = new SimHashIndex();
+        index.add(1, 42L);
+        index.add(1, 42L);
+        index.add(2, 42L);
+
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void emptyIndexFindsNothing() {
+        assertThat(new SimHashIndex().findNearest(42L, 64)).isEqualTo(OptionalLong.empty());
+    }
+
+    @Test
+    void findsNeighboursAmongManyEntries() {
+        SplittableRandom random = new SplittableRandom(7);
+        SimHashIndex index = new SimHashIndex();
+        long[] fingerprints = new long[5_000];
+        for (int i = 0; i < fingerprints.length; i++) {
+            fingerprints[i] = random.nextLong();
+            index.add(i, fingerprints[i]);
+        }
+
+        for (int i = 0; i < fingerprints.length; i += 7) {
+            long query = flipRandomBits(fingerprints[i], SimHashIndex.MAX_GUARANTEED_DISTANCE, random);
+            assertThat(index.findNearest(query, SimHashIndex.MAX_GUARANTEED_DISTANCE)).hasValue(i);
+        }
+    }
+
+    private static long flipRandomBits(long value, int count, SplittableRandom random) {
+        long mask = 0;
+        while (Long.bitCount(mask) < count) {
+            mask |= 1L << random.nextInt(64);
+        }
+        return value ^ mask;
+    }
+}
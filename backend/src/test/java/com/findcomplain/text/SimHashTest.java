@@ -0,0 +1,48 @@
+package com.findcomplain.text;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimHashTest {
+
+    private static final String POST = "Every budgeting app I try makes splitting rent with roommates painful. "
+            + "I end up tracking shared bills in a spreadsheet and chasing people for payments every month.";
+
+    @Test
+    void sameTextGivesSameFingerprint() {
+        assertThat(SimHash.fingerprint(POST)).isEqualTo(SimHash.fingerprint(POST));
+    }
+
+    @Test
+    void ignoresCasePunctuationAndStopWords() {
+        long original = SimHash.fingerprint("Splitting rent with roommates is painful");
+        long variant = SimHash.fingerprint("splitting RENT, roommates... painful!!");
+
+        assertThat(variant).isEqualTo(original);
+    }
+
+    @Test
+    void nullPartsAreSkipped() {
+        assertThat(SimHash.fingerprint("title", null)).isEqualTo(SimHash.fingerprint("title"));
+    }
+
+    @Test
+    void smallEditStaysCloserThanUnrelatedText() {
+        long original = SimHash.fingerprint(POST);
+        long edited = SimHash.fingerprint(POST.replace("every month", "each month"));
+        long unrelated = SimHash.fingerprint("Looking for a lightweight markdown editor that syncs notes "
+                + "between my phone and laptop without a subscription or account.");
+
+        assertThat(SimHash.distance(original, edited)).isLessThan(SimHash.distance(original, unrelated));
+        assertThat(SimHash.distance(original, unrelated)).isGreaterThan(SimHashIndex.MAX_GUARANTEED_DISTANCE);
+    }
+
+    @Test
+    void distanceCountsDifferingBits() {
+        assertThat(SimHash.distance(0L, 0L)).isZero();
+        assertThat(SimHash.distance(0L, -1L)).isEqualTo(64);
+        assertThat(SimHash.distance(0b1010L, 0b0110L)).isEqualTo(2);
+        assertThat(SimHash.distance(0x1234L, 0x4321L)).isEqualTo(SimHash.distance(0x4321L, 0x1234L));
+    }
+}
@@ -1,6 +1,6 @@
-import { useEffect, useState } from 'react'
+import { useEffect, useRef, useState } from 'react'
 import { appIdeaApi } from '../services/api'
-import type { AppIdea } from '../types/appIdea'
+import type { AppIdea, AppIdeaSummary, DiscoveryJobStatus, IdeaPage, IdeaSearchHit, IdeaSearchParams } from '../types/appIdea'
 
 const DIFFICULTY_STYLES = {
   easy: 'bg-green-100 text-green-800',
@@ -8,38 +8,99 @@ const DIFFICULTY_STYLES = {
   hard: 'bg-red-100 text-red-800',
 }
 
+const JOB_STATE_STYLES = {
+  QUEUED: 'bg-gray-100 text-gray-600',
+  RUNNING: 'bg-blue-100 text-blue-800',
+  DONE: 'bg-green-100 text-green-800',
+  FAILED: 'bg-red-100 text-red-800',
+  CANCELLED: 'bg-gray-200 text-gray-500',
+}
+
 const PAGE_SIZE = 10
 
+// 검색 API 하이라이트(<mark>…</mark>)를 HTML 주입 없이 렌더링
+function Highlighted({ text }: { text: string }) {
+  return (
+    <>
+      {text.split(/(<mark>.*?<\/mark>)/g).map((part, i) =>
+        part.startsWith('<mark>')
+          ? <mark key={i} className="bg-yellow-200">{part.slice(6, -7)}</mark>
+          : <span key={i}>{part}</span>
+      )}
+    </>
+  )
+}
+
 export default function AppIdeaList() {
-  const [ideas, setIdeas] = useState<AppIdea[]>([])
+  const [ideas, setIdeas] = useState<AppIdeaSummary[]>([])
+  const [nextCursor, setNextCursor] = useState<string | null>(null)
+  const [loadingMore, setLoadingMore] = useState(false)
+  const [details, setDetails] = useState<Record<number, AppIdea>>({})
+  const [expanded, setExpanded] = useState<Record<number, boolean>>({})
+  const [highlights, setHighlights] = useState<Record<number, IdeaSearchHit>>({})
+  const [searchInput, setSearchInput] = useState('')
+  const [searchDifficulty, setSearchDifficulty] = useState('')
+  const [searchMinViability, setSearchMinViability] = useState('')
+  const [search, setSearch] = useState<IdeaSearchParams | null>(null)
   const [loading, setLoading] = useState(true)
   const [discovering, setDiscovering] = useState(false)
+  const [job, setJob] = useState<DiscoveryJobStatus | null>(null)
+  const jobStream = useRef<EventSource | null>(null)
   const [filter, setFilter] = useState<'all' | 'bookmarked'>('all')
   const [defaultSubreddits, setDefaultSubreddits] = useState<string[]>([])
   const [customSubreddits, setCustomSubreddits] = useState<string[]>([])
   const [newSubreddit, setNewSubreddit] = useState('')
   const [addingSubreddit, setAddingSubreddit] = useState(false)
-  const [currentPage, setCurrentPage] = useState(1)
-
-  const totalPages = Math.ceil(ideas.length / PAGE_SIZE)
-  const paginatedIdeas = ideas.slice((currentPage - 1) * PAGE_SIZE, currentPage * PAGE_SIZE)
-
   useEffect(() => {
     fetchIdeas()
-    fetchSubreddits()
-  }, [filter])
+  }, [filter, search])
 
   useEffect(() => {
-    setCurrentPage(1)
-  }, [filter, ideas.length])
+    fetchSubreddits()
+  }, [])
+
+  useEffect(() => () => jobStream.current?.close(), [])
+
+  // 검색 중이면 검색 결과를, 아니면 선택한 목록을 페이지 단위로 가져온다
+  const fetchPage = async (cursor?: string): Promise<IdeaPage<AppIdeaSummary>> => {
+    if (search) {
+      const page = await appIdeaApi.search(search, cursor, PAGE_SIZE)
+      setHighlights(prev => ({
+        ...(cursor ? prev : {}),
+        ...Object.fromEntries(page.items.map(hit => [hit.idea.id, hit])),
+      }))
+      return { items: page.items.map(hit => hit.idea), nextCursor: page.nextCursor }
+    }
+    setHighlights({})
+    return filter === 'bookmarked'
+      ? appIdeaApi.getBookmarked(cursor, PAGE_SIZE)
+      : appIdeaApi.getAll(cursor, PAGE_SIZE)
+  }
+
+  const handleSearch = () => {
+    const q = searchInput.trim()
+    if (!q) {
+      setSearch(null)
+      return
+    }
+    setSearch({
+      q,
+      difficulty: searchDifficulty || undefined,
+      minViability: searchMinViability ? Number(searchMinViability) : undefined,
+    })
+  }
+
+  const handleClearSearch = () => {
+    setSearchInput('')
+    setSearch(null)
+  }
 
   const fetchIdeas = async () => {
     setLoading(true)
     try {
-      const data = filter === 'bookmarked'
-        ? await appIdeaApi.getBookmarked()
-        : await appIdeaApi.getAll()
-      setIdeas(data)
+      const page = await fetchPage()
+      setIdeas(page.items)
+      setNextCursor(page.nextCursor)
     } catch (err) {
       console.error('Failed to fetch ideas', err)
     } finally {
@@ -47,6 +108,33 @@ export default function AppIdeaList() {
     }
   }
 
+  const handleLoadMore = async () => {
+    if (!nextCursor) return
+    setLoadingMore(true)
+    try {
+      const page = await fetchPage(nextCursor)
+      setIdeas(prev => [...prev, ...page.items])
+      setNextCursor(page.nextCursor)
+    } catch (err) {
+      console.error('Failed to fetch more ideas', err)
+    } finally {
+      setLoadingMore(false)
+    }
+  }
+
+  // 제안 솔루션, 선정 이유 같은 긴 텍스트는 펼칠 때 상세 API로 가져온다
+  const handleToggleDetails = async (id: number) => {
+    const open = !expanded[id]
+    setExpanded(prev => ({ ...prev, [id]: open }))
+    if (!open || details[id]) return
+    try {
+      const detail = await appIdeaApi.getById(id)
+      setDetails(prev => ({ ...prev, [id]: detail }))
+    } catch (err) {
+      console.error('Failed to fetch idea details', err)
+    }
+  }
+
   const fetchSubreddits = async () => {
     try {
       const data = await appIdeaApi.getTargetSubreddits()
@@ -83,30 +171,65 @@ export default function AppIdeaList() {
     }
   }
 
+  // 작업을 제출하고 SSE로 진행 상황과 새 아이디어를 받는다
   const handleDiscover = async () => {
     setDiscovering(true)
     try {
-      const result = await appIdeaApi.discover()
-      alert(`Discovery complete! Found ${result.newIdeasFound} new ideas.`)
-      fetchIdeas()
+      const submitted = await appIdeaApi.discover()
+      setJob(submitted)
+      const stream = appIdeaApi.streamDiscoveryJob(submitted.jobId)
+      jobStream.current = stream
+      stream.addEventListener('progress', (e) => setJob(JSON.parse((e as MessageEvent).data)))
+      stream.addEventListener('idea', (e) => {
+        const idea: AppIdeaSummary = JSON.parse((e as MessageEvent).data)
+        if (filter === 'all' && !search) {
+          setIdeas(prev => prev.some(i => i.id === idea.id) ? prev : [idea, ...prev])
+        }
+      })
+      stream.addEventListener('done', (e) => {
+        const finished: DiscoveryJobStatus = JSON.parse((e as MessageEvent).data)
+        setJob(finished)
+        stream.close()
+        setDiscovering(false)
+        if (finished.state === 'COMPLETED') {
+          alert(`Discovery complete! Found ${finished.totalIdeas} new ideas.`)
+        }
+      })
+      stream.onerror = () => {
+        // 연결이 끊기면 상태를 한 번 조회해서 마무리
+        stream.close()
+        appIdeaApi.getDiscoveryJob(submitted.jobId)
+          .then(setJob)
+          .catch(() => {})
+          .finally(() => setDiscovering(false))
+      }
     } catch (err) {
       console.error('Discovery failed', err)
       alert('Discovery failed. Check console for details.')
-    } finally {
       setDiscovering(false)
     }
   }
 
+  const handleCancelDiscovery = async () => {
+    if (!job) return
+    try {
+      setJob(await appIdeaApi.cancelDiscoveryJob(job.jobId))
+    } catch (err) {
+      console.error('Failed to cancel discovery', err)
+    }
+  }
+
   const handleToggleBookmark = async (id: number) => {
     try {
       const updated = await appIdeaApi.toggleBookmark(id)
-      setIdeas(ideas.map(i => i.id === id ? updated : i))
+      setIdeas(ideas.map(i => i.id === id ? { ...i, bookmarked: updated.bookmarked } : i))
+      setDetails(prev => prev[id] ? { ...prev, [id]: updated } : prev)
     } catch (err) {
       console.error('Failed to toggle bookmark', err)
     }
   }
 
-  const getRedditUrl = (idea: AppIdea) => {
+  const getRedditUrl = (idea: AppIdeaSummary) => {
     return `https://www.reddit.com/r/${idea.subreddit}/comments/${idea.redditPostId}/`
   }
 
@@ -161,9 +284,80 @@ export default function AppIdeaList() {
                 </>
               )}
             </button>
+            {discovering && job && (
+              <button
+                onClick={handleCancelDiscovery}
+                className="px-4 py-2 border border-red-300 text-red-600 rounded-lg hover:bg-red-50"
+              >
+                Cancel
+              </button>
+            )}
           </div>
         </div>
 
+        {/* Search */}
+        <div className="flex flex-wrap gap-2 mb-4">
+          <input
+            type="text"
+            value={searchInput}
+            onChange={(e) => setSearchInput(e.target.value)}
+            onKeyDown={(e) => e.key === 'Enter' && handleSearch()}
+            placeholder="Search ideas..."
+            className="flex-1 min-w-[12rem] px-3 py-1.5 border border-gray-300 rounded-lg text-sm focus:outline-none focus:ring-2 focus:ring-blue-500 focus:border-transparent"
+          />
+          <select
+            value={searchDifficulty}
+            onChange={(e) => setSearchDifficulty(e.target.value)}
+            className="px-2 py-1.5 border border-gray-300 rounded-lg text-sm"
+          >
+            <option value="">Any difficulty</option>
+            <option value="easy">easy</option>
+            <option value="medium">medium</option>
+            <option value="hard">hard</option>
+          </select>
+          <select
+            value={searchMinViability}
+            onChange={(e) => setSearchMinViability(e.target.value)}
+            className="px-2 py-1.5 border border-gray-300 rounded-lg text-sm"
+          >
+            <option value="">Any score</option>
+            {[5, 6, 7, 8, 9].map(score => <option key={score} value={score}>{score}+</option>)}
+          </select>
+          <button
+            onClick={handleSearch}
+            className="px-3 py-1.5 bg-blue-600 text-white rounded-lg text-sm hover:bg-blue-700"
+          >
+            Search
+          </button>
+          {search && (
+            <button
+              onClick={handleClearSearch}
+              className="px-3 py-1.5 border rounded-lg text-sm hover:bg-gray-100"
+            >
+              Clear
+            </button>
+          )}
+        </div>
+
+        {job && (
+          <div className="border-t pt-4 mb-4">
+            <h3 className="text-sm font-semibold text-gray-700 mb-2">
+              Discovery {job.state.toLowerCase()} · {job.totalIdeas} new ideas
+            </h3>
+            <div className="flex flex-wrap gap-2">
+              {job.subreddits.map((progress) => (
+                <span
+                  key={progress.subreddit}
+                  title={progress.error ?? undefined}
+                  className={`inline-flex items-center px-3 py-1 rounded-full text-xs ${JOB_STATE_STYLES[progress.state]}`}
+                >
+                  r/{progress.subreddit} · {progress.state.toLowerCase()} · {progress.ideasFound}
+                </span>
+              ))}
+            </div>
+          </div>
+        )}
+
         {/* Subreddit Management */}
         <div className="border-t pt-4">
           <h3 className="text-sm font-semibold text-gray-700 mb-2">Scanning Subreddits</h3>
@@ -226,7 +420,7 @@ export default function AppIdeaList() {
       ) : (
         <>
         <div className="grid grid-cols-1 gap-6">
-          {paginatedIdeas.map((idea) => (
+          {ideas.map((idea) => (
             <div
               key={idea.id}
               className="bg-white rounded-lg shadow-lg overflow-hidden hover:shadow-xl transition-shadow"
@@ -241,7 +435,14 @@ export default function AppIdeaList() {
                       </span>
                       <span className="text-xs text-gray-500">by u/{idea.author}</span>
                     </div>
-                    <h3 className="text-xl font-bold text-gray-900">{idea.appName}</h3>
+                    <h3 className="text-xl font-bold text-gray-900">
+                      {highlights[idea.id] ? <Highlighted text={highlights[idea.id].appNameHighlight} /> : idea.appName}
+                    </h3>
+                    {highlights[idea.id] && (
+                      <p className="text-sm text-gray-500 mt-1">
+                        <Highlighted text={highlights[idea.id].titleHighlight} />
+                      </p>
+                    )}
                   </div>
                   <button
                     onClick={() => handleToggleBookmark(idea.id)}
@@ -253,15 +454,11 @@ export default function AppIdeaList() {
                   </button>
                 </div>
 
-                <div className="grid grid-cols-1 md:grid-cols-2 gap-4 mb-4">
-                  <div className="bg-gray-50 rounded-lg p-4">
-                    <h4 className="text-sm font-semibold text-gray-700 mb-2">Problem</h4>
-                    <p className="text-gray-600 text-sm">{idea.problemSummary}</p>
-                  </div>
-                  <div className="bg-blue-50 rounded-lg p-4">
-                    <h4 className="text-sm font-semibold text-gray-700 mb-2">Proposed Solution</h4>
-                    <p className="text-gray-600 text-sm">{idea.proposedSolution}</p>
-                  </div>
+                <div className="bg-gray-50 rounded-lg p-4 mb-4">
+                  <h4 className="text-sm font-semibold text-gray-700 mb-2">Problem</h4>
+                  <p className="text-gray-600 text-sm">
+                    {highlights[idea.id] ? <Highlighted text={highlights[idea.id].problemSummaryHighlight} /> : idea.problemSummary}
+                  </p>
                 </div>
 
                 <div className="grid grid-cols-1 md:grid-cols-3 gap-4 mb-4">
@@ -279,11 +476,32 @@ export default function AppIdeaList() {
                   </div>
                 </div>
 
-                <div className="bg-yellow-50 border-l-4 border-yellow-400 p-3 mb-4">
-                  <p className="text-sm text-yellow-800">
-                    <strong>Why this idea?</strong> {idea.reasoning}
-                  </p>
-                </div>
+                <button
+                  onClick={() => handleToggleDetails(idea.id)}
+                  className="text-sm text-blue-600 hover:underline mb-4"
+                >
+                  {expanded[idea.id] ? '상세 접기' : '상세 보기'}
+                </button>
+
+                {expanded[idea.id] && (
+                  details[idea.id] ? (
+                    <div className="space-y-4 mb-4">
+                      <div className="bg-blue-50 rounded-lg p-4">
+                        <h4 className="text-sm font-semibold text-gray-700 mb-2">Proposed Solution</h4>
+                        <p className="text-gray-600 text-sm">{details[idea.id].proposedSolution}</p>
+                      </div>
+                      <div className="bg-yellow-50 border-l-4 border-yellow-400 p-3">
+                        <p className="text-sm text-yellow-800">
+                          <strong>Why this idea?</strong> {details[idea.id].reasoning}
+                        </p>
+                      </div>
+                    </div>
+                  ) : (
+                    <div className="flex justify-center py-4 mb-4">
+                      <div className="animate-spin rounded-full h-6 w-6 border-b-2 border-blue-500"></div>
+                    </div>
+                  )
+                )}
 
                 <div className="flex items-center justify-between pt-4 border-t">
                   <div className="flex items-center gap-2">
@@ -312,30 +530,14 @@ export default function AppIdeaList() {
             </div>
           ))}
         </div>
-        {totalPages > 1 && (
-          <div className="flex items-center justify-center gap-2 mt-6">
-            <button
-              onClick={() => setCurrentPage(p => Math.max(1, p - 1))}
-              disabled={currentPage === 1}
-              className="px-3 py-2 rounded-lg border text-sm disabled:opacity-40 hover:bg-gray-100"
-            >
-              이전
-            </button>
-            {Array.from({ length: totalPages }, (_, i) => i + 1).map(page => (
-              <button
-                key={page}
-                onClick={() => setCurrentPage(page)}
-                className={`px-3 py-2 rounded-lg border text-sm ${currentPage === page ? 'bg-blue-600 text-white border-blue-600' : 'hover:bg-gray-100'}`}
-              >
-                {page}
-              </button>
-            ))}
+        {nextCursor && (
+          <div className="flex justify-center mt-6">
             <button
-              onClick={() => setCurrentPage(p => Math.min(totalPages, p + 1))}
-              disabled={currentPage === totalPages}
-              className="px-3 py-2 rounded-lg border text-sm disabled:opacity-40 hover:bg-gray-100"
+              onClick={handleLoadMore}
+              disabled={loadingMore}
+              className="px-4 py-2 rounded-lg border text-sm disabled:opacity-40 hover:bg-gray-100"
             >
-              다음
+              {loadingMore ? '불러오는 중...' : '더 보기'}
             </button>
           </div>
         )}
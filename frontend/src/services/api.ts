@@ -1,5 +1,5 @@
 import axios from 'axios'
-import type { AppIdea } from '../types/appIdea'
+import type { AppIdea, AppIdeaSummary, DiscoveryJobStatus, IdeaPage, IdeaSearchHit, IdeaSearchParams } from '../types/appIdea'
 
 const api = axios.create({
   baseURL: '/api',
@@ -9,22 +9,38 @@ const api = axios.create({
 })
 
 export const appIdeaApi = {
-  getAll: (): Promise<AppIdea[]> =>
-    api.get('/app-ideas').then(res => res.data),
+  getAll: (cursor?: string, size?: number): Promise<IdeaPage<AppIdeaSummary>> =>
+    api.get('/app-ideas', { params: { cursor, size } }).then(res => res.data),
 
-  getTop: (): Promise<AppIdea[]> =>
-    api.get('/app-ideas/top').then(res => res.data),
+  getTop: (cursor?: string, size?: number): Promise<IdeaPage<AppIdeaSummary>> =>
+    api.get('/app-ideas/top', { params: { cursor, size } }).then(res => res.data),
 
-  getBookmarked: (): Promise<AppIdea[]> =>
-    api.get('/app-ideas/bookmarked').then(res => res.data),
+  getBookmarked: (cursor?: string, size?: number): Promise<IdeaPage<AppIdeaSummary>> =>
+    api.get('/app-ideas/bookmarked', { params: { cursor, size } }).then(res => res.data),
+
+  search: (params: IdeaSearchParams, cursor?: string, size?: number): Promise<IdeaPage<IdeaSearchHit>> =>
+    api.get('/app-ideas/search', { params: { ...params, cursor, size } }).then(res => res.data),
+
+  getById: (id: number): Promise<AppIdea> =>
+    api.get(`/app-ideas/${id}`).then(res => res.data),
 
   toggleBookmark: (id: number): Promise<AppIdea> =>
     api.post(`/app-ideas/${id}/bookmark`).then(res => res.data),
 
-  discover: (): Promise<{ message: string; newIdeasFound: number; subredditsScanned: string[] }> =>
+  discover: (): Promise<DiscoveryJobStatus> =>
     api.post('/app-ideas/discover').then(res => res.data),
 
-  analyzeSubreddit: (subreddit: string, limit?: number): Promise<AppIdea[]> =>
+  getDiscoveryJob: (jobId: string): Promise<DiscoveryJobStatus> =>
+    api.get(`/app-ideas/discover/jobs/${jobId}`).then(res => res.data),
+
+  cancelDiscoveryJob: (jobId: string): Promise<DiscoveryJobStatus> =>
+    api.delete(`/app-ideas/discover/jobs/${jobId}`).then(res => res.data),
+
+  // progress / idea / done 이벤트를 보내는 SSE 스트림
+  streamDiscoveryJob: (jobId: string): EventSource =>
+    new EventSource(`/api/app-ideas/discover/jobs/${jobId}/events`),
+
+  analyzeSubreddit: (subreddit: string, limit?: number): Promise<DiscoveryJobStatus> =>
     api.post(`/app-ideas/analyze/${subreddit}?limit=${limit || 20}`).then(res => res.data),
 
   getTargetSubreddits: (): Promise<{ defaults: string[]; custom: string[]; all: string[] }> =>
@@ -19,3 +19,46 @@ export interface AppIdea {
   redditCreatedAt: string
   analyzedAt: string
 }
+
+// 목록 API가 내려주는 요약 - 큰 텍스트 필드는 상세 조회로 가져온다
+export type AppIdeaSummary = Omit<AppIdea, 'originalContent' | 'proposedSolution' | 'reasoning'>
+
+export interface IdeaPage<T> {
+  items: T[]
+  nextCursor: string | null
+}
+
+export type RunState = 'QUEUED' | 'RUNNING' | 'DONE' | 'FAILED' | 'CANCELLED'
+
+export interface SubredditProgress {
+  subreddit: string
+  state: RunState
+  ideasFound: number
+  elapsedMs: number
+  error: string | null
+  startedByJob: string
+}
+
+export interface DiscoveryJobStatus {
+  jobId: string
+  state: 'RUNNING' | 'COMPLETED' | 'CANCELLED'
+  submittedAt: string
+  finishedAt: string | null
+  totalIdeas: number
+  subreddits: SubredditProgress[]
+}
+
+export interface IdeaSearchHit {
+  idea: AppIdeaSummary
+  rank: number
+  appNameHighlight: string
+  titleHighlight: string
+  problemSummaryHighlight: string
+}
+
+export interface IdeaSearchParams {
+  q: string
+  difficulty?: string
+  minViability?: number
+  subreddit?: string
+}